@@ -0,0 +1,141 @@
+package com.redhat.cfpaggregator.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+
+/**
+ * Counts the bytes of every response body a portal sends over the wire, along with how long reading (and parsing)
+ * each one took.
+ * <p>
+ * Each response is counted against the portal's running total and, when the request carries a
+ * {@link CfpClient#FETCH_ID_HEADER fetch id}, against the {@link FetchStats} of that fetch. The fetch id is moved into
+ * a request property before the request is sent, so the portal never sees it. Responses served from the
+ * {@link PayloadCacheFilter payload cache} never came over the wire, so they aren't counted at all.
+ * </p>
+ * <p>
+ * A {@code 304 Not Modified} substituted by the {@link ConditionalRequestFilter} is counted by what the portal sent,
+ * because this runs before it.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+final class ByteCountingFilter implements ClientRequestFilter, ClientResponseFilter {
+  private static final String FETCH_ID_PROPERTY = ByteCountingFilter.class.getName() + ".fetchId";
+
+  private final LongAdder bytesReceived;
+  private final Map<String, FetchStats> fetches;
+
+  ByteCountingFilter(LongAdder bytesReceived, Map<String, FetchStats> fetches) {
+    this.bytesReceived = bytesReceived;
+    this.fetches = fetches;
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext) {
+    var fetchId = requestContext.getHeaderString(CfpClient.FETCH_ID_HEADER);
+
+    if (fetchId != null) {
+      requestContext.getHeaders().remove(CfpClient.FETCH_ID_HEADER);
+      requestContext.setProperty(FETCH_ID_PROPERTY, fetchId);
+    }
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+    if (responseContext.hasEntity() && !PayloadCacheFilter.isServedFromCache(requestContext)) {
+      var fetchStats = Optional.ofNullable(requestContext.getProperty(FETCH_ID_PROPERTY))
+          .map(this.fetches::get);
+
+      responseContext.setEntityStream(new CountingInputStream(responseContext.getEntityStream(), this.bytesReceived, fetchStats.orElse(null)));
+    }
+  }
+
+  /**
+   * The response has been received by the time the filters run, so everything from here until the body has been
+   * read is spent reading and parsing it
+   */
+  private static final class CountingInputStream extends FilterInputStream {
+    private final LongAdder bytesReceived;
+    private final FetchStats fetchStats;
+    private final long start = System.nanoTime();
+    private boolean done;
+
+    private CountingInputStream(InputStream delegate, LongAdder bytesReceived, FetchStats fetchStats) {
+      super(delegate);
+      this.bytesReceived = bytesReceived;
+      this.fetchStats = fetchStats;
+    }
+
+    @Override
+    public int read() throws IOException {
+      var b = super.read();
+
+      if (b != -1) {
+        count(1);
+      }
+      else {
+        done();
+      }
+
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      var read = super.read(b, off, len);
+
+      if (read > 0) {
+        count(read);
+      }
+      else if (read == -1) {
+        done();
+      }
+
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      var skipped = super.skip(n);
+      count(skipped);
+      return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      }
+      finally {
+        done();
+      }
+    }
+
+    private void count(long bytes) {
+      this.bytesReceived.add(bytes);
+
+      if (this.fetchStats != null) {
+        this.fetchStats.addBytesReceived(bytes);
+      }
+    }
+
+    private void done() {
+      if (!this.done) {
+        this.done = true;
+
+        if (this.fetchStats != null) {
+          this.fetchStats.addParseNanos(System.nanoTime() - this.start);
+        }
+      }
+    }
+  }
+}
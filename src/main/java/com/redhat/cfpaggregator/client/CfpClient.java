@@ -1,7 +1,11 @@
 package com.redhat.cfpaggregator.client;
 
+import java.time.Duration;
+
 import org.mapstruct.factory.Mappers;
 
+import io.smallrye.mutiny.Uni;
+
 import com.redhat.cfpaggregator.domain.Event;
 import com.redhat.cfpaggregator.domain.Portal;
 import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
@@ -11,9 +15,49 @@ import com.redhat.cfpaggregator.mapping.TalkMapper;
 
 public interface CfpClient {
   String PORTAL_NAME_HEADER = "X-Portal-Name";
+
+  /**
+   * Identifies the fetch a request is made for. It is taken off the request before it is sent.
+   */
+  String FETCH_ID_HEADER = "X-Fetch-Id";
   EventMapper EVENT_MAPPER = Mappers.getMapper(EventMapper.class);
   TalkMapper TALK_MAPPER = Mappers.getMapper(TalkMapper.class);
   SpeakerMapper SPEAKER_MAPPER = Mappers.getMapper(SpeakerMapper.class);
+  int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+  Duration DEFAULT_TIMEOUT = Duration.ofMinutes(1);
+
+  /**
+   * Fetches and assembles the {@link Event} for a portal, blocking the calling thread until all of the
+   * underlying HTTP calls have completed.
+   */
+  default Event createEvent(Portal portal, TalkSearchCriteria talkSearchCriteria) {
+    return createEvent(portal, talkSearchCriteria, DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_TIMEOUT, null);
+  }
+
+  /**
+   * Fetches and assembles the {@link Event} for a portal, blocking the calling thread until all of the
+   * underlying HTTP calls have completed.
+   *
+   * @param maxConcurrentRequests the maximum number of requests to have in flight to the portal at any one time
+   * @param timeout how long to wait for the requests that are issued concurrently before giving up
+   * @param fetchId sent as the {@link #FETCH_ID_HEADER} of every request made, may be {@code null}
+   */
+  Event createEvent(Portal portal, TalkSearchCriteria talkSearchCriteria, int maxConcurrentRequests, Duration timeout, String fetchId);
+
+  /**
+   * Fetches and assembles the {@link Event} for a portal without blocking the calling thread.
+   * The underlying HTTP calls are performed on the Vert.x event loop.
+   */
+  default Uni<Event> createEventAsync(Portal portal, TalkSearchCriteria talkSearchCriteria) {
+    return createEventAsync(portal, talkSearchCriteria, DEFAULT_MAX_CONCURRENT_REQUESTS, null);
+  }
 
-  Event createEvent(Portal portal, TalkSearchCriteria talkSearchCriteria);
+  /**
+   * Fetches and assembles the {@link Event} for a portal without blocking the calling thread.
+   * The underlying HTTP calls are performed on the Vert.x event loop.
+   *
+   * @param maxConcurrentRequests the maximum number of requests to have in flight to the portal at any one time
+   * @param fetchId sent as the {@link #FETCH_ID_HEADER} of every request made, may be {@code null}
+   */
+  Uni<Event> createEventAsync(Portal portal, TalkSearchCriteria talkSearchCriteria, int maxConcurrentRequests, String fetchId);
 }
@@ -0,0 +1,19 @@
+package com.redhat.cfpaggregator.client;
+
+/**
+ * Thrown instead of calling a portal while its circuit breaker is open.
+ *
+ * @author Eric Deandrea
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+  private final String portalName;
+
+  public CircuitBreakerOpenException(String portalName) {
+    super("The circuit breaker for portal %s is open, not calling it".formatted(portalName));
+    this.portalName = portalName;
+  }
+
+  public String getPortalName() {
+    return this.portalName;
+  }
+}
@@ -2,16 +2,35 @@ package com.redhat.cfpaggregator.client;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.WebApplicationException;
 
 import org.jboss.resteasy.reactive.client.api.LoggingScope;
+import org.jboss.resteasy.reactive.client.api.QuarkusRestClientProperties;
 
+import io.quarkus.logging.Log;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.cfpaggregator.client.sessionize.SessionizePayloadReader;
 import com.redhat.cfpaggregator.config.CfpPortalsConfig;
 import com.redhat.cfpaggregator.domain.Event;
 import com.redhat.cfpaggregator.domain.Portal;
@@ -27,20 +46,175 @@ import com.redhat.cfpaggregator.repository.PortalRepository;
 public class ClientManager {
   private final PortalRepository portalRepository;
   private final CfpPortalsConfig config;
+  private final MeterRegistry meterRegistry;
+  private final SessionizePayloadReader sessionizePayloadReader;
   private Map<String, CfpClient> cfpClients = new ConcurrentHashMap<>();
+  private final Map<String, String> cfpClientHosts = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> bytesReceived = new ConcurrentHashMap<>();
+  private final Map<String, FetchStats> fetches = new ConcurrentHashMap<>();
+  private final AtomicLong fetchIds = new AtomicLong();
+  private final Map<String, PortalCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+  private final Map<String, HostRequestLimiter> hostRequestLimiters = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService hostRequestLimiterScheduler = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofPlatform()
+          .name("cfp-host-limiter")
+          .daemon()
+          .factory()
+  );
 
-  public ClientManager(PortalRepository portalRepository, CfpPortalsConfig config) {
+  public ClientManager(PortalRepository portalRepository, CfpPortalsConfig config, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
     this.portalRepository = portalRepository;
     this.config = config;
+    this.meterRegistry = meterRegistry;
+    this.sessionizePayloadReader = new SessionizePayloadReader(objectMapper);
+
+    Gauge.builder("cfps.client.portal-clients", this.cfpClients, Map::size)
+        .description("The number of portal clients currently open")
+        .register(meterRegistry);
+
+    Gauge.builder("cfps.client.connection-pools", this, ClientManager::getConnectionPoolCount)
+        .description("The number of HTTP connection pools used by the open portal clients")
+        .register(meterRegistry);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    this.cfpClients.keySet().forEach(this::clearClient);
+    this.hostRequestLimiterScheduler.shutdownNow();
   }
 
+  /**
+   * Removes and closes the client for a portal. The next call for the portal creates a new client.
+   * When the client shares its host's connection pool, the pool is closed once its last client is.
+   */
   public void clearClient(Portal portal) {
-    this.cfpClients.remove(portal.getPortalName());
+    clearClient(portal.getPortalName());
   }
 
+  private void clearClient(String portalName) {
+    this.circuitBreakers.remove(portalName);
+    this.cfpClientHosts.remove(portalName);
+    var client = this.cfpClients.remove(portalName);
+
+    if (client instanceof AutoCloseable closeable) {
+      try {
+        closeable.close();
+      }
+      catch (Exception e) {
+        Log.warnf(e, "Failed to close client for portal %s", portalName);
+      }
+    }
+  }
+
+  /**
+   * Fetches the event for a portal, blocking the calling thread. Failed fetches are retried with
+   * exponential, jittered back-off, and the portal's circuit breaker is consulted before calling it at all.
+   *
+   * @throws CircuitBreakerOpenException If the portal's circuit breaker is open
+   */
   public Event createEvent(Portal portal, TalkSearchCriteria searchCriteria) {
-    return getCfpClient(portal)
-        .createEvent(portal, searchCriteria);
+    return createEvent(portal, searchCriteria, new FetchStats());
+  }
+
+  /**
+   * Fetches the event for a portal, blocking the calling thread, recording what the fetch received in
+   * {@code fetchStats}. Failed fetches are retried with exponential, jittered back-off, and the portal's circuit
+   * breaker is consulted before calling it at all.
+   *
+   * @throws CircuitBreakerOpenException If the portal's circuit breaker is open
+   */
+  public Event createEvent(Portal portal, TalkSearchCriteria searchCriteria, FetchStats fetchStats) {
+    var circuitBreaker = acquireCircuitBreaker(portal);
+    var fetchId = startFetch(fetchStats);
+
+    try {
+      return createEvent(portal, searchCriteria, circuitBreaker, fetchId);
+    }
+    finally {
+      this.fetches.remove(fetchId);
+    }
+  }
+
+  private Event createEvent(Portal portal, TalkSearchCriteria searchCriteria, PortalCircuitBreaker circuitBreaker, String fetchId) {
+    var retry = this.config.retry();
+
+    for (var attempt = 0; ; attempt++) {
+      try {
+        var event = getCfpClient(portal)
+            .createEvent(portal, searchCriteria, this.config.maxConcurrentRequestsPerPortal(), this.config.requestTimeout(), fetchId);
+
+        circuitBreaker.onSuccess();
+        return event;
+      }
+      catch (RuntimeException e) {
+        if ((attempt >= retry.maxRetries()) || !isRetryable(e)) {
+          circuitBreaker.onFailure(System.nanoTime());
+          throw e;
+        }
+
+        var backoff = backoff(attempt);
+        Log.debugf(e, "Fetching portal %s failed, retrying in %s", portal.getPortalName(), backoff);
+
+        try {
+          Thread.sleep(backoff);
+        }
+        catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          circuitBreaker.onCancelled(System.nanoTime());
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Fetches the event for a portal without blocking the calling thread. Failed fetches are retried with
+   * exponential, jittered back-off, and the portal's circuit breaker is consulted before calling it at all.
+   * The returned {@link Uni} fails with a {@link CircuitBreakerOpenException} if the portal's circuit breaker is open.
+   */
+  public Uni<Event> createEventAsync(Portal portal, TalkSearchCriteria searchCriteria) {
+    return createEventAsync(portal, searchCriteria, new FetchStats());
+  }
+
+  /**
+   * Fetches the event for a portal without blocking the calling thread, recording what the fetch received in
+   * {@code fetchStats}. Failed fetches are retried with exponential, jittered back-off, and the portal's circuit
+   * breaker is consulted before calling it at all.
+   * The returned {@link Uni} fails with a {@link CircuitBreakerOpenException} if the portal's circuit breaker is open.
+   */
+  public Uni<Event> createEventAsync(Portal portal, TalkSearchCriteria searchCriteria, FetchStats fetchStats) {
+    return Uni.createFrom().deferred(() -> {
+      var circuitBreaker = acquireCircuitBreaker(portal);
+      var retry = this.config.retry();
+      var fetchId = startFetch(fetchStats);
+
+      var event = Uni.createFrom().deferred(() ->
+          getCfpClient(portal).createEventAsync(portal, searchCriteria, this.config.maxConcurrentRequestsPerPortal(), fetchId)
+      );
+
+      if (retry.maxRetries() > 0) {
+        event = event.onFailure(ClientManager::isRetryable)
+            .retry()
+            .withBackOff(retry.initialBackoff(), retry.maxBackoff())
+            .withJitter(retry.jitter())
+            .atMost(retry.maxRetries());
+      }
+
+      return event
+          .onItem().invoke(circuitBreaker::onSuccess)
+          .onFailure().invoke(() -> circuitBreaker.onFailure(System.nanoTime()))
+          .onCancellation().invoke(() -> circuitBreaker.onCancelled(System.nanoTime()))
+          .onTermination().invoke(() -> this.fetches.remove(fetchId));
+    });
+  }
+
+  /**
+   * Registers a fetch so the bytes its requests receive are counted against its stats
+   */
+  private String startFetch(FetchStats fetchStats) {
+    var fetchId = Long.toString(this.fetchIds.incrementAndGet());
+    this.fetches.put(fetchId, fetchStats);
+    return fetchId;
   }
 
   public CfpClient getCfpClient(Portal portal) {
@@ -49,10 +223,58 @@ public class ClientManager {
 
   private CfpClient createCfpClient(Portal portal) {
     try {
+      var baseUrl = new URL(portal.getBaseUrl());
+      this.cfpClientHosts.put(portal.getPortalName(), baseUrl.getAuthority());
+
+      var connectionPool = this.config.connectionPool();
       var builder = QuarkusRestClientBuilder.newBuilder()
-          .baseUrl(new URL(portal.getBaseUrl()))
-          .connectTimeout(this.config.timeout().toSeconds(), TimeUnit.SECONDS)
-          .readTimeout(this.config.timeout().toSeconds(), TimeUnit.SECONDS);
+          .baseUrl(baseUrl)
+          .connectTimeout(this.config.requestTimeout().toMillis(), TimeUnit.MILLISECONDS)
+          .readTimeout(this.config.requestTimeout().toMillis(), TimeUnit.MILLISECONDS)
+          .property(QuarkusRestClientProperties.CONNECTION_POOL_SIZE, connectionPool.maxConnections())
+          .property(QuarkusRestClientProperties.KEEP_ALIVE_ENABLED, connectionPool.keepAlive())
+          .property(QuarkusRestClientProperties.CONNECTION_TTL, (int) connectionPool.connectionTtl().toSeconds());
+
+      // All of the clients for the same host (i.e. every cfp.dev portal) re-use the same warm connections
+      // The shared HTTP client is reference counted & closed when its last REST client is closed
+      if (connectionPool.sharedPerHost()) {
+        builder
+            .property(QuarkusRestClientProperties.SHARED, true)
+            .property(QuarkusRestClientProperties.NAME, "cfp-host-%s".formatted(baseUrl.getAuthority()));
+      }
+
+      // ALPN only happens over TLS, falling back to HTTP/1.1 if the server doesn't speak HTTP/2
+      if (connectionPool.http2() && "https".equalsIgnoreCase(baseUrl.getProtocol())) {
+        builder
+            .http2(true)
+            .alpn(true);
+      }
+
+      builder.register(this.sessionizePayloadReader);
+      builder.register(
+          new ByteCountingFilter(this.bytesReceived.computeIfAbsent(portal.getPortalName(), name -> new LongAdder()), this.fetches),
+          Priorities.USER + 200
+      );
+
+      // Request filters run in ascending priority order & response filters in descending order
+      // so the payload cache sees the request first and the (possibly 304-substituted) response last
+      var payloadCache = this.config.payloadCache();
+
+      if (payloadCache.enabled()) {
+        builder.register(
+            new PayloadCacheFilter(portal.getPortalName(), Path.of(payloadCache.directory()), payloadCache.ttl()),
+            Priorities.USER - 100
+        );
+      }
+
+      if (this.config.conditionalRequests()) {
+        builder.register(new ConditionalRequestFilter(portal.getPortalName()), Priorities.USER);
+      }
+
+      // Runs last so requests answered from a cache never use up the host's limits
+      if (this.config.hostLimits().enabled()) {
+        builder.register(getHostRequestLimiter(baseUrl.getAuthority()), Priorities.USER + 100);
+      }
 
       if (this.config.logRequests() || this.config.logResponses()) {
         builder
@@ -66,4 +288,81 @@ public class ClientManager {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * The total number of bytes received over the wire from a portal since the application started. Use the
+   * {@link FetchStats} of a fetch to find out what that fetch received.
+   */
+  public long getBytesReceived(String portalName) {
+    return Optional.ofNullable(this.bytesReceived.get(portalName))
+        .map(LongAdder::sum)
+        .orElse(0L);
+  }
+
+  private int getConnectionPoolCount() {
+    if (!this.config.connectionPool().sharedPerHost()) {
+      return this.cfpClients.size();
+    }
+
+    return (int) this.cfpClientHosts.values()
+        .stream()
+        .distinct()
+        .count();
+  }
+
+  private PortalCircuitBreaker acquireCircuitBreaker(Portal portal) {
+    var circuitBreaker = this.config.circuitBreaker().enabled() ?
+        this.circuitBreakers.computeIfAbsent(portal.getPortalName(), this::createCircuitBreaker) :
+        new PortalCircuitBreaker(portal.getPortalName(), Integer.MAX_VALUE, 0);
+
+    if (!circuitBreaker.tryAcquire(System.nanoTime())) {
+      throw new CircuitBreakerOpenException(portal.getPortalName());
+    }
+
+    return circuitBreaker;
+  }
+
+  private PortalCircuitBreaker createCircuitBreaker(String portalName) {
+    var circuitBreaker = this.config.circuitBreaker();
+    return new PortalCircuitBreaker(portalName, circuitBreaker.failureThreshold(), circuitBreaker.openDuration().toNanos());
+  }
+
+  private Duration backoff(int attempt) {
+    var retry = this.config.retry();
+    var exponential = retry.initialBackoff().multipliedBy(1L << Math.min(attempt, 30));
+    var backoff = (exponential.compareTo(retry.maxBackoff()) > 0) ? retry.maxBackoff() : exponential;
+    var jitter = 1 + (retry.jitter() * ((ThreadLocalRandom.current().nextDouble() * 2) - 1));
+
+    return Duration.ofNanos((long) (backoff.toNanos() * jitter));
+  }
+
+  /**
+   * Client errors (other than being throttled) won't go away by retrying
+   */
+  private static boolean isRetryable(Throwable failure) {
+    if (failure instanceof WebApplicationException wae) {
+      var status = wae.getResponse().getStatus();
+      return (status >= 500) || (status == 429);
+    }
+
+    return !(failure instanceof CircuitBreakerOpenException);
+  }
+
+  private HostRequestLimiter getHostRequestLimiter(String host) {
+    return this.hostRequestLimiters.computeIfAbsent(host, h -> {
+      var hostLimits = this.config.hostLimits();
+
+      // Slots are given back when their request completes, this only reclaims ones whose completion is never seen
+      return new HostRequestLimiter(
+          h,
+          hostLimits.requestsPerSecond(),
+          hostLimits.burst(),
+          hostLimits.maxConcurrentRequests(),
+          hostLimits.maxWait(),
+          this.config.requestTimeout().multipliedBy(2),
+          this.hostRequestLimiterScheduler,
+          this.meterRegistry
+      );
+    });
+  }
 }
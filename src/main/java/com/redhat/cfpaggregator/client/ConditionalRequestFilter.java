@@ -0,0 +1,94 @@
+package com.redhat.cfpaggregator.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Makes HTTP conditional requests to a portal.
+ * <p>
+ * The validators ({@code ETag} and {@code Last-Modified}) of every successful response are stored, along with the
+ * response payload, per portal and endpoint. The next request to the same endpoint sends them back as
+ * {@code If-None-Match}/{@code If-Modified-Since}. If the portal answers {@code 304 Not Modified} the stored payload
+ * is handed to the client as if it had been returned again, so unchanged data is never downloaded twice.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+final class ConditionalRequestFilter implements ClientRequestFilter, ClientResponseFilter {
+  private static final Logger LOG = Logger.getLogger(ConditionalRequestFilter.class);
+
+  private final String portalName;
+  private final Map<URI, CachedResponse> cachedResponses = new ConcurrentHashMap<>();
+
+  ConditionalRequestFilter(String portalName) {
+    this.portalName = portalName;
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext) {
+    var cachedResponse = this.cachedResponses.get(requestContext.getUri());
+
+    if (cachedResponse != null) {
+      var headers = requestContext.getHeaders();
+      cachedResponse.eTag().ifPresent(eTag -> headers.putSingle(HttpHeaders.IF_NONE_MATCH, eTag));
+      cachedResponse.lastModified().ifPresent(lastModified -> headers.putSingle(HttpHeaders.IF_MODIFIED_SINCE, lastModified));
+    }
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+    // A payload served from the cache carries no validators, which would otherwise throw away the stored ones
+    if (PayloadCacheFilter.isServedFromCache(requestContext)) {
+      return;
+    }
+
+    var uri = requestContext.getUri();
+
+    if (responseContext.getStatus() == Status.NOT_MODIFIED.getStatusCode()) {
+      var cachedResponse = this.cachedResponses.get(uri);
+
+      if (cachedResponse != null) {
+        LOG.debugf("%s has not changed on %s, re-using the cached response", uri, this.portalName);
+
+        responseContext.setStatus(Status.OK.getStatusCode());
+        responseContext.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        cachedResponse.contentType().ifPresent(contentType -> responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, contentType));
+        responseContext.setEntityStream(new ByteArrayInputStream(cachedResponse.body()));
+      }
+    }
+    else if (responseContext.getStatus() == Status.OK.getStatusCode()) {
+      var eTag = Optional.ofNullable(responseContext.getHeaderString(HttpHeaders.ETAG));
+      var lastModified = Optional.ofNullable(responseContext.getHeaderString(HttpHeaders.LAST_MODIFIED));
+
+      if ((eTag.isPresent() || lastModified.isPresent()) && responseContext.hasEntity()) {
+        // Buffer the payload so it can be cached and then handed back to the client to be read as normal
+        var body = responseContext.getEntityStream().readAllBytes();
+        responseContext.setEntityStream(new ByteArrayInputStream(body));
+
+        this.cachedResponses.put(
+            uri,
+            new CachedResponse(eTag, lastModified, Optional.ofNullable(responseContext.getHeaderString(HttpHeaders.CONTENT_TYPE)), body)
+        );
+      }
+      else {
+        this.cachedResponses.remove(uri);
+      }
+    }
+  }
+
+  private record CachedResponse(Optional<String> eTag, Optional<String> lastModified, Optional<String> contentType, byte[] body) {
+  }
+}
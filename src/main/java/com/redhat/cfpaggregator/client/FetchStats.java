@@ -0,0 +1,41 @@
+package com.redhat.cfpaggregator.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What the requests made while fetching a portal's event received.
+ * <p>
+ * Every request made for the fetch (including the ones made when retrying it) adds to the same stats, however many of
+ * them run concurrently. Requests made by other fetches of the same portal, and payloads served from a cache, are not
+ * counted.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+public final class FetchStats {
+  private final LongAdder bytesReceived = new LongAdder();
+  private final LongAdder parseNanos = new LongAdder();
+
+  /**
+   * The number of bytes received over the wire
+   */
+  public long getBytesReceived() {
+    return this.bytesReceived.sum();
+  }
+
+  /**
+   * How long was spent reading and parsing the responses, once they had been received
+   */
+  public Duration getParseDuration() {
+    return Duration.ofNanos(this.parseNanos.sum());
+  }
+
+  void addBytesReceived(long bytes) {
+    this.bytesReceived.add(bytes);
+  }
+
+  void addParseNanos(long nanos) {
+    this.parseNanos.add(nanos);
+  }
+}
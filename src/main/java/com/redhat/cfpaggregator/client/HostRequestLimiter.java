@@ -0,0 +1,284 @@
+package com.redhat.cfpaggregator.client;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.client.impl.ClientRequestContextImpl;
+import org.jboss.resteasy.reactive.client.spi.ResteasyReactiveClientRequestContext;
+import org.jboss.resteasy.reactive.client.spi.ResteasyReactiveClientRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Shapes the requests sent to a single host, across every portal client on that host.
+ * <p>
+ * A request needs both a token from a {@link TokenBucket token bucket} (rate limit) and one of a fixed number of
+ * in-flight slots (bulkhead) before it is sent. Requests that can't get both are suspended (without blocking a
+ * thread) and queued in arrival order until they can, or until they have waited too long, in which case they fail.
+ * The slot is given back as soon as the request completes, whether a response arrived, the connection failed, it
+ * timed out, or it was cancelled (i.e. when a portal's budget runs out). Requests that are cancelled while they
+ * are queued give up their place in the queue. Slots whose request never completes are reclaimed once they are
+ * older than the lease timeout.
+ * </p>
+ * <p>
+ * Publishes the queue depth, the number of in-flight requests, how long requests waited, and how many requests
+ * gave up waiting, all tagged with the host.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+final class HostRequestLimiter implements ResteasyReactiveClientRequestFilter, ClientResponseFilter {
+  private static final Logger LOG = Logger.getLogger(HostRequestLimiter.class);
+  private static final String METRIC_PREFIX = "cfps.client.host";
+  private static final String LEASE_PROPERTY = HostRequestLimiter.class.getName() + ".lease";
+
+  private final String host;
+  private final int maxConcurrentRequests;
+  private final long maxWaitNanos;
+  private final long leaseTimeoutNanos;
+  private final ScheduledExecutorService scheduler;
+  private final TokenBucket tokenBucket;
+  private final Map<Object, Long> leases = new HashMap<>();
+  private final Deque<Waiter> waiting = new ArrayDeque<>();
+  private final Timer waitTime;
+  private final Counter rejected;
+  private boolean drainScheduled;
+  private volatile boolean warnedNoCompletionHook;
+
+  HostRequestLimiter(String host, double requestsPerSecond, int burst, int maxConcurrentRequests, Duration maxWait, Duration leaseTimeout, ScheduledExecutorService scheduler, MeterRegistry meterRegistry) {
+    this.host = host;
+    this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+    this.maxWaitNanos = maxWait.toNanos();
+    this.leaseTimeoutNanos = leaseTimeout.toNanos();
+    this.scheduler = scheduler;
+    this.tokenBucket = new TokenBucket(requestsPerSecond, burst, System.nanoTime());
+
+    Gauge.builder("%s.queue.depth".formatted(METRIC_PREFIX), this, HostRequestLimiter::getQueueDepth)
+        .description("The number of requests waiting to be sent to the host")
+        .tag("host", host)
+        .register(meterRegistry);
+
+    Gauge.builder("%s.in-flight".formatted(METRIC_PREFIX), this, HostRequestLimiter::getInFlight)
+        .description("The number of requests currently in flight to the host")
+        .tag("host", host)
+        .register(meterRegistry);
+
+    this.waitTime = Timer.builder("%s.wait".formatted(METRIC_PREFIX))
+        .description("How long requests waited before being sent to the host")
+        .tag("host", host)
+        .register(meterRegistry);
+
+    this.rejected = Counter.builder("%s.rejected".formatted(METRIC_PREFIX))
+        .description("The number of requests that gave up waiting to be sent to the host")
+        .tag("host", host)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void filter(ResteasyReactiveClientRequestContext requestContext) {
+    var now = System.nanoTime();
+    Object lease;
+    Waiter waiter = null;
+
+    synchronized (this) {
+      reclaimExpiredLeases(now);
+
+      // Only jump straight through if nobody is already waiting, so requests go out in arrival order
+      lease = this.waiting.isEmpty() ? tryLease(requestContext, now) : null;
+
+      if (lease == null) {
+        requestContext.suspend();
+        waiter = new Waiter(requestContext, now);
+        this.waiting.addLast(waiter);
+        scheduleDrain(now);
+      }
+    }
+
+    // Outside the lock, a request that has already completed runs the callback straight away
+    if (lease != null) {
+      this.waitTime.record(0, TimeUnit.NANOSECONDS);
+      releaseOnCompletion(requestContext, lease);
+    }
+    else {
+      var queued = waiter;
+      onCompletion(requestContext, () -> abandon(queued));
+      LOG.debugf("Queued request to %s on host %s", requestContext.getUri(), this.host);
+    }
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+    var lease = requestContext.getProperty(LEASE_PROPERTY);
+
+    if (lease != null) {
+      requestContext.removeProperty(LEASE_PROPERTY);
+      release(lease);
+    }
+  }
+
+  synchronized int getQueueDepth() {
+    return this.waiting.size();
+  }
+
+  synchronized int getInFlight() {
+    return this.leases.size();
+  }
+
+  private void drain() {
+    var now = System.nanoTime();
+    var ready = new LinkedHashMap<Waiter, Object>();
+    var expired = new ArrayList<Waiter>();
+
+    synchronized (this) {
+      this.drainScheduled = false;
+      reclaimExpiredLeases(now);
+
+      while (!this.waiting.isEmpty()) {
+        var waiter = this.waiting.peekFirst();
+
+        if ((now - waiter.enqueuedAt()) > this.maxWaitNanos) {
+          expired.add(this.waiting.removeFirst());
+          continue;
+        }
+
+        var lease = tryLease(waiter.context(), now);
+
+        if (lease == null) {
+          break;
+        }
+
+        ready.put(this.waiting.removeFirst(), lease);
+      }
+
+      if (!this.waiting.isEmpty()) {
+        scheduleDrain(now);
+      }
+    }
+
+    // Resume outside the lock, the request may continue on this thread
+    ready.forEach((waiter, lease) -> {
+      this.waitTime.record(now - waiter.enqueuedAt(), TimeUnit.NANOSECONDS);
+      releaseOnCompletion(waiter.context(), lease);
+      waiter.context().resume();
+    });
+
+    expired.forEach(waiter -> {
+      this.rejected.increment();
+      waiter.context().resume(new ProcessingException("Gave up waiting to send request to %s on host %s".formatted(waiter.context().getUri(), this.host)));
+    });
+  }
+
+  /**
+   * Gives back a slot, letting the next queued requests go. Releasing the same lease more than once is harmless.
+   */
+  private void release(Object lease) {
+    boolean released;
+
+    synchronized (this) {
+      released = this.leases.remove(lease) != null;
+    }
+
+    if (released) {
+      drain();
+    }
+  }
+
+  /**
+   * Takes a request that completed (i.e. was cancelled) while it was still queued out of the queue
+   */
+  private void abandon(Waiter waiter) {
+    boolean removed;
+
+    synchronized (this) {
+      removed = this.waiting.remove(waiter);
+    }
+
+    if (removed) {
+      waiter.context().resume(new ProcessingException("Request to %s on host %s completed while waiting to be sent".formatted(waiter.context().getUri(), this.host)));
+    }
+  }
+
+  private void releaseOnCompletion(ResteasyReactiveClientRequestContext requestContext, Object lease) {
+    onCompletion(requestContext, () -> release(lease));
+  }
+
+  /**
+   * Runs the action once the request completes, however it completes. The request's result is completed when the
+   * response has been read, when the request fails, and when the caller cancels it.
+   * <p>
+   * The filter API has no hook for requests that fail or are cancelled, so this relies on the REST client's own
+   * request context. Without it, responses still give their slot back through the response filter, but slots of
+   * requests that fail or are cancelled are only reclaimed once their lease times out.
+   * </p>
+   */
+  private void onCompletion(ResteasyReactiveClientRequestContext requestContext, Runnable action) {
+    if (requestContext instanceof ClientRequestContextImpl context) {
+      context.getRestClientRequestContext()
+          .getResult()
+          .whenComplete((response, failure) -> action.run());
+    }
+    else if (!this.warnedNoCompletionHook) {
+      this.warnedNoCompletionHook = true;
+      LOG.warnf("Unable to tell when requests to host %s fail or are cancelled (request context is a %s), so their slots are only reclaimed after %s",
+          this.host, requestContext.getClass().getName(), Duration.ofNanos(this.leaseTimeoutNanos));
+    }
+  }
+
+  // Must be called while holding the lock
+  private Object tryLease(ResteasyReactiveClientRequestContext requestContext, long now) {
+    if ((this.leases.size() >= this.maxConcurrentRequests) || !this.tokenBucket.tryAcquire(now)) {
+      return null;
+    }
+
+    var lease = new Object();
+    this.leases.put(lease, now);
+    requestContext.setProperty(LEASE_PROPERTY, lease);
+
+    return lease;
+  }
+
+  // Must be called while holding the lock
+  private void reclaimExpiredLeases(long now) {
+    this.leases.values().removeIf(leasedAt -> (now - leasedAt) > this.leaseTimeoutNanos);
+  }
+
+  // Must be called while holding the lock
+  private void scheduleDrain(long now) {
+    if (this.drainScheduled || this.waiting.isEmpty()) {
+      return;
+    }
+
+    // Wake up when the head of the queue could go (or has to give up)
+    // Freed up slots trigger a drain straight away when their request completes
+    var delay = this.tokenBucket.nanosUntilAvailable(now);
+
+    if (this.leases.size() >= this.maxConcurrentRequests) {
+      var oldestLease = this.leases.values().stream().mapToLong(Long::longValue).min().orElse(now);
+      delay = Math.max(delay, (oldestLease + this.leaseTimeoutNanos) - now);
+    }
+
+    delay = Math.min(delay, (this.waiting.peekFirst().enqueuedAt() + this.maxWaitNanos) - now);
+
+    this.drainScheduled = true;
+    this.scheduler.schedule(this::drain, Math.max(1, delay), TimeUnit.NANOSECONDS);
+  }
+
+  private record Waiter(ResteasyReactiveClientRequestContext context, long enqueuedAt) {
+  }
+}
@@ -0,0 +1,279 @@
+package com.redhat.cfpaggregator.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Caches the raw payloads returned by a portal on local disk.
+ * <p>
+ * Every successful {@code GET} is written to a file (keyed by portal, endpoint and query) as the response streams in.
+ * While that file is younger than the configured time-to-live, requests to the same endpoint are answered straight
+ * from the file (read through a memory-mapped buffer) without making any network call at all. Because the files live
+ * on disk they survive restarts.
+ * </p>
+ * <p>
+ * A response served from the cache still passes through the other response filters. They should leave it alone,
+ * so they check {@link #isServedFromCache(ClientRequestContext)} first.
+ * </p>
+ * <p>
+ * Looking a request up (a single file stat, plus mapping the file on a hit) happens on the thread sending the
+ * request, which is the event loop when portals are fetched with
+ * {@link com.redhat.cfpaggregator.config.CfpPortalsConfig.ExecutionMode#EVENT_LOOP EVENT_LOOP}. Those calls are
+ * cheap on a local disk, but on slow or network storage they stall everything else on that event loop, so the
+ * cache directory has to be on local disk in that mode.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+final class PayloadCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+  private static final Logger LOG = Logger.getLogger(PayloadCacheFilter.class);
+  private static final String SERVED_FROM_CACHE_PROPERTY = PayloadCacheFilter.class.getName() + ".servedFromCache";
+  private static final String CACHE_FILE_EXTENSION = ".payload";
+
+  private final String portalName;
+  private final Path portalDirectory;
+  private final Duration ttl;
+
+  PayloadCacheFilter(String portalName, Path cacheDirectory, Duration ttl) {
+    this.portalName = portalName;
+    this.portalDirectory = cacheDirectory.resolve(portalName.replaceAll("[^A-Za-z0-9._-]", "_"));
+    this.ttl = ttl;
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext) throws IOException {
+    if (HttpMethod.GET.equals(requestContext.getMethod())) {
+      var cacheFile = getCacheFile(requestContext);
+
+      if (isFresh(cacheFile)) {
+        LOG.debugf("Serving %s for %s from %s", requestContext.getUri(), this.portalName, cacheFile);
+
+        requestContext.setProperty(SERVED_FROM_CACHE_PROPERTY, true);
+        requestContext.abortWith(
+            Response.ok(readMapped(cacheFile), MediaType.APPLICATION_JSON_TYPE)
+                .build()
+        );
+      }
+    }
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+    if (!isServedFromCache(requestContext) &&
+        HttpMethod.GET.equals(requestContext.getMethod()) &&
+        (responseContext.getStatus() == Status.OK.getStatusCode()) &&
+        responseContext.hasEntity()) {
+
+      responseContext.setEntityStream(new CachingInputStream(responseContext.getEntityStream(), getCacheFile(requestContext)));
+    }
+  }
+
+  /**
+   * Whether the response to a request was served from the cache rather than by the portal
+   */
+  static boolean isServedFromCache(ClientRequestContext requestContext) {
+    return Boolean.TRUE.equals(requestContext.getProperty(SERVED_FROM_CACHE_PROPERTY));
+  }
+
+  private Path getCacheFile(ClientRequestContext requestContext) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256")
+          .digest(requestContext.getUri().toString().getBytes(StandardCharsets.UTF_8));
+
+      return this.portalDirectory.resolve(HexFormat.of().formatHex(digest) + CACHE_FILE_EXTENSION);
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private boolean isFresh(Path cacheFile) throws IOException {
+    try {
+      // One stat rather than one to check the file is there and another for its age
+      var attributes = Files.readAttributes(cacheFile, BasicFileAttributes.class);
+
+      return attributes.isRegularFile() &&
+          attributes.lastModifiedTime().toInstant().plus(this.ttl).isAfter(Instant.now());
+    }
+    catch (NoSuchFileException e) {
+      return false;
+    }
+  }
+
+  private static InputStream readMapped(Path cacheFile) throws IOException {
+    try (var channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed
+      return new ByteBufferInputStream(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Copies everything read from the response to a temporary file, which replaces the cache file once the whole
+   * response has been read. Readers such as Jackson stop at the end of the JSON without reading on to the end of the
+   * stream, so whatever is left is read when the stream is closed. A response that can't be read to the end never
+   * ends up in the cache.
+   */
+  private static final class CachingInputStream extends FilterInputStream {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path cacheFile;
+    private final Path tempFile;
+    private OutputStream cacheOutput;
+
+    private CachingInputStream(InputStream in, Path cacheFile) throws IOException {
+      super(in);
+      Files.createDirectories(cacheFile.getParent());
+      this.cacheFile = cacheFile;
+      this.tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+      this.cacheOutput = Files.newOutputStream(this.tempFile);
+    }
+
+    @Override
+    public int read() throws IOException {
+      var b = super.read();
+
+      if (b == -1) {
+        complete();
+      }
+      else if (this.cacheOutput != null) {
+        this.cacheOutput.write(b);
+      }
+
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      var numRead = super.read(b, off, len);
+
+      if (numRead == -1) {
+        complete();
+      }
+      else if (this.cacheOutput != null) {
+        this.cacheOutput.write(b, off, numRead);
+      }
+
+      return numRead;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      // Skipped bytes are read all the same, as they have to be in the cache file too
+      if (n <= 0) {
+        return 0;
+      }
+
+      var numRead = read(new byte[(int) Math.min(n, BUFFER_SIZE)]);
+      return Math.max(numRead, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+      // Resetting would write the bytes read since the mark to the cache file twice
+      return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        drain();
+        super.close();
+      }
+      finally {
+        // If we haven't reached the end of the stream, throw away what we have
+        if (this.cacheOutput != null) {
+          this.cacheOutput.close();
+          this.cacheOutput = null;
+          Files.deleteIfExists(this.tempFile);
+        }
+      }
+    }
+
+    private void drain() {
+      if (this.cacheOutput != null) {
+        try {
+          var buffer = new byte[BUFFER_SIZE];
+
+          while (read(buffer, 0, buffer.length) != -1) {
+            // Reading to the end completes the cache file
+          }
+        }
+        catch (IOException e) {
+          LOG.debugf(e, "Unable to read the rest of the response for cache file %s", this.cacheFile);
+        }
+      }
+    }
+
+    private void complete() throws IOException {
+      if (this.cacheOutput != null) {
+        this.cacheOutput.close();
+        this.cacheOutput = null;
+
+        try {
+          Files.move(this.tempFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+          LOG.warnf(e, "Unable to write cache file %s", this.cacheFile);
+          Files.deleteIfExists(this.tempFile);
+        }
+      }
+    }
+  }
+
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return this.buffer.hasRemaining() ? (this.buffer.get() & 0xFF) : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (!this.buffer.hasRemaining()) {
+        return -1;
+      }
+
+      var numRead = Math.min(len, this.buffer.remaining());
+      this.buffer.get(b, off, numRead);
+      return numRead;
+    }
+
+    @Override
+    public int available() {
+      return this.buffer.remaining();
+    }
+  }
+}
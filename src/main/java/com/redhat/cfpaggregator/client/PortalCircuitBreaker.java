@@ -0,0 +1,94 @@
+package com.redhat.cfpaggregator.client;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A circuit breaker guarding the calls to a single portal.
+ * <p>
+ * The breaker opens after a number of consecutive failed calls. While it is open calls fail fast without going to the
+ * portal. Once it has been open long enough a single trial call is let through (half open): if it succeeds the
+ * breaker closes again, otherwise it re-opens.
+ * </p>
+ * <p>
+ * Times are passed in (as {@link System#nanoTime()} values) rather than read from the clock.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+final class PortalCircuitBreaker {
+  private static final Logger LOG = Logger.getLogger(PortalCircuitBreaker.class);
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String portalName;
+  private final int failureThreshold;
+  private final long openNanos;
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+
+  PortalCircuitBreaker(String portalName, int failureThreshold, long openNanos) {
+    this.portalName = portalName;
+    this.failureThreshold = Math.max(1, failureThreshold);
+    this.openNanos = openNanos;
+  }
+
+  /**
+   * Whether a call to the portal is allowed
+   */
+  synchronized boolean tryAcquire(long now) {
+    return switch (this.state) {
+      case CLOSED -> true;
+      case HALF_OPEN -> false;
+      case OPEN -> {
+        if ((now - this.openedAt) >= this.openNanos) {
+          LOG.infof("Circuit breaker for portal %s is half open, letting a trial call through", this.portalName);
+          this.state = State.HALF_OPEN;
+          yield true;
+        }
+
+        yield false;
+      }
+    };
+  }
+
+  synchronized void onSuccess() {
+    if (this.state != State.CLOSED) {
+      LOG.infof("Circuit breaker for portal %s is closed", this.portalName);
+    }
+
+    this.state = State.CLOSED;
+    this.consecutiveFailures = 0;
+  }
+
+  synchronized void onFailure(long now) {
+    this.consecutiveFailures++;
+
+    if ((this.state == State.HALF_OPEN) || (this.consecutiveFailures >= this.failureThreshold)) {
+      if (this.state != State.OPEN) {
+        LOG.warnf("Circuit breaker for portal %s is open after %d consecutive failures", this.portalName, this.consecutiveFailures);
+      }
+
+      this.state = State.OPEN;
+      this.openedAt = now;
+    }
+  }
+
+  /**
+   * A call was abandoned without an outcome, so let the next one through as the trial call
+   */
+  synchronized void onCancelled(long now) {
+    if (this.state == State.HALF_OPEN) {
+      this.state = State.OPEN;
+      this.openedAt = now - this.openNanos;
+    }
+  }
+
+  synchronized State getState() {
+    return this.state;
+  }
+}
@@ -0,0 +1,63 @@
+package com.redhat.cfpaggregator.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket that refills continuously at a fixed rate up to a maximum burst.
+ * <p>
+ * Times are passed in (as {@link System#nanoTime()} values) rather than read from the clock. Instances are not
+ * thread-safe, callers are expected to guard them.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+final class TokenBucket {
+  private final double capacity;
+  private final double tokensPerNano;
+  private double tokens;
+  private long lastRefill;
+
+  TokenBucket(double tokensPerSecond, int burst, long now) {
+    if (tokensPerSecond <= 0) {
+      throw new IllegalArgumentException("tokensPerSecond must be positive");
+    }
+
+    this.capacity = Math.max(1, burst);
+    this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.tokens = this.capacity;
+    this.lastRefill = now;
+  }
+
+  /**
+   * Takes a token from the bucket if there is one
+   *
+   * @return {@code true} if a token was taken
+   */
+  boolean tryAcquire(long now) {
+    refill(now);
+
+    if (this.tokens >= 1) {
+      this.tokens--;
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * How long until the next token is available
+   */
+  long nanosUntilAvailable(long now) {
+    refill(now);
+    return (this.tokens >= 1) ? 0 : (long) Math.ceil((1 - this.tokens) / this.tokensPerNano);
+  }
+
+  private void refill(long now) {
+    var elapsed = now - this.lastRefill;
+
+    if (elapsed > 0) {
+      this.tokens = Math.min(this.capacity, this.tokens + (elapsed * this.tokensPerNano));
+      this.lastRefill = now;
+    }
+  }
+}
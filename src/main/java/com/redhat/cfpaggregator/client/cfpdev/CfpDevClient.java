@@ -1,13 +1,15 @@
 package com.redhat.cfpaggregator.client.cfpdev;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
@@ -17,6 +19,9 @@ import org.eclipse.microprofile.rest.client.annotation.ClientHeaderParam;
 
 import io.quarkus.rest.client.reactive.NotBody;
 
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
 import com.redhat.cfpaggregator.client.CfpClient;
 import com.redhat.cfpaggregator.domain.Event;
 import com.redhat.cfpaggregator.domain.Portal;
@@ -35,10 +40,34 @@ public interface CfpDevClient extends CfpClient {
   /**
    * Fetches the details of an event from the cfp.dev API.
    */
+  default CfpDevEventDetails getEventDetails(String portalName) {
+    return getEventDetails(portalName, null);
+  }
+
+  /**
+   * Fetches the details of an event from the cfp.dev API, as part of a fetch.
+   *
+   * @param fetchId identifies the fetch the request is made for, may be {@code null}
+   */
   @GET
   @Path("/event")
   @ClientHeaderParam(name = CfpClient.PORTAL_NAME_HEADER, value = "{portalName}")
-  CfpDevEventDetails getEventDetails(@NotBody String portalName);
+  CfpDevEventDetails getEventDetails(@NotBody String portalName, @HeaderParam(CfpClient.FETCH_ID_HEADER) String fetchId);
+
+  /**
+   * Non-blocking version of {@link #getEventDetails(String)}.
+   */
+  default Uni<CfpDevEventDetails> getEventDetailsAsync(String portalName) {
+    return getEventDetailsAsync(portalName, null);
+  }
+
+  /**
+   * Non-blocking version of {@link #getEventDetails(String, String)}.
+   */
+  @GET
+  @Path("/event")
+  @ClientHeaderParam(name = CfpClient.PORTAL_NAME_HEADER, value = "{portalName}")
+  Uni<CfpDevEventDetails> getEventDetailsAsync(@NotBody String portalName, @HeaderParam(CfpClient.FETCH_ID_HEADER) String fetchId);
 
   /**
    * Searches for talks based on the specified search query.
@@ -52,6 +81,23 @@ public interface CfpDevClient extends CfpClient {
   @ClientHeaderParam(name = CfpClient.PORTAL_NAME_HEADER, value = "{portalName}")
   CfpDevTalkSearchResults findTalks(@PathParam("searchQuery") String searchQuery, @NotBody String portalName);
 
+  /**
+   * Non-blocking version of {@link #findTalks(String, String)}.
+   */
+  default Uni<CfpDevTalkSearchResults> findTalksAsync(String searchQuery, String portalName) {
+    return findTalksAsync(searchQuery, portalName, (String) null);
+  }
+
+  /**
+   * Non-blocking version of {@link #findTalks(String, String)}, as part of a fetch.
+   *
+   * @param fetchId identifies the fetch the request is made for, may be {@code null}
+   */
+  @GET
+  @Path("/search/{searchQuery}")
+  @ClientHeaderParam(name = CfpClient.PORTAL_NAME_HEADER, value = "{portalName}")
+  Uni<CfpDevTalkSearchResults> findTalksAsync(@PathParam("searchQuery") String searchQuery, @NotBody String portalName, @HeaderParam(CfpClient.FETCH_ID_HEADER) String fetchId);
+
   /**
    * Retrieves a list of all talk details available from the cfp.dev API.
    *
@@ -62,6 +108,23 @@ public interface CfpDevClient extends CfpClient {
   @ClientHeaderParam(name = CfpClient.PORTAL_NAME_HEADER, value = "{portalName}")
   List<CfpDevTalkDetails> getAllTalks(@NotBody String portalName);
 
+  /**
+   * Non-blocking version of {@link #getAllTalks(String)}.
+   */
+  default Uni<List<CfpDevTalkDetails>> getAllTalksAsync(String portalName) {
+    return getAllTalksAsync(portalName, null);
+  }
+
+  /**
+   * Non-blocking version of {@link #getAllTalks(String)}, as part of a fetch.
+   *
+   * @param fetchId identifies the fetch the request is made for, may be {@code null}
+   */
+  @GET
+  @Path("/talks")
+  @ClientHeaderParam(name = CfpClient.PORTAL_NAME_HEADER, value = "{portalName}")
+  Uni<List<CfpDevTalkDetails>> getAllTalksAsync(@NotBody String portalName, @HeaderParam(CfpClient.FETCH_ID_HEADER) String fetchId);
+
   /**
    * Searches for talks based on the specified search criteria, including talk keywords and speaker companies.
    * If no criteria are provided, retrieves all available talks.
@@ -71,53 +134,129 @@ public interface CfpDevClient extends CfpClient {
    * @return a list of {@code CfpDevTalkDetails} objects that match the search criteria
    */
   default List<CfpDevTalkDetails> findTalks(TalkSearchCriteria searchCriteria, String portalName) {
+    return findTalks(searchCriteria, portalName, DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Blocking version of {@link #findTalksAsync(TalkSearchCriteria, String, int)}.
+   *
+   * @param timeout how long to wait for all of the searches to complete
+   * @throws io.smallrye.mutiny.TimeoutException if the searches don't complete within the {@code timeout}
+   */
+  default List<CfpDevTalkDetails> findTalks(TalkSearchCriteria searchCriteria, String portalName, int maxConcurrentSearches, Duration timeout) {
+    return findTalksAsync(searchCriteria, portalName, maxConcurrentSearches, null)
+        .await().atMost(timeout);
+  }
+
+  /**
+   * Non-blocking version of {@link #findTalks(TalkSearchCriteria, String)}.
+   */
+  default Uni<List<CfpDevTalkDetails>> findTalksAsync(TalkSearchCriteria searchCriteria, String portalName) {
+    return findTalksAsync(searchCriteria, portalName, DEFAULT_MAX_CONCURRENT_REQUESTS);
+  }
+
+  /**
+   * Searches for talks based on the specified search criteria without blocking the calling thread.
+   * <p>
+   * The search for each keyword is issued concurrently (up to {@code maxConcurrentSearches} at a time)
+   * and the results are merged as they arrive, so the latency is close to that of the slowest single search
+   * rather than the sum of all of them.
+   * </p>
+   *
+   * @param searchCriteria the search criteria containing talk keywords and speaker companies for filtering the results
+   * @param maxConcurrentSearches the maximum number of keyword searches to have in flight at any one time
+   * @return a list of {@code CfpDevTalkDetails} objects that match the search criteria
+   */
+  default Uni<List<CfpDevTalkDetails>> findTalksAsync(TalkSearchCriteria searchCriteria, String portalName, int maxConcurrentSearches) {
+    return findTalksAsync(searchCriteria, portalName, maxConcurrentSearches, null);
+  }
+
+  /**
+   * Version of {@link #findTalksAsync(TalkSearchCriteria, String, int)} made as part of a fetch.
+   *
+   * @param fetchId identifies the fetch the requests are made for, may be {@code null}
+   */
+  default Uni<List<CfpDevTalkDetails>> findTalksAsync(TalkSearchCriteria searchCriteria, String portalName, int maxConcurrentSearches, String fetchId) {
     // 1) Find all the talks for each keyword (if there are any)
-    var talksStream = searchCriteria.hasTalkKeywords() ?
-        searchCriteria.getTalkKeywords().stream()
-            .flatMap(keyword -> findTalks(keyword, portalName).talks().stream()) :
-        Optional.ofNullable(getAllTalks(portalName))
-            .map(List::stream)
-            .orElseGet(Stream::empty);
-
-    // 2) For each talk, only retain the speakers that match the search criteria (if there is any)
+    var talks = searchCriteria.hasTalkKeywords() ?
+        Multi.createFrom().iterable(searchCriteria.getTalkKeywords())
+            .onItem().transformToUni(keyword -> findTalksAsync(keyword, portalName, fetchId))
+            .merge(Math.max(1, maxConcurrentSearches))
+            .onItem().transformToIterable(CfpDevClient::talksFrom) :
+        getAllTalksAsync(portalName, fetchId)
+            .onItem().transformToMulti(allTalks -> Multi.createFrom().iterable(Optional.ofNullable(allTalks).orElseGet(List::of)));
+
+    // 2) The same talk can match more than one keyword, so only let the first occurrence through
+    // The set is created per subscription so that re-subscribing (i.e. retrying) starts fresh
+    var uniqueTalks = Multi.createFrom().deferred(() -> {
+      var seenTalkIds = new HashSet<Long>();
+      return talks.select().where(talk -> seenTalkIds.add(talk.eventTalkId()));
+    });
+
+    // 3) For each talk, only retain the speakers that match the search criteria (if there is any)
     return searchCriteria.hasSpeakerCompanies() ?
-        talksStream
-            .map(talk -> new CfpDevTalkDetails(talk, searchCriteria.getSpeakerCompanies()))
-            .filter(talk -> !talk.speakers().isEmpty())
-            .toList() :
-        talksStream.toList();
+        uniqueTalks
+            .map(talk -> new CfpDevTalkDetails(talk, searchCriteria.compiled()))
+            .select().where(talk -> !talk.speakers().isEmpty())
+            .collect().asList() :
+        uniqueTalks
+            .collect().asList();
+  }
+
+  @Override
+  default Event createEvent(Portal portal, TalkSearchCriteria talkSearchCriteria, int maxConcurrentRequests, Duration timeout, String fetchId) {
+    var portalName = portal.getPortalName();
+    var eventDetails = getEventDetails(portalName, fetchId);
+    var talks = (eventDetails != null) ?
+        findTalksAsync(talkSearchCriteria, portalName, maxConcurrentRequests, fetchId).await().atMost(timeout) :
+        null;
+
+    return toEvent(portal, eventDetails, talks);
   }
 
   @Override
-  default Event createEvent(Portal portal, TalkSearchCriteria talkSearchCriteria) {
+  default Uni<Event> createEventAsync(Portal portal, TalkSearchCriteria talkSearchCriteria, int maxConcurrentRequests, String fetchId) {
     var portalName = portal.getPortalName();
-    var eventDetails = getEventDetails(portal.getPortalName());
-    var event = EVENT_MAPPER.fromCfpDev(portalName, eventDetails);
-
-    if (eventDetails != null) {
-      var talks = findTalks(talkSearchCriteria, portalName);
-
-      if (talks != null) {
-        var uniqueSpeakers = new HashMap<String, Speaker>();
-
-        talks.forEach(talk -> {
-          var speakers = talk.speakers();
-
-          if (speakers != null) {
-            var mappedTalk = TALK_MAPPER.fromCfpDev(talk);
-            speakers.stream()
-                .filter(Objects::nonNull)
-                .map(speaker -> uniqueSpeakers.computeIfAbsent(String.valueOf(speaker.eventSpeakerId()), id -> SPEAKER_MAPPER.fromCfpDev(speaker)))
-                .forEach(speaker -> {
-                  event.addSpeakers(speaker);
-                  speaker.addTalks(mappedTalk);
-                });
-          }
-        });
-      }
+
+    return getEventDetailsAsync(portalName, fetchId)
+        .onItem().transformToUni(eventDetails ->
+            (eventDetails != null) ?
+                findTalksAsync(talkSearchCriteria, portalName, maxConcurrentRequests, fetchId).map(talks -> toEvent(portal, eventDetails, talks)) :
+                Uni.createFrom().item(() -> toEvent(portal, null, null))
+        );
+  }
+
+  private static List<CfpDevTalkDetails> talksFrom(CfpDevTalkSearchResults searchResults) {
+    return Optional.ofNullable(searchResults)
+        .map(CfpDevTalkSearchResults::talks)
+        .orElseGet(List::of);
+  }
+
+  private static Event toEvent(Portal portal, CfpDevEventDetails eventDetails, List<CfpDevTalkDetails> talks) {
+    var event = EVENT_MAPPER.fromCfpDev(portal.getPortalName(), eventDetails);
+
+    if ((eventDetails != null) && (talks != null)) {
+      var uniqueSpeakers = new HashMap<String, Speaker>();
+
+      talks.forEach(talk -> {
+        var speakers = talk.speakers();
+
+        if (speakers != null) {
+          var mappedTalk = TALK_MAPPER.fromCfpDev(talk);
+          speakers.stream()
+              .filter(Objects::nonNull)
+              .map(speaker -> uniqueSpeakers.computeIfAbsent(String.valueOf(speaker.eventSpeakerId()), id -> {
+                // Only add a speaker to the event once, no matter how many talks they have
+                var mappedSpeaker = SPEAKER_MAPPER.fromCfpDev(speaker);
+                event.addSpeakers(mappedSpeaker);
+                return mappedSpeaker;
+              }))
+              .forEach(speaker -> speaker.addTalks(mappedTalk));
+        }
+      });
     }
 
     portal.setEvent(event);
     return event;
   }
-}
\ No newline at end of file
+}
@@ -1,14 +1,13 @@
 package com.redhat.cfpaggregator.client.cfpdev;
 
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.redhat.cfpaggregator.search.CompiledSearchCriteria;
 
 public record CfpDevTalkDetails(
     @JsonProperty("id") long eventTalkId,
@@ -24,18 +23,20 @@ public record CfpDevTalkDetails(
    * Clones an instance but only keeping the speaker details that match companies
    */
   public CfpDevTalkDetails(CfpDevTalkDetails toClone, Collection<String> companies) {
-    this(
-        toClone,
-        Optional.ofNullable(companies)
-            .orElseGet(List::of)
-            .toArray(String[]::new)
-    );
+    this(toClone, CompiledSearchCriteria.forSpeakerCompanies(companies));
   }
 
   /**
    * Clones an instance but only keeping the speaker details that match companies
    */
   public CfpDevTalkDetails(CfpDevTalkDetails toClone, String... companies) {
+    this(toClone, compileCompanies(companies));
+  }
+
+  /**
+   * Clones an instance but only keeping the speaker details whose company is one of the search criteria's companies
+   */
+  public CfpDevTalkDetails(CfpDevTalkDetails toClone, CompiledSearchCriteria searchCriteria) {
     this(
         toClone.eventTalkId(),
         toClone.title(),
@@ -43,7 +44,7 @@ public record CfpDevTalkDetails(
         toClone.summary(),
         toClone.videoUrl(),
         toClone.keywords(),
-        toClone.getSpeakersFromCompanies(companies)
+        toClone.getSpeakersFromCompanies(searchCriteria)
     );
   }
 
@@ -56,16 +57,33 @@ public record CfpDevTalkDetails(
   }
 
   public List<CfpDevSpeakerDetails> getSpeakersFromCompanies(String... companies) {
-    var companyNames = Optional.ofNullable(companies)
-        .map(Set::of)
-        .orElseGet(Set::of)
-        .stream()
-        .filter(Objects::nonNull)
-        .map(String::strip)
-        .collect(Collectors.toSet());
+    return getSpeakersFromCompanies(compileCompanies(companies));
+  }
+
+  public List<CfpDevSpeakerDetails> getSpeakersFromCompanies(CompiledSearchCriteria searchCriteria) {
+    // Only copy the speakers if some of them don't match
+    var matching = 0;
+
+    for (var speaker : this.speakers) {
+      if (searchCriteria.isSpeakerCompany(speaker.company())) {
+        matching++;
+      }
+    }
+
+    if (matching == this.speakers.size()) {
+      return this.speakers;
+    }
 
     return this.speakers.stream()
-        .filter(speaker -> companyNames.contains(speaker.company()))
+        .filter(speaker -> searchCriteria.isSpeakerCompany(speaker.company()))
         .toList();
   }
+
+  private static CompiledSearchCriteria compileCompanies(String... companies) {
+    return CompiledSearchCriteria.forSpeakerCompanies(
+        Optional.ofNullable(companies)
+            .map(Arrays::asList)
+            .orElseGet(List::of)
+    );
+  }
 }
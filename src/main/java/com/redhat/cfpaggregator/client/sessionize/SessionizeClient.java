@@ -1,6 +1,8 @@
 package com.redhat.cfpaggregator.client.sessionize;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -10,6 +12,7 @@ import java.util.stream.Collectors;
 
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
@@ -17,6 +20,8 @@ import jakarta.ws.rs.core.MediaType;
 
 import org.eclipse.microprofile.rest.client.annotation.ClientHeaderParam;
 
+import io.smallrye.mutiny.Uni;
+
 import com.redhat.cfpaggregator.client.CfpClient;
 import com.redhat.cfpaggregator.domain.Event;
 import com.redhat.cfpaggregator.domain.Portal;
@@ -27,21 +32,61 @@ import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public interface SessionizeClient extends CfpClient {
+  /**
+   * Retrieves the payload of the {@code /view/All} endpoint, so that it can be parsed with a
+   * {@link SessionizeEventParser} while filtering it.
+   */
+  default SessionizePayload getAllPayload(String portalName) {
+    return getAllPayload(portalName, null);
+  }
+
+  /**
+   * Retrieves the payload of the {@code /view/All} endpoint as part of a fetch.
+   *
+   * @param fetchId identifies the fetch the request is made for, may be {@code null}
+   */
+  @GET
+  @Path("/All")
+  @ClientHeaderParam(name = CfpClient.PORTAL_NAME_HEADER, value = "{portalName}")
+  SessionizePayload getAllPayload(@PathParam("portalName") String portalName, @HeaderParam(CfpClient.FETCH_ID_HEADER) String fetchId);
+
+  /**
+   * Non-blocking version of {@link #getAllPayload(String)}.
+   */
+  default Uni<SessionizePayload> getAllPayloadAsync(String portalName) {
+    return getAllPayloadAsync(portalName, null);
+  }
+
+  /**
+   * Non-blocking version of {@link #getAllPayload(String, String)}.
+   */
   @GET
   @Path("/All")
   @ClientHeaderParam(name = CfpClient.PORTAL_NAME_HEADER, value = "{portalName}")
-  SessionizeEventDetails getAll(@PathParam("portalName") String portalName);
+  Uni<SessionizePayload> getAllPayloadAsync(@PathParam("portalName") String portalName, @HeaderParam(CfpClient.FETCH_ID_HEADER) String fetchId);
 
   @Override
-  default Event createEvent(Portal portal, TalkSearchCriteria searchCriteria) {
+  default Event createEvent(Portal portal, TalkSearchCriteria searchCriteria, int maxConcurrentRequests, Duration timeout, String fetchId) {
+    // Sessionize returns everything in a single request, so there is nothing to run concurrently
+    // That request is already bounded by the client's read timeout
+    var data = getAllPayload(portal.getPortalName(), fetchId).parse(searchCriteria);
+    return toEvent(portal, data, searchCriteria);
+  }
+
+  @Override
+  default Uni<Event> createEventAsync(Portal portal, TalkSearchCriteria searchCriteria, int maxConcurrentRequests, String fetchId) {
+    return getAllPayloadAsync(portal.getPortalName(), fetchId)
+        .map(payload -> payload.parse(searchCriteria))
+        .map(data -> toEvent(portal, data, searchCriteria));
+  }
+
+  private static Event toEvent(Portal portal, SessionizeEventDetails data, TalkSearchCriteria searchCriteria) {
     var portalName = portal.getPortalName();
     var event = Event.builder()
         .portalName(portalName)
         .name(portalName)
         .build();
 
-    var data = getAll(portalName);
-
     if (data != null) {
       var uniqueSpeakers = getUniqueSpeakers(data, searchCriteria);
 
@@ -49,27 +94,27 @@ public interface SessionizeClient extends CfpClient {
         var sessions = data.sessions();
 
         if (sessions!=null) {
+          var addedSpeakerIds = new HashSet<String>();
+
           sessions.stream()
               .filter(Objects::nonNull)
               .filter(session -> !Collections.disjoint(session.speakers(), uniqueSpeakers.keySet()))
-              .filter(session -> searchCriteria.hasTalkKeywords() ?
-                  searchCriteria.getTalkKeywords()
-                      .stream()
-                      .anyMatch(talkKeyword ->
-                          Optional.ofNullable(session.description())
-                              .orElse("")
-                              .contains(talkKeyword)
-                      ) :
-                  true
-              )
+              .filter(session -> SessionizeEventParser.matchesTalkKeywords(session, searchCriteria))
               .forEach(talk -> {
                 var mappedTalk = TALK_MAPPER.fromSessionize(talk);
 
+                // Co-speakers that don't match the search criteria aren't in uniqueSpeakers
                 talk.speakers().stream()
                     .filter(Objects::nonNull)
-                    .map(uniqueSpeakers::get)
-                    .forEach(speaker -> {
-                      event.addSpeakers(speaker);
+                    .filter(uniqueSpeakers::containsKey)
+                    .forEach(speakerId -> {
+                      var speaker = uniqueSpeakers.get(speakerId);
+
+                      // Only add a speaker to the event once, no matter how many talks they have
+                      if (addedSpeakerIds.add(speakerId)) {
+                        event.addSpeakers(speaker);
+                      }
+
                       speaker.addTalks(mappedTalk);
                     });
               });
@@ -86,17 +131,7 @@ public interface SessionizeClient extends CfpClient {
         .map(SessionizeEventDetails::speakers)
         .orElseGet(List::of)
         .stream()
-        .filter(speaker ->
-            searchCriteria.hasSpeakerCompanies() ?
-                searchCriteria.getSpeakerCompanies()
-                    .stream()
-                    .anyMatch(speakerCompany ->
-                        Optional.ofNullable(speaker.bio())
-                            .orElse("")
-                            .contains(speakerCompany)
-                    ) :
-                true
-        )
+        .filter(speaker -> SessionizeEventParser.matchesSpeakerCompanies(speaker, searchCriteria))
         .distinct()
         .map(SPEAKER_MAPPER::fromSessionize)
         .collect(Collectors.toMap(Speaker::getEventSpeakerId, Function.identity()));
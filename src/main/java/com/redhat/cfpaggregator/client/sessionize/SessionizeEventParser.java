@@ -0,0 +1,107 @@
+package com.redhat.cfpaggregator.client.sessionize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+
+/**
+ * Streaming parser for the payload returned by the Sessionize {@code /view/All} endpoint.
+ * <p>
+ * Rather than binding the whole payload (all the sessions and all the speakers, with their full bios) and then
+ * throwing most of it away, each speaker and session is bound one at a time as it is read and is only kept if it
+ * matches the search criteria. Only sessions that reference a retained speaker are returned, so the objects kept
+ * depend on the number of matches rather than on the size of the event. The payload itself isn't covered by that:
+ * the REST client buffers it, as described in {@link SessionizePayloadReader}.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+public final class SessionizeEventParser {
+  private final ObjectMapper objectMapper;
+
+  public SessionizeEventParser(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Parses the payload, keeping only the speakers and sessions matching the search criteria.
+   */
+  public SessionizeEventDetails parse(InputStream payload, TalkSearchCriteria searchCriteria) {
+    if (payload == null) {
+      return null;
+    }
+
+    var sessions = new ArrayList<SessionizeSessionDetails>();
+    var speakers = new ArrayList<SessionizeSpeakerDetails>();
+    var speakerIds = new HashSet<String>();
+
+    try (payload; var parser = this.objectMapper.createParser(payload)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        var fieldName = parser.currentName();
+        parser.nextToken();
+
+        switch (fieldName) {
+          case "sessions" -> readArray(parser, SessionizeSessionDetails.class, session -> {
+            if (matchesTalkKeywords(session, searchCriteria)) {
+              sessions.add(session);
+            }
+          });
+          case "speakers" -> readArray(parser, SessionizeSpeakerDetails.class, speaker -> {
+            if (matchesSpeakerCompanies(speaker, searchCriteria) && speakerIds.add(speaker.eventSpeakerId())) {
+              speakers.add(speaker);
+            }
+          });
+          default -> parser.skipChildren();
+        }
+      }
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    // The sessions may have been read before the speakers, so they can only be matched up once everything is read
+    sessions.removeIf(session -> Collections.disjoint(Optional.ofNullable(session.speakers()).orElseGet(List::of), speakerIds));
+    return new SessionizeEventDetails(sessions, speakers);
+  }
+
+  static boolean matchesTalkKeywords(SessionizeSessionDetails session, TalkSearchCriteria searchCriteria) {
+    return searchCriteria.compiled().matchesTalk(session.description());
+  }
+
+  static boolean matchesSpeakerCompanies(SessionizeSpeakerDetails speaker, TalkSearchCriteria searchCriteria) {
+    return searchCriteria.compiled().matchesSpeakerCompany(speaker.bio());
+  }
+
+  private <T> void readArray(JsonParser parser, Class<T> elementType, Consumer<T> elementConsumer) throws IOException {
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return;
+    }
+
+    JsonToken token;
+
+    while (((token = parser.nextToken()) != null) && (token != JsonToken.END_ARRAY)) {
+      if (token == JsonToken.START_OBJECT) {
+        elementConsumer.accept(this.objectMapper.readValue(parser, elementType));
+      }
+      else {
+        parser.skipChildren();
+      }
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.redhat.cfpaggregator.client.sessionize;
+
+import java.io.InputStream;
+
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+
+/**
+ * The raw payload of the Sessionize {@code /view/All} endpoint, along with the {@link SessionizeEventParser} to parse
+ * it with. It is produced by the {@link SessionizePayloadReader}.
+ *
+ * @author Eric Deandrea
+ */
+public record SessionizePayload(InputStream payload, SessionizeEventParser parser) {
+  /**
+   * Parses the payload, keeping only the speakers and sessions matching the search criteria. It can only be parsed once.
+   */
+  public SessionizeEventDetails parse(TalkSearchCriteria searchCriteria) {
+    return this.parser.parse(this.payload, searchCriteria);
+  }
+}
@@ -0,0 +1,44 @@
+package com.redhat.cfpaggregator.client.sessionize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Hands the {@link SessionizeClient} the raw {@code /view/All} payload together with a parser, so the client doesn't
+ * need to look up an {@link ObjectMapper} itself. The payload isn't parsed here, as only the caller knows the search
+ * criteria to filter it with.
+ * <p>
+ * The REST client has already buffered the whole body by the time a reader sees it, and it owns the entity stream,
+ * so the payload is copied out rather than read once the client is done with the stream. That means the raw payload
+ * is held in memory while it is parsed: the streaming parse keeps the speakers and sessions that don't match from
+ * being bound, but peak heap is still proportional to the size of the payload.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+public class SessionizePayloadReader implements MessageBodyReader<SessionizePayload> {
+  private final SessionizeEventParser parser;
+
+  public SessionizePayloadReader(ObjectMapper objectMapper) {
+    this.parser = new SessionizeEventParser(objectMapper);
+  }
+
+  @Override
+  public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return type == SessionizePayload.class;
+  }
+
+  @Override
+  public SessionizePayload readFrom(Class<SessionizePayload> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+    return new SessionizePayload(new ByteArrayInputStream(entityStream.readAllBytes()), this.parser);
+  }
+}
@@ -1,5 +1,6 @@
 package com.redhat.cfpaggregator.config;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
@@ -24,7 +25,11 @@ import io.smallrye.config.WithName;
 public interface CfpPortalsConfig {
 
   /**
-   * Whether or not the application should reload all of its data on startup
+   * Whether or not the application should reload all of its data on startup.
+   * <p>
+   * If events have already been stored (i.e. when running with the {@code persistent} profile, which keeps the
+   * database in a file), the application starts with them straight away and reloads them in the background instead.
+   * </p>
    */
   @WithDefault("false")
   Boolean reloadOnStartup();
@@ -47,6 +52,78 @@ public interface CfpPortalsConfig {
   @WithDefault("1m")
   Duration timeout();
 
+  /**
+   * The end-to-end deadline for a search, split into per-portal and per-request budgets
+   */
+  Deadline deadline();
+
+  /**
+   * How the portal fetches are executed when searching
+   */
+  @WithDefault("event-loop")
+  ExecutionMode executionMode();
+
+  /**
+   * How the stored events are refreshed when searching
+   */
+  @WithDefault("recreate")
+  RefreshMode refreshMode();
+
+  /**
+   * Where searches are answered from
+   */
+  @WithDefault("upstream")
+  SearchMode searchMode();
+
+  /**
+   * The maximum number of requests a single portal fetch can have in flight at any one time
+   * (i.e. the number of keyword searches run concurrently against a portal)
+   */
+  @WithDefault("4")
+  int maxConcurrentRequestsPerPortal();
+
+  /**
+   * Whether clients should send conditional requests ({@code If-None-Match}/{@code If-Modified-Since})
+   * and re-use their previously downloaded payload when a portal answers {@code 304 Not Modified}
+   */
+  @WithDefault("true")
+  Boolean conditionalRequests();
+
+  /**
+   * Configuration for the on-disk cache of raw portal payloads
+   */
+  PayloadCache payloadCache();
+
+  /**
+   * Configuration for the rate limit & bulkhead applied to the requests sent to each host
+   */
+  HostLimits hostLimits();
+
+  /**
+   * Configuration for the HTTP connection pools used to talk to the portals
+   */
+  ConnectionPool connectionPool();
+
+  /**
+   * Configuration for the circuit breaker guarding each portal
+   */
+  CircuitBreaker circuitBreaker();
+
+  /**
+   * Configuration for retrying a failed portal fetch
+   */
+  Retry retry();
+
+  /**
+   * Configuration for the background refresh of each portal
+   */
+  Scheduler scheduler();
+
+  /**
+   * Configuration for snapshots of the aggregated data
+   */
+  Snapshot snapshot();
+
   /**
    * Retrieves the configuration for all defined portals.
    *
@@ -66,6 +143,15 @@ public interface CfpPortalsConfig {
   @Override
   String toString();
 
+  /**
+   * The budget for a single request to a portal: the {@link #timeout() timeout}, but never more than
+   * the {@link Deadline#portalBudget() per-portal budget}
+   */
+  default Duration requestTimeout() {
+    var portalBudget = deadline().portalBudget();
+    return (timeout().compareTo(portalBudget) > 0) ? portalBudget : timeout();
+  }
+
   /**
    * Retrieves the set of portal names from the configuration.
    *
@@ -79,6 +165,312 @@ public interface CfpPortalsConfig {
     return Collections.unmodifiableSet(portals().keySet());
   }
 
+  /**
+   * Configuration for the end-to-end deadline of a search.
+   * <p>
+   * All of the portals are fetched concurrently, each within its own budget. Any portal that hasn't finished
+   * when its budget runs out has its in-flight calls cancelled and keeps its previously fetched event, so a search
+   * never takes longer than the search deadline, no matter how many portals there are.
+   * </p>
+   */
+  interface Deadline {
+    /**
+     * The maximum amount of time a search can take
+     */
+    @WithDefault("90s")
+    Duration search();
+
+    /**
+     * The maximum amount of time fetching a single portal (including retries) can take. Can't be longer than the
+     * {@link #search() search deadline}, which it defaults to.
+     */
+    Optional<Duration> perPortal();
+
+    /**
+     * The budget for fetching a single portal
+     */
+    default Duration portalBudget() {
+      return perPortal()
+          .filter(perPortal -> perPortal.compareTo(search()) < 0)
+          .orElse(search());
+    }
+
+    @Override
+    String toString();
+  }
+
+  /**
+   * The ways that the stored events can be refreshed.
+   */
+  enum RefreshMode {
+    /**
+     * All of the stored events, speakers, and talks are deleted and then re-inserted
+     */
+    RECREATE,
+
+    /**
+     * The fetched events are compared with the stored ones and only the rows that differ are inserted, updated, or deleted
+     */
+    INCREMENTAL
+  }
+
+  /**
+   * The places that searches can be answered from.
+   */
+  enum SearchMode {
+    /**
+     * Each search fetches the matching talks and speakers from every portal and stores them
+     */
+    UPSTREAM,
+
+    /**
+     * Each portal's complete, unfiltered talks and speakers are stored on a schedule, and searches only query that stored data
+     */
+    LOCAL
+  }
+
+  /**
+   * The ways that the portal fetches can be executed.
+   */
+  enum ExecutionMode {
+    /**
+     * Each portal is fetched with non-blocking client calls on the Vert.x event loop
+     */
+    EVENT_LOOP,
+
+    /**
+     * Each portal is fetched with blocking client calls on its own virtual thread
+     */
+    VIRTUAL_THREADS
+  }
+
+  /**
+   * Configuration for the on-disk cache of raw portal payloads.
+   */
+  interface PayloadCache {
+    /**
+     * Whether raw portal payloads should be cached on local disk
+     */
+    @WithDefault("false")
+    Boolean enabled();
+
+    /**
+     * The directory the cached payloads are written to. In {@link ExecutionMode#EVENT_LOOP event-loop} mode the
+     * cache is read on the event loop, so this should be on local disk.
+     */
+    @WithDefault("${java.io.tmpdir}/cfp-aggregator/payload-cache")
+    String directory();
+
+    /**
+     * How long a cached payload is served without going back to the portal
+     */
+    @WithDefault("15m")
+    Duration ttl();
+
+    @Override
+    String toString();
+  }
+
+  /**
+   * Configuration for shaping the requests sent to a single host.
+   * <p>
+   * Many portals can live on the same host (i.e. every cfp.dev portal), so the limits are shared
+   * by all of the portals on a host rather than applied per portal.
+   * </p>
+   */
+  interface HostLimits {
+    /**
+     * Whether the requests sent to each host should be rate limited
+     */
+    @WithDefault("false")
+    Boolean enabled();
+
+    /**
+     * The sustained number of requests per second sent to a single host
+     */
+    @WithDefault("10")
+    double requestsPerSecond();
+
+    /**
+     * The number of requests that can be sent to a single host in a burst, above the sustained rate
+     */
+    @WithDefault("10")
+    int burst();
+
+    /**
+     * The maximum number of requests in flight to a single host at any one time
+     */
+    @WithDefault("8")
+    int maxConcurrentRequests();
+
+    /**
+     * How long a request waits to be sent before giving up
+     */
+    @WithDefault("30s")
+    Duration maxWait();
+
+    @Override
+    String toString();
+  }
+
+  /**
+   * Configuration for the HTTP connection pools used to talk to the portals.
+   * <p>
+   * Many portals can live on the same host (i.e. every cfp.dev portal), so by default all of the portal
+   * clients on a host share a single connection pool rather than each opening its own connections.
+   * </p>
+   */
+  interface ConnectionPool {
+    /**
+     * Whether the portal clients on the same host share a connection pool
+     */
+    @WithDefault("true")
+    Boolean sharedPerHost();
+
+    /**
+     * The maximum number of connections in each pool
+     */
+    @WithDefault("8")
+    int maxConnections();
+
+    /**
+     * Whether connections are kept alive between requests
+     */
+    @WithDefault("true")
+    Boolean keepAlive();
+
+    /**
+     * How long an idle connection is kept in the pool
+     */
+    @WithDefault("60s")
+    Duration connectionTtl();
+
+    /**
+     * Whether HTTP/2 is negotiated (via ALPN) with {@code https} portals that support it
+     */
+    @WithDefault("true")
+    Boolean http2();
+
+    @Override
+    String toString();
+  }
+
+  /**
+   * Configuration for the circuit breaker guarding each portal.
+   * <p>
+   * Once a portal has failed enough times in a row it is no longer called (and its previously fetched event is kept)
+   * until the breaker has been open for a while.
+   * </p>
+   */
+  interface CircuitBreaker {
+    /**
+     * Whether each portal should be guarded by a circuit breaker
+     */
+    @WithDefault("true")
+    Boolean enabled();
+
+    /**
+     * The number of consecutive failed fetches (after retries) that opens the breaker
+     */
+    @WithDefault("3")
+    int failureThreshold();
+
+    /**
+     * How long the breaker stays open before a trial fetch is let through
+     */
+    @WithDefault("5m")
+    Duration openDuration();
+
+    @Override
+    String toString();
+  }
+
+  /**
+   * Configuration for retrying a failed portal fetch with exponential, jittered back-off.
+   */
+  interface Retry {
+    /**
+     * The maximum number of times a failed fetch is retried. {@code 0} disables retries.
+     */
+    @WithDefault("2")
+    int maxRetries();
+
+    /**
+     * How long to wait before the first retry
+     */
+    @WithDefault("500ms")
+    Duration initialBackoff();
+
+    /**
+     * The longest to wait between retries
+     */
+    @WithDefault("5s")
+    Duration maxBackoff();
+
+    /**
+     * The jitter factor (between 0 and 1) applied to each back-off
+     */
+    @WithDefault("0.5")
+    double jitter();
+
+    @Override
+    String toString();
+  }
+
+  /**
+   * Configuration for the background scheduler that refreshes each portal on its own interval.
+   * <p>
+   * Portals whose CFP is open or whose event is coming up soon are refreshed often, while
+   * portals for events that are already over are refreshed rarely, if at all.
+   * </p>
+   */
+  interface Scheduler {
+    /**
+     * Whether portals should be refreshed in the background. They always are when the
+     * {@link CfpPortalsConfig#searchMode() search mode} is {@link SearchMode#LOCAL local}.
+     */
+    @WithDefault("false")
+    Boolean enabled();
+
+    /**
+     * How often the scheduler checks whether any portal is due for a refresh
+     */
+    @WithDefault("1m")
+    Duration tick();
+
+    /**
+     * How often a portal whose CFP is currently open is refreshed
+     */
+    @WithDefault("1h")
+    Duration openCfpInterval();
+
+    /**
+     * How often a portal whose event starts within the {@link #upcomingEventWindow() upcoming event window} is refreshed
+     */
+    @WithDefault("6h")
+    Duration upcomingEventInterval();
+
+    /**
+     * How far before an event starts it is considered upcoming
+     */
+    @WithDefault("30d")
+    Duration upcomingEventWindow();
+
+    /**
+     * How often any other portal with an event that isn't over yet is refreshed
+     */
+    @WithDefault("1d")
+    Duration defaultInterval();
+
+    /**
+     * How often a portal whose event is already over is refreshed. If not set, those portals aren't refreshed in the background.
+     */
+    Optional<Duration> pastEventInterval();
+
+    @Override
+    String toString();
+  }
+
   /**
    * Defines the default search criteria for the CFP portals configuration.
    */
@@ -93,6 +485,17 @@ public interface CfpPortalsConfig {
     String toString();
   }
 
+  /**
+   * Configuration for snapshots of the aggregated data. A snapshot is a compact binary file containing every portal,
+   * event, speaker, and talk, that can be restored into an empty database much faster than fetching everything again.
+   */
+  interface Snapshot {
+    /**
+     * The snapshot to restore on startup if there aren't any events stored yet. It is ignored if the file doesn't exist.
+     */
+    Optional<Path> restoreOnStartup();
+  }
+
   /**
    * The configuration for a single portal within the CFP configuration.
    *
@@ -345,7 +345,7 @@ public class Event {
       this.websiteUrl = event.websiteUrl;
       this.youTubeUrl = event.youTubeUrl;
       this.portal = event.portal;
-      this.speakers = event.speakers;
+      this.speakers = new ArrayList<>(event.speakers);
       this.cfpOpening = event.cfpOpening;
       this.cfpClosing = event.cfpClosing;
     }
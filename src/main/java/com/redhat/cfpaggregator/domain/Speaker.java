@@ -33,9 +33,14 @@ import jakarta.validation.constraints.NotNull;
 @Entity
 @Table(name = "speakers")
 public class Speaker {
+  /**
+   * How many ids each call to {@code speaker_seq} hands out. It has to match the sequence's increment.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "speaker_seq")
-  @SequenceGenerator(name = "speaker_seq", sequenceName = "speaker_seq", allocationSize = 1)
+  @SequenceGenerator(name = "speaker_seq", sequenceName = "speaker_seq", allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @NotNull(message = "event_speaker_id can not be null")
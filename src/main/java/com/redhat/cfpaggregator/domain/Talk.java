@@ -19,9 +19,14 @@ import jakarta.validation.constraints.NotNull;
 @Entity
 @Table(name = "talks")
 public class Talk {
+  /**
+   * How many ids each call to {@code talk_seq} hands out. It has to match the sequence's increment.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "talk_seq")
-  @SequenceGenerator(name = "talk_seq", sequenceName = "talk_seq", allocationSize = 1)
+  @SequenceGenerator(name = "talk_seq", sequenceName = "talk_seq", allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @NotNull(message = "event_talk_id can not be null")
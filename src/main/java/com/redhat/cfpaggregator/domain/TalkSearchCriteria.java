@@ -1,11 +1,14 @@
 package com.redhat.cfpaggregator.domain;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
+import com.redhat.cfpaggregator.search.CompiledSearchCriteria;
+
 /**
  * Search criteria for searching an event for speakers from a set of companies and
  * talks with certain keywords.
@@ -13,16 +16,21 @@ import java.util.Set;
  * @author Eric Deandrea
  */
 public final class TalkSearchCriteria {
-  private final Set<String> talkKeywords = new LinkedHashSet<>();
-  private final Set<String> speakerCompanies = new LinkedHashSet<>();
+  private final Set<String> talkKeywords;
+  private final Set<String> speakerCompanies;
+
+  // Compiled once here so every portal searched with these criteria shares it
+  private final CompiledSearchCriteria compiled;
 
   private TalkSearchCriteria() {
     // Private constructor to enforce builder usage
+    this(new Builder());
   }
 
   private TalkSearchCriteria(Builder builder) {
-    this.talkKeywords.addAll(builder.talkKeywords);
-    this.speakerCompanies.addAll(builder.speakerCompanies);
+    this.talkKeywords = Collections.unmodifiableSet(new LinkedHashSet<>(builder.talkKeywords));
+    this.speakerCompanies = Collections.unmodifiableSet(new LinkedHashSet<>(builder.speakerCompanies));
+    this.compiled = CompiledSearchCriteria.compile(this);
   }
 
   public boolean hasTalkKeywords() {
@@ -34,11 +42,18 @@ public final class TalkSearchCriteria {
   }
 
   public Collection<String> getTalkKeywords() {
-    return Set.copyOf(talkKeywords);
+    return this.talkKeywords;
   }
 
   public Collection<String> getSpeakerCompanies() {
-    return Set.copyOf(speakerCompanies);
+    return this.speakerCompanies;
+  }
+
+  /**
+   * The criteria compiled into case-insensitive matchers, for filtering talks and speakers
+   */
+  public CompiledSearchCriteria compiled() {
+    return this.compiled;
   }
 
   public static Builder builder() {
@@ -0,0 +1,285 @@
+package com.redhat.cfpaggregator.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import org.hibernate.Session;
+
+import io.quarkus.logging.Log;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+
+/**
+ * Inserts whole events, along with their speakers and talks, straight through JDBC.
+ * <p>
+ * Persisting an event through the entities inserts every speaker, talk, and speaker/talk link one statement at a
+ * time. This inserts each table with batched statements instead, and allocates the speaker and talk ids a block at
+ * a time from their sequences, the same way Hibernate's pooled-lo optimizer does, so ids never clash with the ones
+ * Hibernate hands out.
+ * </p>
+ * <p>
+ * The events' portals have to be stored already, and they can't have an event stored yet. The events aren't
+ * managed afterwards, but their speakers and talks have their ids.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+@ApplicationScoped
+@Transactional
+public class EventBulkWriter {
+  private static final int BATCH_SIZE = 1_000;
+
+  private final EntityManager entityManager;
+
+  public EventBulkWriter(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * Inserts the events, along with their speakers and talks
+   *
+   * @param events The events to insert
+   * @return How many rows were inserted, and how quickly
+   */
+  public InsertedRows insert(Collection<Event> events) {
+    if (events.isEmpty()) {
+      return InsertedRows.NONE;
+    }
+
+    var start = System.nanoTime();
+
+    // Anything Hibernate still has pending has to reach the database before rows are inserted underneath it
+    this.entityManager.flush();
+
+    var insertedRows = this.entityManager.unwrap(Session.class)
+        .doReturningWork(connection -> insert(connection, events))
+        .withDuration(Duration.ofNanos(System.nanoTime() - start));
+
+    Log.debugf("Inserted %s", insertedRows);
+    return insertedRows;
+  }
+
+  private static InsertedRows insert(Connection connection, Collection<Event> events) throws SQLException {
+    // Speakers listed more than once (once for each of their talks, say) are only inserted once
+    var speakers = new IdentityHashMap<Speaker, Event>();
+    events.forEach(event -> event.getSpeakers().forEach(speaker -> speakers.putIfAbsent(speaker, event)));
+
+    // Talks with more than one speaker are only inserted once
+    var talks = new IdentityHashMap<Talk, Long>();
+    speakers.keySet().forEach(speaker -> speaker.getTalks().forEach(talk -> talks.put(talk, null)));
+
+    var speakerIds = allocateIds(connection, "speaker_seq", Speaker.ID_ALLOCATION_SIZE, speakers.size());
+    var talkIds = allocateIds(connection, "talk_seq", Talk.ID_ALLOCATION_SIZE, talks.size());
+
+    try (var insert = connection.prepareStatement(
+        "INSERT INTO events (portal_name, name, description, flickr_url, website_url, you_tube_url, time_zone, from_date, to_date, cfp_opening, cfp_closing) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+      var batch = new Batch(insert);
+
+      for (var event : events) {
+        insert.setString(1, portalName(event));
+        insert.setString(2, event.getName());
+        insert.setString(3, event.getDescription());
+        insert.setString(4, event.getFlickrUrl());
+        insert.setString(5, event.getWebsiteUrl());
+        insert.setString(6, event.getYouTubeUrl());
+        insert.setString(7, event.getTimeZone());
+        setInstant(insert, 8, event.getFromDate());
+        setInstant(insert, 9, event.getToDate());
+        setInstant(insert, 10, event.getCfpOpening());
+        setInstant(insert, 11, event.getCfpClosing());
+        batch.add();
+      }
+
+      batch.execute();
+    }
+
+    try (var insert = connection.prepareStatement(
+        "INSERT INTO speakers (id, event_portal_name, event_speaker_id, first_name, last_name, company, country_name, bio, image_url, twitter_handle, linked_in_username, bluesky_username) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+      var batch = new Batch(insert);
+      var i = 0;
+
+      for (var entry : speakers.entrySet()) {
+        var speaker = entry.getKey();
+        speaker.setId(speakerIds[i++]);
+        insert.setLong(1, speaker.getId());
+        insert.setString(2, portalName(entry.getValue()));
+        insert.setString(3, speaker.getEventSpeakerId());
+        insert.setString(4, speaker.getFirstName());
+        insert.setString(5, speaker.getLastName());
+        insert.setString(6, speaker.getCompany());
+        insert.setString(7, speaker.getCountryName());
+        insert.setString(8, speaker.getBio());
+        insert.setString(9, speaker.getImageUrl());
+        insert.setString(10, speaker.getTwitterHandle());
+        insert.setString(11, speaker.getLinkedInUsername());
+        insert.setString(12, speaker.getBlueskyUsername());
+        batch.add();
+      }
+
+      batch.execute();
+    }
+
+    try (var insert = connection.prepareStatement("INSERT INTO talks (id, event_talk_id, title, summary, description, video_url) VALUES (?, ?, ?, ?, ?, ?)")) {
+      var batch = new Batch(insert);
+      var i = 0;
+
+      for (var talk : talks.keySet()) {
+        talk.setId(talkIds[i++]);
+        insert.setLong(1, talk.getId());
+        insert.setString(2, talk.getEventTalkId());
+        insert.setString(3, talk.getTitle());
+        insert.setString(4, talk.getSummary());
+        insert.setString(5, talk.getDescription());
+        insert.setString(6, talk.getVideoUrl());
+        batch.add();
+      }
+
+      batch.execute();
+    }
+
+    var links = 0;
+
+    try (var insert = connection.prepareStatement("INSERT INTO speaker_talks (speaker_id, talk_id) VALUES (?, ?)")) {
+      var batch = new Batch(insert);
+
+      for (var speaker : speakers.keySet()) {
+        for (var talk : speaker.getTalks()) {
+          insert.setLong(1, speaker.getId());
+          insert.setLong(2, talk.getId());
+          batch.add();
+          links++;
+        }
+      }
+
+      batch.execute();
+    }
+
+    return new InsertedRows(events.size(), speakers.size(), talks.size(), links, Duration.ZERO);
+  }
+
+  /**
+   * Allocates ids from a sequence in a single round trip. Each value the sequence hands out is the first of a block
+   * of {@code allocationSize} ids, which is what Hibernate's pooled-lo optimizer assumes too.
+   */
+  private static long[] allocateIds(Connection connection, String sequence, int allocationSize, int count) throws SQLException {
+    var ids = new long[count];
+
+    if (count == 0) {
+      return ids;
+    }
+
+    try (var select = connection.prepareStatement("SELECT NEXT VALUE FOR %s FROM SYSTEM_RANGE(1, ?)".formatted(sequence))) {
+      select.setInt(1, (count + allocationSize - 1) / allocationSize);
+
+      try (var blocks = select.executeQuery()) {
+        var i = 0;
+
+        while (blocks.next()) {
+          var first = blocks.getLong(1);
+
+          for (var offset = 0; (offset < allocationSize) && (i < count); offset++) {
+            ids[i++] = first + offset;
+          }
+        }
+
+        if (i < count) {
+          throw new IllegalStateException("Only %d of %d ids could be allocated from %s".formatted(i, count, sequence));
+        }
+      }
+    }
+
+    return ids;
+  }
+
+  private static String portalName(Event event) {
+    return (event.getPortal() != null) ? event.getPortal().getPortalName() : event.getPortalName();
+  }
+
+  private static void setInstant(PreparedStatement statement, int index, Instant instant) throws SQLException {
+    if (instant != null) {
+      statement.setObject(index, instant.atOffset(ZoneOffset.UTC), Types.TIMESTAMP_WITH_TIMEZONE);
+    }
+    else {
+      statement.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+    }
+  }
+
+  /**
+   * How many rows an insert wrote, and how long it took
+   */
+  public record InsertedRows(int events, int speakers, int talks, int speakerTalks, Duration duration) {
+    static final InsertedRows NONE = new InsertedRows(0, 0, 0, 0, Duration.ZERO);
+
+    public int total() {
+      return this.events + this.speakers + this.talks + this.speakerTalks;
+    }
+
+    public double rowsPerSecond() {
+      var nanos = this.duration.toNanos();
+      return (nanos > 0) ? (total() * 1_000_000_000D / nanos) : 0;
+    }
+
+    InsertedRows withDuration(Duration duration) {
+      return new InsertedRows(this.events, this.speakers, this.talks, this.speakerTalks, duration);
+    }
+
+    @Override
+    public String toString() {
+      return "%d rows (%d events, %d speakers, %d talks, %d speaker talks) in %d ms (%.0f rows/s)".formatted(
+          total(),
+          this.events,
+          this.speakers,
+          this.talks,
+          this.speakerTalks,
+          this.duration.toMillis(),
+          rowsPerSecond()
+      );
+    }
+  }
+
+  /**
+   * Sends the rows added to a statement to the database {@value #BATCH_SIZE} at a time
+   */
+  private static final class Batch {
+    private final PreparedStatement statement;
+    private int size;
+
+    private Batch(PreparedStatement statement) {
+      this.statement = statement;
+    }
+
+    private void add() throws SQLException {
+      this.statement.addBatch();
+
+      if (++this.size == BATCH_SIZE) {
+        execute();
+      }
+    }
+
+    private void execute() throws SQLException {
+      if (this.size > 0) {
+        this.statement.executeBatch();
+        this.size = 0;
+      }
+    }
+  }
+}
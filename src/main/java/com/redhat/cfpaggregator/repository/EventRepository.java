@@ -1,6 +1,12 @@
 package com.redhat.cfpaggregator.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
@@ -27,7 +33,42 @@ import com.redhat.cfpaggregator.domain.Talk;
 @ApplicationScoped
 @Transactional
 public class EventRepository implements PanacheRepositoryBase<Event, String> {
-  private record PortalEntity(Portal portal) {};
+  /**
+   * Lists every {@link Event}, along with its {@link Portal}, {@link Speaker}s, and their {@link Talk}s, in two
+   * queries however many events there are.
+   * <p>
+   * The speakers and their talks are both lists, so they can't be fetched by the same query. The second query
+   * fetches every speaker's talks into the speakers the first one loaded.
+   * </p>
+   */
+  public List<Event> listAllFullyPopulated() {
+    var events = find("FROM Event e LEFT JOIN FETCH e.portal LEFT JOIN FETCH e.speakers").list();
+
+    if (!events.isEmpty()) {
+      getEntityManager()
+          .createQuery("FROM Speaker s LEFT JOIN FETCH s.talks", Speaker.class)
+          .getResultList();
+    }
+
+    return events;
+  }
+
+  /**
+   * Finds a single portal's {@link Event}, along with its {@link Portal}, {@link Speaker}s, and their {@link Talk}s,
+   * the same way {@link #listAllFullyPopulated()} does for every event.
+   */
+  public Optional<Event> findByIdFullyPopulated(String portalName) {
+    var event = find("FROM Event e LEFT JOIN FETCH e.portal LEFT JOIN FETCH e.speakers WHERE e.portalName = ?1", portalName).firstResultOptional();
+
+    event.ifPresent(e ->
+        getEntityManager()
+            .createQuery("FROM Speaker s LEFT JOIN FETCH s.talks WHERE s.event.portalName = :portalName", Speaker.class)
+            .setParameter("portalName", portalName)
+            .getResultList()
+    );
+
+    return event;
+  }
 
   /**
    * Deletes all {@link Event} entities from the repository and cascades the operation
@@ -35,19 +76,76 @@ public class EventRepository implements PanacheRepositoryBase<Event, String> {
    *
    * It is recommended to use this method in scenarios where all events and their
    * associated data need to be removed.
+   * <p>
+   * Each table is emptied with a single statement, without loading anything. Whatever is in the persistence
+   * context is flushed and then detached, because it may not exist anymore.
+   * </p>
+   * <p>
+   * <strong>Every entity loaded earlier in the transaction is detached afterwards</strong>, whether it was deleted or
+   * not. Changes made to them afterwards aren't saved, and their lazy associations can't be loaded, so callers have
+   * to load whatever they still need again.
+   * </p>
    */
   public void deleteAllWithCascade() {
-    if (count() > 0) {
-      findAll()
-          .project(PortalEntity.class)
-          .list()
-          .stream()
-          .forEach(portal -> {
-            portal.portal().setEvent(null);
-            deleteById(portal.portal().getPortalName());
-          });
-
-      flush();
+    var entityManager = prepareForBulkDelete();
+
+    // Children first, so no foreign key is ever violated
+    Stream.of("speaker_talks", "talks", "speakers", "events")
+        .forEach(table -> entityManager.createNativeQuery("DELETE FROM " + table).executeUpdate());
+  }
+
+  /**
+   * Deletes the {@link Event} entities for the given portals and cascades the operation
+   * to related entities such as {@link Speaker} and {@link Talk}.
+   * <p>
+   * A handful of statements delete the rows for all the portals at once, without loading anything. Whatever is in
+   * the persistence context is flushed and then detached, because it may not exist anymore. Only talks that belonged
+   * to the portals' speakers are deleted, so other portals' talks are never touched, even ones that aren't linked to
+   * a speaker yet because another transaction is still storing them.
+   * </p>
+   * <p>
+   * <strong>Every entity loaded earlier in the transaction is detached afterwards</strong>, including those of other
+   * portals. Changes made to them afterwards aren't saved, and their lazy associations can't be loaded, so callers
+   * have to load whatever they still need again.
+   * </p>
+   *
+   * @param portalNames The names of the portals whose events should be deleted
+   */
+  public void deleteWithCascade(Collection<String> portalNames) {
+    if (!portalNames.isEmpty()) {
+      var entityManager = prepareForBulkDelete();
+
+      // The talks don't reference their event, so the only way to find them is through the portals' speakers
+      var talkIds = entityManager.createNativeQuery("SELECT DISTINCT st.talk_id FROM speaker_talks st JOIN speakers s ON s.id = st.speaker_id WHERE s.event_portal_name IN (:portalNames)")
+          .setParameter("portalNames", portalNames)
+          .getResultList();
+
+      entityManager.createNativeQuery("DELETE FROM speaker_talks WHERE speaker_id IN (SELECT id FROM speakers WHERE event_portal_name IN (:portalNames))")
+          .setParameter("portalNames", portalNames)
+          .executeUpdate();
+
+      // Those talks go, unless a speaker of some other portal is still linked to them
+      if (!talkIds.isEmpty()) {
+        entityManager.createNativeQuery("DELETE FROM talks t WHERE t.id IN (:talkIds) AND NOT EXISTS (SELECT 1 FROM speaker_talks st WHERE st.talk_id = t.id)")
+            .setParameter("talkIds", talkIds)
+            .executeUpdate();
+      }
+
+      entityManager.createNativeQuery("DELETE FROM speakers WHERE event_portal_name IN (:portalNames)")
+          .setParameter("portalNames", portalNames)
+          .executeUpdate();
+
+      entityManager.createNativeQuery("DELETE FROM events WHERE portal_name IN (:portalNames)")
+          .setParameter("portalNames", portalNames)
+          .executeUpdate();
     }
   }
+
+  private EntityManager prepareForBulkDelete() {
+    var entityManager = getEntityManager();
+    entityManager.flush();
+    entityManager.clear();
+
+    return entityManager;
+  }
 }
@@ -1,4 +0,0 @@
-package com.redhat.cfpaggregator.repository;
-
-record PortalName(String portalName) {
-}
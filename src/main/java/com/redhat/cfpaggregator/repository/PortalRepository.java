@@ -1,5 +1,7 @@
 package com.redhat.cfpaggregator.repository;
 
+import java.util.Collection;
+
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
 
@@ -13,6 +15,12 @@ import com.redhat.cfpaggregator.domain.Talk;
 @ApplicationScoped
 @Transactional
 public class PortalRepository implements PanacheRepositoryBase<Portal, String> {
+  private final EventRepository eventRepository;
+
+  public PortalRepository(EventRepository eventRepository) {
+    this.eventRepository = eventRepository;
+  }
+
   public Portal updatePortal(Portal updatedPortal) {
     var portal = findById(updatedPortal.getPortalName());
     portal.setEvent(portal.getEvent());
@@ -25,22 +33,38 @@ public class PortalRepository implements PanacheRepositoryBase<Portal, String> {
   }
 
   /**
-   * Deletes all {@link Event} entities from the repository and cascades the operation
-   * to related entities such as {@link Speaker} and {@link Talk}.
+   * Deletes all {@link Portal} entities from the repository and cascades the operation
+   * to their {@link Event}s and related entities such as {@link Speaker} and {@link Talk}.
    *
    * It is recommended to use this method in scenarios where all events and their
    * associated data need to be removed.
+   * <p>
+   * Every entity loaded earlier in the transaction is detached afterwards, see
+   * {@link EventRepository#deleteAllWithCascade()}.
+   * </p>
+   *
+   * @see EventRepository#deleteAllWithCascade()
    */
   public void deleteAllWithCascade() {
-    if (count() > 0) {
-      findAll()
-          .project(PortalName.class)
-          .list()
-          .stream()
-          .map(PortalName::portalName)
-          .forEach(this::deleteById);
-
-      flush();
+    this.eventRepository.deleteAllWithCascade();
+    deleteAll();
+  }
+
+  /**
+   * Deletes the given portals and cascades the operation to their {@link Event}s
+   * and related entities such as {@link Speaker} and {@link Talk}.
+   * <p>
+   * Every entity loaded earlier in the transaction is detached afterwards, see
+   * {@link EventRepository#deleteWithCascade(Collection)}.
+   * </p>
+   *
+   * @param portalNames The names of the portals to delete
+   * @see EventRepository#deleteWithCascade(Collection)
+   */
+  public void deleteWithCascade(Collection<String> portalNames) {
+    if (!portalNames.isEmpty()) {
+      this.eventRepository.deleteWithCascade(portalNames);
+      delete("portalName in ?1", portalNames);
     }
   }
 }
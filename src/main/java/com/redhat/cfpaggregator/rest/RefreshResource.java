@@ -0,0 +1,140 @@
+package com.redhat.cfpaggregator.rest;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+import com.redhat.cfpaggregator.config.CfpPortalsConfig;
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+import com.redhat.cfpaggregator.mapping.TalkSearchCriteriaMapper;
+import com.redhat.cfpaggregator.service.CfpService;
+import com.redhat.cfpaggregator.service.PortalRefreshResult;
+import com.redhat.cfpaggregator.service.RefreshChanges;
+
+/**
+ * Starts a refresh of the events and streams its progress as server-sent events.
+ * <p>
+ * A {@code refresh-started} event is sent first, then a {@code portal-refreshed} event as each portal
+ * is fetched, parsed, and stored (with how long each of those took), and finally a {@code refresh-completed} event.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+@Path("/refresh")
+public class RefreshResource {
+  private final CfpService cfpService;
+  private final CfpPortalsConfig config;
+  private final TalkSearchCriteriaMapper talkSearchCriteriaMapper;
+
+  public RefreshResource(CfpService cfpService, CfpPortalsConfig config, TalkSearchCriteriaMapper talkSearchCriteriaMapper) {
+    this.cfpService = cfpService;
+    this.config = config;
+    this.talkSearchCriteriaMapper = talkSearchCriteriaMapper;
+  }
+
+  /**
+   * Refreshes the events. If no talk keywords or companies are given the default search criteria are used.
+   */
+  @POST
+  @Blocking
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  public Multi<OutboundSseEvent> refresh(@QueryParam("talkKeyword") List<String> talkKeywords, @QueryParam("company") List<String> companies, @Context Sse sse) {
+    var searchCriteria = createSearchCriteria(talkKeywords, companies);
+    var portalNames = this.cfpService.getPortals()
+        .stream()
+        .map(Portal::getPortalName)
+        .toList();
+
+    var start = System.nanoTime();
+    var refreshed = new AtomicInteger();
+    var notRefreshed = new AtomicInteger();
+
+    var started = Multi.createFrom().item(() ->
+        event(sse, "refresh-started", new RefreshStarted(portalNames, searchCriteria.getTalkKeywords(), searchCriteria.getSpeakerCompanies()))
+    );
+
+    var progress = this.cfpService.refreshEventsProgressively(searchCriteria)
+        .invoke(result -> (result.isRefreshed() ? refreshed : notRefreshed).incrementAndGet())
+        .map(result -> event(sse, "portal-refreshed", PortalRefreshed.from(result)));
+
+    var completed = Multi.createFrom().item(() ->
+        event(sse, "refresh-completed", new RefreshCompleted(Duration.ofNanos(System.nanoTime() - start).toMillis(), refreshed.get(), notRefreshed.get()))
+    );
+
+    return Multi.createBy().concatenating()
+        .streams(started, progress, completed)
+        .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+  }
+
+  private TalkSearchCriteria createSearchCriteria(List<String> talkKeywords, List<String> companies) {
+    var keywords = Optional.ofNullable(talkKeywords).orElseGet(List::of);
+    var speakerCompanies = Optional.ofNullable(companies).orElseGet(List::of);
+
+    if (keywords.isEmpty() && speakerCompanies.isEmpty()) {
+      return this.talkSearchCriteriaMapper.fromConfig(this.config.defaultSearchCriteria());
+    }
+
+    return TalkSearchCriteria.builder()
+        .talkKeywords(keywords)
+        .speakerCompanies(speakerCompanies)
+        .build();
+  }
+
+  private static OutboundSseEvent event(Sse sse, String name, Object data) {
+    return sse.newEventBuilder()
+        .name(name)
+        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+        .data(data)
+        .build();
+  }
+
+  public record RefreshStarted(List<String> portals, Collection<String> talkKeywords, Collection<String> companies) {
+  }
+
+  public record PortalRefreshed(
+      String portalName,
+      PortalRefreshResult.Status status,
+      long fetchMillis,
+      long parseMillis,
+      Long storeMillis,
+      long bytesReceived,
+      int speakerCount,
+      int talkCount,
+      String error,
+      RefreshChanges changes
+  ) {
+    static PortalRefreshed from(PortalRefreshResult result) {
+      return new PortalRefreshed(
+          result.portalName(),
+          result.status(),
+          result.fetchDuration().toMillis(),
+          result.parseDuration().toMillis(),
+          result.storeDuration().map(Duration::toMillis).orElse(null),
+          result.bytesReceived(),
+          result.speakerCount(),
+          result.talkCount(),
+          result.error().orElse(null),
+          result.changes().orElse(null)
+      );
+    }
+  }
+
+  public record RefreshCompleted(long durationMillis, int refreshed, int notRefreshed) {
+  }
+}
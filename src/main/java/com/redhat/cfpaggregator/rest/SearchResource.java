@@ -0,0 +1,59 @@
+package com.redhat.cfpaggregator.rest;
+
+import java.util.List;
+import java.util.Set;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+
+import com.redhat.cfpaggregator.search.TalkSearchFilter;
+import com.redhat.cfpaggregator.search.TalkSearchIndex.TalkSearchHit;
+import com.redhat.cfpaggregator.service.CfpService;
+
+/**
+ * Full-text search over the stored talks, ranked by relevance.
+ * <p>
+ * The query ({@code q}) is made up of words, {@code "quoted phrases"}, and {@code prefixes*}, and is matched
+ * against each talk's title, summary, and description, as well as its speakers' companies and bios.
+ * </p>
+ * <p>
+ * The talks can also be filtered on their {@code portal}, their speakers' {@code company}, and whether their
+ * event's CFP is open ({@code openCfp}). For example {@code /search?q=kubernetes&company=Red Hat&openCfp=true}.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+@Path("/search")
+public class SearchResource {
+  static final int MAX_LIMIT = 500;
+
+  private final CfpService cfpService;
+
+  public SearchResource(CfpService cfpService) {
+    this.cfpService = cfpService;
+  }
+
+  /**
+   * Finds the talks best matching the query, best match first
+   */
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<TalkSearchHit> search(
+      @QueryParam("q") String query,
+      @QueryParam("portal") Set<String> portalNames,
+      @QueryParam("company") Set<String> companies,
+      @QueryParam("openCfp") boolean openCfpOnly,
+      @QueryParam("limit") @DefaultValue("20") int limit) {
+
+    if ((limit < 1) || (limit > MAX_LIMIT)) {
+      throw new BadRequestException("limit must be between 1 and %d".formatted(MAX_LIMIT));
+    }
+
+    return this.cfpService.searchTalks(query, new TalkSearchFilter(portalNames, companies, openCfpOnly), limit);
+  }
+}
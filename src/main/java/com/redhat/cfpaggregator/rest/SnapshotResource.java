@@ -0,0 +1,57 @@
+package com.redhat.cfpaggregator.rest;
+
+import java.io.InputStream;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import com.redhat.cfpaggregator.service.CfpService;
+import com.redhat.cfpaggregator.snapshot.SnapshotContents;
+import com.redhat.cfpaggregator.snapshot.SnapshotException;
+
+/**
+ * Downloads a snapshot of everything that is stored, and replaces everything that is stored with an uploaded one.
+ * <p>
+ * A downloaded snapshot can be restored on startup with {@code cfps.snapshot.restore-on-startup}.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+@Path("/snapshot")
+public class SnapshotResource {
+  private final CfpService cfpService;
+
+  public SnapshotResource(CfpService cfpService) {
+    this.cfpService = cfpService;
+  }
+
+  @GET
+  @Produces(MediaType.APPLICATION_OCTET_STREAM)
+  public Response download() {
+    StreamingOutput snapshot = this.cfpService::writeSnapshot;
+
+    return Response.ok(snapshot, MediaType.APPLICATION_OCTET_STREAM)
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cfps.snapshot\"")
+        .build();
+  }
+
+  @PUT
+  @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+  @Produces(MediaType.APPLICATION_JSON)
+  public SnapshotContents restore(InputStream snapshot) {
+    try {
+      return this.cfpService.restoreSnapshot(snapshot);
+    }
+    catch (SnapshotException e) {
+      throw new BadRequestException(e.getMessage(), e);
+    }
+  }
+}
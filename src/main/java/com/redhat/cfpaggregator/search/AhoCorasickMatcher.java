@@ -0,0 +1,224 @@
+package com.redhat.cfpaggregator.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Finds any of a set of patterns in a text in a single pass over the text, using the Aho-Corasick algorithm.
+ * <p>
+ * The patterns are compiled once into an automaton. Scanning a text is then linear in the length of the text,
+ * no matter how many patterns there are, rather than checking every pattern against the text one at a time.
+ * Instances are immutable and thread-safe, so one matcher can be shared by every portal being searched.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+public final class AhoCorasickMatcher {
+  private static final AhoCorasickMatcher EMPTY = new AhoCorasickMatcher(List.of(), false);
+  private static final int ROOT = 0;
+
+  private final List<String> patterns;
+  private final boolean ignoreCase;
+
+  // The transitions out of each state, sorted by character so they can be binary searched
+  private final char[][] transitionChars;
+  private final int[][] transitionTargets;
+  private final int[] failure;
+
+  // Whether some pattern ends at each state, either directly or by following its failure links
+  private final boolean[] terminal;
+
+  private AhoCorasickMatcher(List<String> patterns, boolean ignoreCase) {
+    this.patterns = patterns;
+    this.ignoreCase = ignoreCase;
+
+    // Build the trie
+    var transitions = new ArrayList<TreeMap<Character, Integer>>();
+    var terminals = new ArrayList<Boolean>();
+    transitions.add(new TreeMap<>());
+    terminals.add(false);
+
+    for (var pattern : patterns) {
+      var state = ROOT;
+
+      for (var c : pattern.toCharArray()) {
+        var next = transitions.get(state).get(c);
+
+        if (next == null) {
+          next = transitions.size();
+          transitions.add(new TreeMap<>());
+          terminals.add(false);
+          transitions.get(state).put(c, next);
+        }
+
+        state = next;
+      }
+
+      terminals.set(state, true);
+    }
+
+    var stateCount = transitions.size();
+    this.transitionChars = new char[stateCount][];
+    this.transitionTargets = new int[stateCount][];
+    this.failure = new int[stateCount];
+    this.terminal = new boolean[stateCount];
+
+    for (var state = 0; state < stateCount; state++) {
+      this.terminal[state] = terminals.get(state);
+      var stateTransitions = transitions.get(state);
+      this.transitionChars[state] = new char[stateTransitions.size()];
+      this.transitionTargets[state] = new int[stateTransitions.size()];
+
+      var i = 0;
+      for (var entry : stateTransitions.entrySet()) {
+        this.transitionChars[state][i] = entry.getKey();
+        this.transitionTargets[state][i++] = entry.getValue();
+      }
+    }
+
+    // Breadth first, so a state's failure target is always resolved before the state itself
+    var queue = new ArrayDeque<Integer>();
+
+    for (var child : this.transitionTargets[ROOT]) {
+      this.failure[child] = ROOT;
+      queue.add(child);
+    }
+
+    while (!queue.isEmpty()) {
+      var state = queue.poll();
+
+      for (var i = 0; i < this.transitionChars[state].length; i++) {
+        var c = this.transitionChars[state][i];
+        var child = this.transitionTargets[state][i];
+        var fallback = this.failure[state];
+
+        while ((fallback != ROOT) && (transition(fallback, c) == -1)) {
+          fallback = this.failure[fallback];
+        }
+
+        var fallbackTarget = transition(fallback, c);
+        this.failure[child] = ((fallbackTarget != -1) && (fallbackTarget != child)) ? fallbackTarget : ROOT;
+
+        // A state also matches whatever its failure state matches (i.e. "hat" inside "red hat")
+        this.terminal[child] |= this.terminal[this.failure[child]];
+
+        queue.add(child);
+      }
+    }
+  }
+
+  /**
+   * Compiles the patterns into a matcher. {@code null} and empty patterns are ignored.
+   */
+  public static AhoCorasickMatcher of(Collection<String> patterns) {
+    return of(patterns, false);
+  }
+
+  /**
+   * Compiles the patterns into a matcher that ignores case, both in the patterns and in the text being scanned.
+   * {@code null} and empty patterns are ignored.
+   */
+  public static AhoCorasickMatcher ofIgnoreCase(Collection<String> patterns) {
+    return of(patterns, true);
+  }
+
+  private static AhoCorasickMatcher of(Collection<String> patterns, boolean ignoreCase) {
+    var distinctPatterns = new LinkedHashSet<String>();
+
+    if (patterns != null) {
+      patterns.stream()
+          .filter(Objects::nonNull)
+          .filter(pattern -> !pattern.isEmpty())
+          .map(pattern -> ignoreCase ? foldCase(pattern) : pattern)
+          .forEach(distinctPatterns::add);
+    }
+
+    return distinctPatterns.isEmpty() ? EMPTY : new AhoCorasickMatcher(List.copyOf(distinctPatterns), ignoreCase);
+  }
+
+  /**
+   * Compiles the patterns into a matcher. {@code null} and empty patterns are ignored.
+   */
+  public static AhoCorasickMatcher of(String... patterns) {
+    return of((patterns != null) ? Arrays.asList(patterns) : List.of());
+  }
+
+  /**
+   * Whether there aren't any patterns, in which case nothing matches
+   */
+  public boolean isEmpty() {
+    return this.patterns.isEmpty();
+  }
+
+  public boolean isIgnoreCase() {
+    return this.ignoreCase;
+  }
+
+  /**
+   * The distinct patterns, case folded if this matcher ignores case
+   */
+  public List<String> getPatterns() {
+    return this.patterns;
+  }
+
+  /**
+   * Whether any of the patterns occur anywhere in the text. Stops scanning at the first match.
+   */
+  public boolean matchesAny(CharSequence text) {
+    if ((text == null) || isEmpty()) {
+      return false;
+    }
+
+    var state = ROOT;
+
+    for (var i = 0; i < text.length(); i++) {
+      state = next(state, this.ignoreCase ? foldCase(text.charAt(i)) : text.charAt(i));
+
+      if (this.terminal[state]) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private int next(int state, char c) {
+    var target = transition(state, c);
+
+    while ((target == -1) && (state != ROOT)) {
+      state = this.failure[state];
+      target = transition(state, c);
+    }
+
+    return (target == -1) ? ROOT : target;
+  }
+
+  private int transition(int state, char c) {
+    var index = Arrays.binarySearch(this.transitionChars[state], c);
+    return (index >= 0) ? this.transitionTargets[state][index] : -1;
+  }
+
+  /**
+   * Folds the case of a string the same way the text is folded while scanning, one {@code char} at a time
+   */
+  public static String foldCase(String text) {
+    var folded = new char[text.length()];
+
+    for (var i = 0; i < folded.length; i++) {
+      folded[i] = foldCase(text.charAt(i));
+    }
+
+    return new String(folded);
+  }
+
+  // The same per-character folding String.equalsIgnoreCase uses
+  static char foldCase(char c) {
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
+}
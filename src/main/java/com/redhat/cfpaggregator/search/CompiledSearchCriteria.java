@@ -0,0 +1,123 @@
+package com.redhat.cfpaggregator.search;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+
+/**
+ * {@link TalkSearchCriteria} compiled once per search into a form every portal client can filter with.
+ * <p>
+ * The talk keywords and speaker companies are stripped, case folded, and de-duplicated up front, then compiled into
+ * {@link AhoCorasickMatcher}s. Checking a talk or a speaker against the criteria doesn't allocate anything.
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+public final class CompiledSearchCriteria {
+  private static final CompiledSearchCriteria MATCH_ALL = new CompiledSearchCriteria(List.of(), List.of());
+
+  private final AhoCorasickMatcher talkKeywordMatcher;
+  private final AhoCorasickMatcher speakerCompanyMatcher;
+  private final Set<String> speakerCompanyNames;
+
+  private CompiledSearchCriteria(Collection<String> talkKeywords, Collection<String> speakerCompanies) {
+    var companies = normalize(speakerCompanies);
+
+    this.talkKeywordMatcher = AhoCorasickMatcher.ofIgnoreCase(normalize(talkKeywords));
+    this.speakerCompanyMatcher = AhoCorasickMatcher.ofIgnoreCase(companies);
+    this.speakerCompanyNames = Set.copyOf(companies);
+  }
+
+  /**
+   * Compiles the criteria. Prefer {@link TalkSearchCriteria#compiled()}, which compiles each criteria only once.
+   */
+  public static CompiledSearchCriteria compile(TalkSearchCriteria criteria) {
+    return (criteria != null) ?
+        new CompiledSearchCriteria(criteria.getTalkKeywords(), criteria.getSpeakerCompanies()) :
+        MATCH_ALL;
+  }
+
+  /**
+   * Compiles just a set of speaker companies
+   */
+  public static CompiledSearchCriteria forSpeakerCompanies(Collection<String> speakerCompanies) {
+    return new CompiledSearchCriteria(List.of(), speakerCompanies);
+  }
+
+  public boolean hasTalkKeywords() {
+    return !this.talkKeywordMatcher.isEmpty();
+  }
+
+  public boolean hasSpeakerCompanies() {
+    return !this.speakerCompanyMatcher.isEmpty();
+  }
+
+  /**
+   * The normalized (stripped, case folded, and de-duplicated) talk keywords
+   */
+  public List<String> getTalkKeywords() {
+    return this.talkKeywordMatcher.getPatterns();
+  }
+
+  /**
+   * The normalized (stripped, case folded, and de-duplicated) speaker companies
+   */
+  public List<String> getSpeakerCompanies() {
+    return this.speakerCompanyMatcher.getPatterns();
+  }
+
+  /**
+   * Whether the text contains any of the talk keywords, ignoring case. Always {@code true} if there aren't any keywords.
+   */
+  public boolean matchesTalk(CharSequence text) {
+    return !hasTalkKeywords() || this.talkKeywordMatcher.matchesAny(text);
+  }
+
+  /**
+   * Whether the text contains any of the speaker companies, ignoring case. Always {@code true} if there aren't any companies.
+   */
+  public boolean matchesSpeakerCompany(CharSequence text) {
+    return !hasSpeakerCompanies() || this.speakerCompanyMatcher.matchesAny(text);
+  }
+
+  /**
+   * Whether the company is exactly one of the speaker companies, ignoring case and surrounding whitespace. Meant for
+   * structured company fields, where a substring match would match unrelated companies (i.e. {@code Port} and
+   * {@code Portworx}). Always {@code true} if there aren't any companies.
+   */
+  public boolean isSpeakerCompany(String company) {
+    return !hasSpeakerCompanies() || ((company != null) && this.speakerCompanyNames.contains(caseFold(company.strip())));
+  }
+
+  // The same folding the matchers use, so exact company matches agree with substring ones
+  private static String caseFold(String text) {
+    return AhoCorasickMatcher.foldCase(text);
+  }
+
+  /**
+   * Strips, case folds, and de-duplicates the patterns, dropping {@code null} and blank ones
+   */
+  private static List<String> normalize(Collection<String> patterns) {
+    return (patterns == null) ?
+        List.of() :
+        patterns.stream()
+            .filter(Objects::nonNull)
+            .map(String::strip)
+            .filter(pattern -> !pattern.isEmpty())
+            .map(CompiledSearchCriteria::caseFold)
+            .distinct()
+            .toList();
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledSearchCriteria{" +
+        "talkKeywords=" + getTalkKeywords() +
+        ", speakerCompanies=" + getSpeakerCompanies() +
+        '}';
+  }
+}
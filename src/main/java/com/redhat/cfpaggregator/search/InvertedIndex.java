@@ -0,0 +1,678 @@
+package com.redhat.cfpaggregator.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import com.redhat.cfpaggregator.search.SearchQuery.Phrase;
+import com.redhat.cfpaggregator.search.SearchQuery.Prefix;
+import com.redhat.cfpaggregator.search.SearchQuery.Term;
+
+/**
+ * An in-memory inverted index with BM25 ranked search over documents made up of a fixed set of text fields.
+ * <p>
+ * Each term's postings record the positions it occurs at in every field of every document, so phrase queries can
+ * be answered from the index. Terms are kept sorted, so a prefix query only visits the terms that start with it.
+ * Documents are scored with BM25F: a term's frequency in each field is weighted by the field's boost and normalized
+ * by the field's length, before being saturated once for the whole document.
+ * </p>
+ * <p>
+ * Postings are packed into primitive arrays in document id order. Removed documents are only marked as deleted,
+ * and the postings are compacted once there are more deleted documents than live ones.
+ * </p>
+ * <p>
+ * Documents can be added, replaced, and removed at any time. Searches can run concurrently with each other, while
+ * changes are applied one at a time.
+ * </p>
+ *
+ * @param <K> The type of the key that identifies a document
+ * @author Eric Deandrea
+ */
+public final class InvertedIndex<K> {
+  static final double K1 = 1.2;
+  static final double B = 0.75;
+
+  // Stops a short prefix like "a*" from expanding into most of the index
+  static final int MAX_PREFIX_EXPANSIONS = 128;
+
+  // Below this, handing the documents out to other threads costs more than it saves
+  private static final int MIN_DOCUMENTS_TO_ANALYZE_IN_PARALLEL = 256;
+
+  // Don't bother compacting tiny indexes
+  private static final int MIN_DELETED_BEFORE_COMPACTION = 1024;
+
+  private final double[] fieldBoosts;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final NavigableMap<String, Postings> postings = new TreeMap<>();
+  private final Map<K, Integer> docIdsByKey = new HashMap<>();
+
+  // Indexed by document id. Deleted documents stay until the next compaction.
+  private final List<Document<K>> documents = new ArrayList<>();
+  private final BitSet deleted = new BitSet();
+
+  // The length of each field of each document, laid out flat so scoring doesn't have to go through the documents
+  private final IntList fieldLengths = new IntList();
+  private final long[] totalFieldLengths;
+
+  /**
+   * @param fieldBoosts The boost for each field, in the order the field values are given to {@link #put(Object, String...)}
+   */
+  public InvertedIndex(double... fieldBoosts) {
+    this.fieldBoosts = fieldBoosts.clone();
+    this.totalFieldLengths = new long[fieldBoosts.length];
+  }
+
+  public record Hit<K>(K key, double score) {
+  }
+
+  private record Document<K>(K key, String[] terms) {
+  }
+
+  private record AnalyzedDocument<K>(K key, int[] fieldLengths, Map<String, IntList[]> positionsByTerm) {
+  }
+
+  /**
+   * Indexes a document, replacing any document that already has the key
+   *
+   * @param fieldValues The text of each field, in the same order as the field boosts. {@code null}s are allowed.
+   */
+  public void put(K key, String... fieldValues) {
+    var document = analyze(key, fieldValues);
+    this.lock.writeLock().lock();
+
+    try {
+      removeDocument(key);
+      addDocument(document);
+      compactIfNeeded();
+    }
+    finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes the document with the key, if there is one
+   */
+  public void remove(K key) {
+    this.lock.writeLock().lock();
+
+    try {
+      removeDocument(key);
+      compactIfNeeded();
+    }
+    finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes every document whose key matches, then indexes the new documents, as a single change.
+   * Searches never see the index with only part of the change applied. Large batches of new documents are
+   * analyzed in parallel, before the index is locked.
+   *
+   * @param toRemove Which of the existing documents to remove
+   * @param toAdd The documents to index, keyed by their key, with their field values in the same order as the field boosts
+   */
+  public void replace(Predicate<? super K> toRemove, Map<K, String[]> toAdd) {
+    var documents = analyze(toAdd);
+    this.lock.writeLock().lock();
+
+    try {
+      this.docIdsByKey.keySet()
+          .stream()
+          .filter(toRemove)
+          .toList()
+          .forEach(this::removeDocument);
+
+      documents.forEach(document -> {
+        removeDocument(document.key());
+        addDocument(document);
+      });
+
+      compactIfNeeded();
+    }
+    finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * The number of documents in the index
+   */
+  public int size() {
+    this.lock.readLock().lock();
+
+    try {
+      return this.docIdsByKey.size();
+    }
+    finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the highest scoring documents matching any of the query's clauses
+   *
+   * @param limit The maximum number of hits to return
+   * @return The hits, highest score first
+   */
+  public List<Hit<K>> search(SearchQuery query, int limit) {
+    return query.isEmpty() ? List.of() : search(query, key -> true, limit);
+  }
+
+  /**
+   * Finds the highest scoring documents matching any of the query's clauses, as well as the filter.
+   * <p>
+   * The filter is only applied to documents that score high enough to make it into the hits. An empty query matches
+   * every document that passes the filter, in the order they were indexed, all with a score of zero.
+   * </p>
+   *
+   * @param filter Which documents can be returned
+   * @param limit The maximum number of hits to return
+   * @return The hits, highest score first
+   */
+  public List<Hit<K>> search(SearchQuery query, Predicate<? super K> filter, int limit) {
+    if (limit <= 0) {
+      return List.of();
+    }
+
+    this.lock.readLock().lock();
+
+    try {
+      var docCount = this.docIdsByKey.size();
+
+      if (docCount == 0) {
+        return List.of();
+      }
+
+      if (query.isEmpty()) {
+        return filtered(filter, limit);
+      }
+
+      var averageFieldLengths = new double[this.fieldBoosts.length];
+
+      for (var field = 0; field < averageFieldLengths.length; field++) {
+        averageFieldLengths[field] = Math.max(1D, (double) this.totalFieldLengths[field] / docCount);
+      }
+
+      var scorer = new Scorer(docCount, averageFieldLengths);
+
+      for (var clause : query.clauses()) {
+        switch (clause) {
+          case Term term -> scorer.scoreTerm(this.postings.get(term.term()));
+          case Prefix prefix -> expand(prefix.prefix()).forEach(scorer::scoreTerm);
+          case Phrase phrase -> scorer.scorePhrase(phrase.terms().stream().map(this.postings::get).toList());
+        }
+      }
+
+      return scorer.topHits(filter, limit);
+    }
+    finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Works out where each term occurs in a document. This is the expensive part of indexing, and doesn't touch the
+   * index, so it is done before the write lock is taken.
+   */
+  private AnalyzedDocument<K> analyze(K key, String[] fieldValues) {
+    var fieldCount = this.fieldBoosts.length;
+    var fieldLengths = new int[fieldCount];
+    var positionsByTerm = new HashMap<String, IntList[]>();
+
+    for (var field = 0; field < fieldCount; field++) {
+      var tokens = Tokenizer.tokenize((field < fieldValues.length) ? fieldValues[field] : null);
+      fieldLengths[field] = tokens.size();
+
+      for (var position = 0; position < tokens.size(); position++) {
+        var positions = positionsByTerm.computeIfAbsent(tokens.get(position), term -> new IntList[fieldCount]);
+
+        if (positions[field] == null) {
+          positions[field] = new IntList();
+        }
+
+        positions[field].add(position);
+      }
+    }
+
+    return new AnalyzedDocument<>(key, fieldLengths, positionsByTerm);
+  }
+
+  /**
+   * Analyzes the documents, spreading the work across threads when there are enough of them to be worth it
+   */
+  private List<AnalyzedDocument<K>> analyze(Map<K, String[]> documents) {
+    var entries = (documents.size() >= MIN_DOCUMENTS_TO_ANALYZE_IN_PARALLEL) ?
+        documents.entrySet().parallelStream() :
+        documents.entrySet().stream();
+
+    return entries
+        .map(entry -> analyze(entry.getKey(), entry.getValue()))
+        .toList();
+  }
+
+  private void addDocument(AnalyzedDocument<K> document) {
+    var docId = this.documents.size();
+    var fieldCount = this.fieldBoosts.length;
+    var key = document.key();
+    var positionsByTerm = document.positionsByTerm();
+
+    for (var field = 0; field < fieldCount; field++) {
+      this.fieldLengths.add(document.fieldLengths()[field]);
+      this.totalFieldLengths[field] += document.fieldLengths()[field];
+    }
+
+    // Document ids only ever grow, so appending keeps every term's postings in document id order
+    positionsByTerm.forEach((term, positions) ->
+        this.postings.computeIfAbsent(term, t -> new Postings(fieldCount)).add(docId, positions)
+    );
+
+    this.documents.add(new Document<>(key, positionsByTerm.keySet().toArray(String[]::new)));
+    this.docIdsByKey.put(key, docId);
+  }
+
+  private void removeDocument(K key) {
+    var docId = this.docIdsByKey.remove(key);
+
+    if (docId != null) {
+      var document = this.documents.get(docId);
+
+      for (var term : document.terms()) {
+        var termPostings = this.postings.get(term);
+
+        // A term that is only left in deleted documents can't match anything
+        if (--termPostings.liveCount == 0) {
+          this.postings.remove(term);
+        }
+      }
+
+      for (var field = 0; field < this.totalFieldLengths.length; field++) {
+        this.totalFieldLengths[field] -= this.fieldLengths.values[(docId * this.totalFieldLengths.length) + field];
+      }
+
+      this.deleted.set(docId);
+    }
+  }
+
+  private void compactIfNeeded() {
+    var deletedCount = this.deleted.cardinality();
+
+    if ((deletedCount >= MIN_DELETED_BEFORE_COMPACTION) && (deletedCount > this.docIdsByKey.size())) {
+      compact();
+    }
+  }
+
+  /**
+   * Drops the deleted documents, giving the remaining ones new (still ordered) document ids
+   */
+  private void compact() {
+    var fieldCount = this.fieldBoosts.length;
+    var newDocIds = new int[this.documents.size()];
+    var liveDocuments = new ArrayList<Document<K>>(this.docIdsByKey.size());
+    var liveFieldLengths = new IntList();
+
+    for (var docId = 0; docId < newDocIds.length; docId++) {
+      if (this.deleted.get(docId)) {
+        newDocIds[docId] = -1;
+      }
+      else {
+        var document = this.documents.get(docId);
+        newDocIds[docId] = liveDocuments.size();
+        this.docIdsByKey.put(document.key(), liveDocuments.size());
+        liveDocuments.add(document);
+        liveFieldLengths.addAll(this.fieldLengths.values, docId * fieldCount, (docId + 1) * fieldCount);
+      }
+    }
+
+    this.postings.values().forEach(termPostings -> termPostings.compact(newDocIds));
+    this.documents.clear();
+    this.documents.addAll(liveDocuments);
+    this.fieldLengths.values = liveFieldLengths.values;
+    this.fieldLengths.size = liveFieldLengths.size;
+    this.deleted.clear();
+  }
+
+  private List<Hit<K>> filtered(Predicate<? super K> filter, int limit) {
+    var hits = new ArrayList<Hit<K>>();
+
+    for (var docId = this.deleted.nextClearBit(0); (docId < this.documents.size()) && (hits.size() < limit); docId = this.deleted.nextClearBit(docId + 1)) {
+      var key = this.documents.get(docId).key();
+
+      if (filter.test(key)) {
+        hits.add(new Hit<>(key, 0));
+      }
+    }
+
+    return hits;
+  }
+
+  private List<Postings> expand(String prefix) {
+    return this.postings.tailMap(prefix, true)
+        .entrySet()
+        .stream()
+        .takeWhile(entry -> entry.getKey().startsWith(prefix))
+        .limit(MAX_PREFIX_EXPANSIONS)
+        .map(Map.Entry::getValue)
+        .toList();
+  }
+
+  private static double idf(int docCount, int docFrequency) {
+    return Math.log(1 + ((docCount - docFrequency + 0.5) / (docFrequency + 0.5)));
+  }
+
+  /**
+   * Scores the documents matched by a single search
+   */
+  private final class Scorer {
+    private final int docCount;
+    private final double[] averageFieldLengths;
+
+    // Indexed by document id
+    private final double[] scores;
+    private final int[] matched;
+    private int matchCount;
+
+    private Scorer(int docCount, double[] averageFieldLengths) {
+      this.docCount = docCount;
+      this.averageFieldLengths = averageFieldLengths;
+      this.scores = new double[documents.size()];
+      this.matched = new int[documents.size()];
+    }
+
+    private void scoreTerm(Postings termPostings) {
+      if (termPostings == null) {
+        return;
+      }
+
+      var idf = idf(this.docCount, termPostings.liveCount);
+      var frequencies = new int[fieldBoosts.length];
+
+      for (var i = 0; i < termPostings.size; i++) {
+        var docId = termPostings.docIds[i];
+
+        if (!deleted.get(docId)) {
+          System.arraycopy(termPostings.frequencies, i * frequencies.length, frequencies, 0, frequencies.length);
+          add(docId, score(idf, docId, frequencies));
+        }
+      }
+    }
+
+    private void scorePhrase(List<Postings> termPostings) {
+      if (termPostings.contains(null)) {
+        return;
+      }
+
+      // Only the documents containing the rarest term need checking
+      var rarest = termPostings.stream()
+          .min(Comparator.comparingInt(p -> p.size))
+          .orElseThrow();
+
+      var cursors = new int[termPostings.size()];
+      var postingIndexes = new int[termPostings.size()];
+      var matchedDocIds = new IntList();
+      var matchedFrequencies = new IntList();
+      var frequencies = new int[fieldBoosts.length];
+
+      for (var i = 0; i < rarest.size; i++) {
+        var docId = rarest.docIds[i];
+
+        if (!deleted.get(docId) && locate(termPostings, docId, cursors, postingIndexes) && countPhrase(termPostings, postingIndexes, frequencies)) {
+          matchedDocIds.add(docId);
+
+          for (var frequency : frequencies) {
+            matchedFrequencies.add(frequency);
+          }
+        }
+      }
+
+      // The phrase is scored as if it was a single term
+      var idf = idf(this.docCount, matchedDocIds.size);
+
+      for (var i = 0; i < matchedDocIds.size; i++) {
+        System.arraycopy(matchedFrequencies.values, i * frequencies.length, frequencies, 0, frequencies.length);
+        add(matchedDocIds.values[i], score(idf, matchedDocIds.values[i], frequencies));
+      }
+    }
+
+    /**
+     * Finds the document in each term's postings. The documents are visited in increasing order, so each term's
+     * cursor only ever moves forward.
+     */
+    private boolean locate(List<Postings> termPostings, int docId, int[] cursors, int[] postingIndexes) {
+      for (var term = 0; term < termPostings.size(); term++) {
+        var candidate = termPostings.get(term);
+        var cursor = cursors[term];
+
+        // Common terms usually contain the very next document
+        var index = ((cursor < candidate.size) && (candidate.docIds[cursor] == docId)) ?
+            cursor :
+            Arrays.binarySearch(candidate.docIds, cursor, candidate.size, docId);
+
+        if (index < 0) {
+          cursors[term] = -index - 1;
+          return false;
+        }
+
+        cursors[term] = index;
+        postingIndexes[term] = index;
+      }
+
+      return true;
+    }
+
+    /**
+     * Counts how many times the phrase occurs in each field of a document
+     *
+     * @return Whether the phrase occurs at all
+     */
+    private boolean countPhrase(List<Postings> termPostings, int[] postingIndexes, int[] frequencies) {
+      var found = false;
+      var first = termPostings.getFirst();
+
+      for (var field = 0; field < frequencies.length; field++) {
+        frequencies[field] = 0;
+        var start = first.positionsStart(postingIndexes[0], field);
+        var end = start + first.frequency(postingIndexes[0], field);
+
+        for (var p = start; p < end; p++) {
+          var position = first.positions.values[p];
+          var matches = true;
+
+          for (var term = 1; matches && (term < termPostings.size()); term++) {
+            var next = termPostings.get(term);
+            var nextStart = next.positionsStart(postingIndexes[term], field);
+            var nextEnd = nextStart + next.frequency(postingIndexes[term], field);
+            matches = Arrays.binarySearch(next.positions.values, nextStart, nextEnd, position + term) >= 0;
+          }
+
+          if (matches) {
+            frequencies[field]++;
+            found = true;
+          }
+        }
+      }
+
+      return found;
+    }
+
+    private double score(double idf, int docId, int[] frequencies) {
+      var lengthsStart = docId * frequencies.length;
+      var weightedFrequency = 0D;
+
+      for (var field = 0; field < frequencies.length; field++) {
+        if (frequencies[field] > 0) {
+          var normalization = 1 - B + (B * fieldLengths.values[lengthsStart + field] / this.averageFieldLengths[field]);
+          weightedFrequency += fieldBoosts[field] * frequencies[field] / normalization;
+        }
+      }
+
+      return idf * weightedFrequency / (K1 + weightedFrequency);
+    }
+
+    private void add(int docId, double score) {
+      // A match always scores above zero
+      if (this.scores[docId] == 0D) {
+        this.matched[this.matchCount++] = docId;
+      }
+
+      this.scores[docId] += score;
+    }
+
+    private List<Hit<K>> topHits(Predicate<? super K> filter, int limit) {
+      // A min-heap of the best documents so far. Ties are broken by document id so the order is stable.
+      Comparator<Integer> byScore = Comparator.<Integer>comparingDouble(docId -> this.scores[docId])
+          .thenComparing(Comparator.<Integer>reverseOrder());
+
+      var top = new PriorityQueue<>(byScore);
+
+      for (var i = 0; i < this.matchCount; i++) {
+        var docId = this.matched[i];
+
+        // Checking the score first means the filter only sees documents that would make it into the hits
+        if (((top.size() < limit) || (byScore.compare(docId, top.peek()) > 0)) && filter.test(documents.get(docId).key())) {
+          top.add(docId);
+
+          if (top.size() > limit) {
+            top.poll();
+          }
+        }
+      }
+
+      var hits = new ArrayList<Hit<K>>(top.size());
+
+      while (!top.isEmpty()) {
+        var docId = top.poll();
+        hits.add(new Hit<>(documents.get(docId).key(), this.scores[docId]));
+      }
+
+      return hits.reversed();
+    }
+  }
+
+  /**
+   * The documents a term occurs in, in document id order, along with the term's frequency and positions in each field
+   */
+  private static final class Postings {
+    private final int fieldCount;
+    private int[] docIds = new int[2];
+
+    // fieldCount frequencies per document
+    private int[] frequencies;
+
+    // fieldCount offsets per document, where the document's positions in each field start
+    private int[] positionOffsets;
+    private final IntList positions = new IntList();
+    private int size;
+
+    // The number of documents that haven't been deleted
+    private int liveCount;
+
+    private Postings(int fieldCount) {
+      this.fieldCount = fieldCount;
+      this.frequencies = new int[2 * fieldCount];
+      this.positionOffsets = new int[2 * fieldCount];
+    }
+
+    private void add(int docId, IntList[] fieldPositions) {
+      if (this.size == this.docIds.length) {
+        this.docIds = Arrays.copyOf(this.docIds, this.size * 2);
+        this.positionOffsets = Arrays.copyOf(this.positionOffsets, this.size * 2 * this.fieldCount);
+        this.frequencies = Arrays.copyOf(this.frequencies, this.size * 2 * this.fieldCount);
+      }
+
+      this.docIds[this.size] = docId;
+
+      for (var field = 0; field < this.fieldCount; field++) {
+        var positionsInField = fieldPositions[field];
+        this.positionOffsets[(this.size * this.fieldCount) + field] = this.positions.size;
+
+        // Always written, as the slot may still hold the frequency of a document that was compacted away
+        this.frequencies[(this.size * this.fieldCount) + field] = (positionsInField != null) ? positionsInField.size : 0;
+
+        if (positionsInField != null) {
+          this.positions.addAll(positionsInField);
+        }
+      }
+
+      this.size++;
+      this.liveCount++;
+    }
+
+    private int frequency(int index, int field) {
+      return this.frequencies[(index * this.fieldCount) + field];
+    }
+
+    private int positionsStart(int index, int field) {
+      return this.positionOffsets[(index * this.fieldCount) + field];
+    }
+
+    private void compact(int[] newDocIds) {
+      var compactedPositions = new IntList();
+      var kept = 0;
+
+      for (var i = 0; i < this.size; i++) {
+        var newDocId = newDocIds[this.docIds[i]];
+
+        if (newDocId >= 0) {
+          this.docIds[kept] = newDocId;
+
+          for (var field = 0; field < this.fieldCount; field++) {
+            var start = positionsStart(i, field);
+            this.positionOffsets[(kept * this.fieldCount) + field] = compactedPositions.size;
+            compactedPositions.addAll(this.positions.values, start, start + frequency(i, field));
+          }
+
+          System.arraycopy(this.frequencies, i * this.fieldCount, this.frequencies, kept * this.fieldCount, this.fieldCount);
+          kept++;
+        }
+      }
+
+      this.size = kept;
+      this.positions.values = compactedPositions.values;
+      this.positions.size = compactedPositions.size;
+    }
+  }
+
+  /**
+   * A growable list of {@code int}s that doesn't box them
+   */
+  private static final class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    private void add(int value) {
+      if (this.size == this.values.length) {
+        this.values = Arrays.copyOf(this.values, this.size * 2);
+      }
+
+      this.values[this.size++] = value;
+    }
+
+    private void addAll(IntList other) {
+      addAll(other.values, 0, other.size);
+    }
+
+    private void addAll(int[] source, int from, int to) {
+      var count = to - from;
+
+      if (this.size + count > this.values.length) {
+        this.values = Arrays.copyOf(this.values, Math.max(this.values.length * 2, this.size + count));
+      }
+
+      System.arraycopy(source, from, this.values, this.size, count);
+      this.size += count;
+    }
+  }
+}
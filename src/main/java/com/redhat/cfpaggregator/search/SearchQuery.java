@@ -0,0 +1,83 @@
+package com.redhat.cfpaggregator.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parsed full-text query for the {@link InvertedIndex}.
+ * <p>
+ * The query is a list of clauses, any of which can match. A double-quoted string is a {@link Phrase phrase}, a word
+ * ending in {@code *} is a {@link Prefix prefix}, and anything else is a plain {@link Term term}. For example
+ * {@code "virtual threads" quark* kubernetes}.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+public record SearchQuery(List<Clause> clauses) {
+  public SearchQuery {
+    clauses = List.copyOf(clauses);
+  }
+
+  public sealed interface Clause permits Term, Prefix, Phrase {
+  }
+
+  public record Term(String term) implements Clause {
+  }
+
+  public record Prefix(String prefix) implements Clause {
+  }
+
+  public record Phrase(List<String> terms) implements Clause {
+    public Phrase {
+      terms = List.copyOf(terms);
+    }
+  }
+
+  public boolean isEmpty() {
+    return this.clauses.isEmpty();
+  }
+
+  public static SearchQuery parse(String query) {
+    var clauses = new ArrayList<Clause>();
+
+    if (query == null) {
+      return new SearchQuery(clauses);
+    }
+
+    var parts = query.split("\"", -1);
+
+    // Every odd part was between a pair of quotes. An unbalanced trailing quote is treated as if it was closed.
+    for (var i = 0; i < parts.length; i++) {
+      if ((i % 2) == 1) {
+        addPhrase(Tokenizer.tokenize(parts[i]), clauses);
+      }
+      else {
+        for (var word : parts[i].strip().split("\\s+")) {
+          addWord(word, clauses);
+        }
+      }
+    }
+
+    return new SearchQuery(clauses);
+  }
+
+  private static void addPhrase(List<String> terms, List<Clause> clauses) {
+    switch (terms.size()) {
+      case 0 -> { }
+      case 1 -> clauses.add(new Term(terms.getFirst()));
+      default -> clauses.add(new Phrase(terms));
+    }
+  }
+
+  private static void addWord(String word, List<Clause> clauses) {
+    var terms = Tokenizer.tokenize(word);
+
+    if (word.endsWith("*") && (terms.size() == 1)) {
+      clauses.add(new Prefix(terms.getFirst()));
+    }
+    else {
+      // Something like "quarkus-langchain4j" is searched for as the phrase "quarkus langchain4j"
+      addPhrase(terms, clauses);
+    }
+  }
+}
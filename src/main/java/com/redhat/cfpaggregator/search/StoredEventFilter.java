@@ -0,0 +1,72 @@
+package com.redhat.cfpaggregator.search;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+
+/**
+ * Narrows a stored event's complete set of speakers and talks down to the ones that match some search criteria,
+ * so that a search can be answered without going back to the portal.
+ * <p>
+ * A speaker matches if their company or bio contains one of the companies, and a talk matches if its title,
+ * description, or summary contains one of the keywords. Like the portal clients, only matching speakers with at
+ * least one matching talk are kept.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+public final class StoredEventFilter {
+  private StoredEventFilter() {
+    // Utility class
+  }
+
+  /**
+   * Creates a copy of the event with only the matching speakers and talks. The stored event isn't modified,
+   * and the copy is never persisted.
+   */
+  public static Event filter(Event event, CompiledSearchCriteria searchCriteria) {
+    // Co-presented talks are only copied once, so the copy is shared by all of its matching speakers
+    var talkCopies = new IdentityHashMap<Talk, Talk>();
+    var speakers = new ArrayList<Speaker>();
+
+    for (var speaker : event.getSpeakers()) {
+      if (matchesSpeaker(speaker, searchCriteria)) {
+        var talks = new ArrayList<Talk>();
+
+        for (var talk : speaker.getTalks()) {
+          if (matchesTalk(talk, searchCriteria)) {
+            talks.add(talkCopies.computeIfAbsent(talk, t -> t.toBuilder().speakers(List.of()).build()));
+          }
+        }
+
+        if (!talks.isEmpty()) {
+          speakers.add(speaker.toBuilder().event(null).talks(talks).build());
+        }
+      }
+    }
+
+    // Building with the portal would point the stored portal at the copy
+    var filtered = event.toBuilder()
+        .portal(null)
+        .speakers(speakers)
+        .build();
+
+    filtered.setPortal(event.getPortal());
+    return filtered;
+  }
+
+  static boolean matchesSpeaker(Speaker speaker, CompiledSearchCriteria searchCriteria) {
+    return searchCriteria.matchesSpeakerCompany(speaker.getCompany()) ||
+        searchCriteria.matchesSpeakerCompany(speaker.getBio());
+  }
+
+  static boolean matchesTalk(Talk talk, CompiledSearchCriteria searchCriteria) {
+    return searchCriteria.matchesTalk(talk.getTitle()) ||
+        searchCriteria.matchesTalk(talk.getDescription()) ||
+        searchCriteria.matchesTalk(talk.getSummary());
+  }
+}
@@ -0,0 +1,43 @@
+package com.redhat.cfpaggregator.search;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Narrows a {@link TalkSearchIndex} search down to talks with particular attributes, regardless of how well they
+ * match the query. An empty set means that attribute isn't filtered on.
+ *
+ * @param portalNames Only talks submitted to one of these portals
+ * @param speakerCompanies Only talks with at least one speaker whose company contains one of these (ignoring case)
+ * @param openCfpOnly Only talks submitted to events whose CFP is currently open
+ * @author Eric Deandrea
+ */
+public record TalkSearchFilter(Set<String> portalNames, Set<String> speakerCompanies, boolean openCfpOnly) {
+  public static final TalkSearchFilter NONE = new TalkSearchFilter(Set.of(), Set.of(), false);
+
+  public TalkSearchFilter {
+    portalNames = copyOf(portalNames);
+    speakerCompanies = copyOf(speakerCompanies);
+  }
+
+  public boolean isNone() {
+    return this.portalNames.isEmpty() && this.speakerCompanies.isEmpty() && !this.openCfpOnly;
+  }
+
+  private static Set<String> copyOf(Collection<String> values) {
+    var copy = new LinkedHashSet<String>();
+
+    Optional.ofNullable(values)
+        .orElseGet(Set::of)
+        .stream()
+        .filter(Objects::nonNull)
+        .map(String::strip)
+        .filter(value -> !value.isEmpty())
+        .forEach(copy::add);
+
+    return Set.copyOf(copy);
+  }
+}
@@ -0,0 +1,281 @@
+package com.redhat.cfpaggregator.search;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import io.quarkus.logging.Log;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+
+/**
+ * Ranked full-text search over every stored talk, along with the company and bio of each of its speakers.
+ * <p>
+ * Each portal's talks are re-indexed whenever its event is stored, so the index always reflects what is in the
+ * database without ever having to query it. A search is answered entirely from memory.
+ * </p>
+ * <p>
+ * Queries are made up of words, {@code "quoted phrases"}, and {@code prefixes*}. A talk matches if it matches any
+ * of them, and talks matching more of them (or matching them more often, or in shorter fields) rank higher.
+ * Matches in the title count the most, followed by the summary and the speakers' companies.
+ * </p>
+ * <p>
+ * Searches can also be filtered on the talk's portal, its speakers' companies, and whether its event's CFP is
+ * open, so structured searches never have to go to the database either.
+ * </p>
+ * <p>
+ * Changes made within a transaction are only applied once it commits, so a search never finds talks that were
+ * rolled back. The talks are read straight away though, while the event's speakers and talks can still be loaded.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+@ApplicationScoped
+public class TalkSearchIndex {
+  // The order the fields are given to the index in
+  private static final double TITLE_BOOST = 3;
+  private static final double SUMMARY_BOOST = 1.5;
+  private static final double DESCRIPTION_BOOST = 1;
+  private static final double SPEAKER_COMPANY_BOOST = 1.5;
+  private static final double SPEAKER_BIO_BOOST = 0.5;
+
+  private final InvertedIndex<IndexedTalk> index = new InvertedIndex<>(
+      TITLE_BOOST,
+      SUMMARY_BOOST,
+      DESCRIPTION_BOOST,
+      SPEAKER_COMPANY_BOOST,
+      SPEAKER_BIO_BOOST
+  );
+
+  private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  public TalkSearchIndex(TransactionSynchronizationRegistry transactionSynchronizationRegistry) {
+    this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+  }
+
+  /**
+   * A talk that has been indexed, with what is needed to show it without going back to the database
+   */
+  private record IndexedTalk(
+      String portalName,
+      String eventTalkId,
+      String title,
+      List<String> speakers,
+      List<String> speakerCompanies,
+      Instant cfpOpening,
+      Instant cfpClosing) {
+
+    private boolean isCfpOpen(Instant now) {
+      return (this.cfpOpening != null) && (this.cfpClosing != null) && !now.isBefore(this.cfpOpening) && !now.isAfter(this.cfpClosing);
+    }
+  }
+
+  private record TalkWithSpeakers(Talk talk, List<Speaker> speakers) {
+  }
+
+  /**
+   * A talk matching a search
+   *
+   * @param portalName The portal the talk was submitted to
+   * @param eventTalkId The talk's id within the portal
+   * @param title The talk's title
+   * @param speakers The full names of the talk's speakers
+   * @param score How well the talk matches. Only meaningful relative to the other hits of the same search.
+   */
+  public record TalkSearchHit(String portalName, String eventTalkId, String title, List<String> speakers, double score) {
+  }
+
+  /**
+   * Replaces everything indexed for the event's portal with the event's talks
+   */
+  public void index(Event event) {
+    var portalName = event.getPortalName();
+    var documents = documentsFor(event);
+
+    afterCommit(() -> {
+      this.index.replace(indexedTalk -> indexedTalk.portalName().equals(portalName), documents);
+      Log.debugf("Indexed %d talks for portal %s", documents.size(), portalName);
+    });
+  }
+
+  /**
+   * Replaces everything in the index with the events' talks
+   */
+  public void indexAll(List<Event> events) {
+    var start = System.nanoTime();
+    var documents = new LinkedHashMap<IndexedTalk, String[]>();
+    events.forEach(event -> documents.putAll(documentsFor(event)));
+
+    afterCommit(() -> {
+      this.index.replace(indexedTalk -> true, documents);
+      Log.infof("Indexed %d talks in %d ms", documents.size(), (System.nanoTime() - start) / 1_000_000);
+    });
+  }
+
+  /**
+   * Removes all of the portal's talks from the index
+   */
+  public void remove(String portalName) {
+    afterCommit(() -> this.index.replace(indexedTalk -> indexedTalk.portalName().equals(portalName), Map.of()));
+  }
+
+  /**
+   * The number of talks in the index
+   */
+  public int size() {
+    return this.index.size();
+  }
+
+  /**
+   * Finds the talks best matching the query
+   *
+   * @param query The words, {@code "quoted phrases"}, and {@code prefixes*} to search for
+   * @param limit The maximum number of talks to return
+   * @return The matching talks, best match first
+   */
+  public List<TalkSearchHit> search(String query, int limit) {
+    return search(query, TalkSearchFilter.NONE, limit);
+  }
+
+  /**
+   * Finds the talks best matching the query, out of the talks passing the filter.
+   * <p>
+   * For example, talks mentioning Kubernetes by speakers at Red Hat in open CFPs is the query {@code kubernetes}
+   * with a filter on the company {@code Red Hat} and open CFPs. If the query is empty, every talk passing the filter
+   * matches, in no particular order. If both are empty nothing matches.
+   * </p>
+   *
+   * @param query The words, {@code "quoted phrases"}, and {@code prefixes*} to search for
+   * @param filter The attributes the talks must have
+   * @param limit The maximum number of talks to return
+   * @return The matching talks, best match first
+   */
+  public List<TalkSearchHit> search(String query, TalkSearchFilter filter, int limit) {
+    var searchQuery = SearchQuery.parse(query);
+
+    if (searchQuery.isEmpty() && filter.isNone()) {
+      return List.of();
+    }
+
+    return this.index.search(searchQuery, matching(filter, Instant.now()), limit)
+        .stream()
+        .map(hit -> {
+          var talk = hit.key();
+          return new TalkSearchHit(talk.portalName(), talk.eventTalkId(), talk.title(), talk.speakers(), hit.score());
+        })
+        .toList();
+  }
+
+  private static Predicate<IndexedTalk> matching(TalkSearchFilter filter, Instant now) {
+    var portalNames = filter.portalNames();
+    var companies = CompiledSearchCriteria.forSpeakerCompanies(filter.speakerCompanies());
+
+    return talk ->
+        (portalNames.isEmpty() || portalNames.contains(talk.portalName())) &&
+        (!filter.openCfpOnly() || talk.isCfpOpen(now)) &&
+        (!companies.hasSpeakerCompanies() || talk.speakerCompanies().stream().anyMatch(companies::matchesSpeakerCompany));
+  }
+
+  /**
+   * Applies a change to the index once the current transaction commits (and never if it rolls back), or straight
+   * away when there isn't a transaction
+   */
+  private void afterCommit(Runnable change) {
+    switch (this.transactionSynchronizationRegistry.getTransactionStatus()) {
+      case Status.STATUS_NO_TRANSACTION -> change.run();
+      case Status.STATUS_ACTIVE -> registerAfterCommit(change);
+      // The transaction won't commit, so neither is the change
+      default -> Log.debug("Not changing the index, the transaction is going to roll back");
+    }
+  }
+
+  private void registerAfterCommit(Runnable change) {
+    this.transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+      @Override
+      public void beforeCompletion() {
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (status == Status.STATUS_COMMITTED) {
+          change.run();
+        }
+      }
+    });
+  }
+
+  private static Map<IndexedTalk, String[]> documentsFor(Event event) {
+    var portalName = event.getPortalName();
+    var documents = new LinkedHashMap<IndexedTalk, String[]>();
+
+    talksWithSpeakers(event).forEach(talkWithSpeakers -> {
+      var talk = talkWithSpeakers.talk();
+      var speakers = talkWithSpeakers.speakers();
+      var speakerCompanies = speakers.stream()
+          .map(Speaker::getCompany)
+          .filter(Objects::nonNull)
+          .toList();
+
+      documents.put(
+          new IndexedTalk(
+              portalName,
+              talk.getEventTalkId(),
+              talk.getTitle(),
+              speakers.stream().map(Speaker::getFullName).toList(),
+              speakerCompanies,
+              event.getCfpOpening(),
+              event.getCfpClosing()
+          ),
+          new String[] {
+              talk.getTitle(),
+              talk.getSummary(),
+              talk.getDescription(),
+              String.join(" ", speakerCompanies),
+              join(speakers.stream().map(Speaker::getBio).toList())
+          }
+      );
+    });
+
+    return documents;
+  }
+
+  /**
+   * Talks hang off of their speakers, so this gathers each of the event's talks together with all of its speakers
+   */
+  private static Collection<TalkWithSpeakers> talksWithSpeakers(Event event) {
+    // Keyed on the talk's id within the portal, since talks that haven't been persisted yet don't have an id
+    var talks = new LinkedHashMap<String, TalkWithSpeakers>();
+
+    Optional.ofNullable(event.getSpeakers())
+        .orElseGet(List::of)
+        .forEach(speaker ->
+            speaker.getTalks().forEach(talk ->
+                talks.computeIfAbsent(talk.getEventTalkId(), id -> new TalkWithSpeakers(talk, new ArrayList<>()))
+                    .speakers()
+                    .add(speaker)
+            )
+        );
+
+    return talks.values();
+  }
+
+  private static String join(List<String> values) {
+    return values.stream()
+        .filter(Objects::nonNull)
+        .collect(Collectors.joining(" "));
+  }
+}
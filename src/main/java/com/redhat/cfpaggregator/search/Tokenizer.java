@@ -0,0 +1,55 @@
+package com.redhat.cfpaggregator.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits text into case-folded terms for the {@link InvertedIndex}.
+ * <p>
+ * A term is a run of letters and digits. Anything inside {@code <...>} is skipped, because descriptions and bios
+ * often contain HTML markup.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+final class Tokenizer {
+  private Tokenizer() {
+    // Utility class
+  }
+
+  static List<String> tokenize(String text) {
+    var tokens = new ArrayList<String>();
+
+    if (text == null) {
+      return tokens;
+    }
+
+    var token = new StringBuilder();
+    var inMarkup = false;
+
+    for (var i = 0; i < text.length(); i++) {
+      var c = text.charAt(i);
+
+      if (inMarkup) {
+        inMarkup = (c != '>');
+      }
+      else if (Character.isLetterOrDigit(c)) {
+        token.append(AhoCorasickMatcher.foldCase(c));
+      }
+      else {
+        addToken(token, tokens);
+        inMarkup = (c == '<');
+      }
+    }
+
+    addToken(token, tokens);
+    return tokens;
+  }
+
+  private static void addToken(StringBuilder token, List<String> tokens) {
+    if (!token.isEmpty()) {
+      tokens.add(token.toString());
+      token.setLength(0);
+    }
+  }
+}
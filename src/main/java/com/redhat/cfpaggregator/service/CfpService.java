@@ -1,20 +1,37 @@
 package com.redhat.cfpaggregator.service;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
 
 import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.runtime.StartupEvent;
 
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
 
 import com.redhat.cfpaggregator.client.ClientManager;
+import com.redhat.cfpaggregator.client.FetchStats;
 import com.redhat.cfpaggregator.config.CfpPortalsConfig;
+import com.redhat.cfpaggregator.config.CfpPortalsConfig.SearchMode;
 import com.redhat.cfpaggregator.domain.Event;
 import com.redhat.cfpaggregator.domain.Portal;
 import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
@@ -23,18 +40,34 @@ import com.redhat.cfpaggregator.mapping.PortalMapper;
 import com.redhat.cfpaggregator.mapping.SpeakerMapper;
 import com.redhat.cfpaggregator.mapping.TalkMapper;
 import com.redhat.cfpaggregator.mapping.TalkSearchCriteriaMapper;
+import com.redhat.cfpaggregator.repository.EventBulkWriter;
 import com.redhat.cfpaggregator.repository.EventRepository;
 import com.redhat.cfpaggregator.repository.PortalRepository;
+import com.redhat.cfpaggregator.search.StoredEventFilter;
+import com.redhat.cfpaggregator.search.TalkSearchFilter;
+import com.redhat.cfpaggregator.search.TalkSearchIndex;
+import com.redhat.cfpaggregator.search.TalkSearchIndex.TalkSearchHit;
+import com.redhat.cfpaggregator.snapshot.SnapshotContents;
+import com.redhat.cfpaggregator.snapshot.SnapshotService;
 
 @ApplicationScoped
 @Transactional
 public class CfpService {
+  // Fetching with no keywords or companies brings back each portal's complete set of talks and speakers
+  private static final TalkSearchCriteria MATCH_ALL = TalkSearchCriteria.builder().build();
+
   private final ClientManager clientManager;
   private final CfpPortalsConfig config;
   private final PortalMapper portalMapper;
   private final TalkSearchCriteriaMapper talkSearchCriteriaMapper;
   private final PortalRepository portalRepository;
   private final EventRepository eventRepository;
+  private final VirtualThreadPortalExecutor virtualThreadPortalExecutor;
+  private final IncrementalEventUpdater incrementalEventUpdater;
+  private final TalkSearchIndex talkSearchIndex;
+  private final SnapshotService snapshotService;
+  private final EventBulkWriter eventBulkWriter;
+  private final AtomicReference<TalkSearchCriteria> lastSearchCriteria = new AtomicReference<>();
 
   public CfpService(
       ClientManager clientManager,
@@ -44,7 +77,12 @@ public class CfpService {
       TalkMapper talkMapper, PortalMapper portalMapper,
       TalkSearchCriteriaMapper talkSearchCriteriaMapper,
       PortalRepository portalRepository,
-      EventRepository eventRepository) {
+      EventRepository eventRepository,
+      VirtualThreadPortalExecutor virtualThreadPortalExecutor,
+      IncrementalEventUpdater incrementalEventUpdater,
+      TalkSearchIndex talkSearchIndex,
+      SnapshotService snapshotService,
+      EventBulkWriter eventBulkWriter) {
 
     this.clientManager = clientManager;
     this.config = config;
@@ -52,16 +90,84 @@ public class CfpService {
     this.talkSearchCriteriaMapper = talkSearchCriteriaMapper;
     this.portalRepository = portalRepository;
     this.eventRepository = eventRepository;
+    this.virtualThreadPortalExecutor = virtualThreadPortalExecutor;
+    this.incrementalEventUpdater = incrementalEventUpdater;
+    this.talkSearchIndex = talkSearchIndex;
+    this.snapshotService = snapshotService;
+    this.eventBulkWriter = eventBulkWriter;
   }
 
   void onStartup(@Observes StartupEvent startupEvent) {
-    if (this.config.reloadOnStartup()) {
+    this.config.snapshot()
+        .restoreOnStartup()
+        .filter(snapshot -> this.eventRepository.count() == 0)
+        .ifPresent(this::restoreSnapshotOnStartup);
+
+    var hasStoredEvents = this.eventRepository.count() > 0;
+
+    if (this.config.reloadOnStartup() && !hasStoredEvents) {
       Log.debug("Reloading events on startup");
       this.portalRepository.deleteAllWithCascade();
 
       createPortals();
       createEvents(this.talkSearchCriteriaMapper.fromConfig(this.config.defaultSearchCriteria()));
     }
+    else {
+      Log.debug("Indexing stored events on startup");
+      this.talkSearchIndex.indexAll(getFullyPopulatedEvents());
+
+      // With a persistent database, start with the last dataset rather than waiting for every portal to be fetched again
+      if (this.config.reloadOnStartup()) {
+        Log.info("Starting with the stored events and reloading them in the background");
+        // Committed straight away, so the background reload sees the new portals
+        QuarkusTransaction.requiringNew().run(this::createMissingPortals);
+        reloadInBackground(this.talkSearchCriteriaMapper.fromConfig(this.config.defaultSearchCriteria()));
+      }
+    }
+  }
+
+  /**
+   * Writes a snapshot of everything that is stored
+   *
+   * @param outputStream Where to write the snapshot. It isn't closed.
+   * @return What was written
+   */
+  public SnapshotContents writeSnapshot(OutputStream outputStream) {
+    return this.snapshotService.write(outputStream);
+  }
+
+  /**
+   * Replaces everything that is stored with the contents of a snapshot
+   *
+   * @param inputStream The snapshot. It isn't closed.
+   * @return What was restored
+   */
+  public SnapshotContents restoreSnapshot(InputStream inputStream) {
+    // The clients of the portals that are about to be replaced have to go, whether or not the snapshot has them
+    var previousPortals = getPortals();
+    var contents = this.snapshotService.restore(inputStream);
+
+    previousPortals.forEach(this.clientManager::clearClient);
+    this.talkSearchIndex.indexAll(getFullyPopulatedEvents());
+
+    return contents;
+  }
+
+  private void restoreSnapshotOnStartup(Path snapshot) {
+    if (!Files.isRegularFile(snapshot)) {
+      Log.warnf("Snapshot %s doesn't exist, so it can't be restored", snapshot);
+      return;
+    }
+
+    Log.infof("Restoring snapshot %s on startup", snapshot);
+
+    // In its own transaction, so a bad snapshot just means starting up without it
+    try (var inputStream = new BufferedInputStream(Files.newInputStream(snapshot))) {
+      QuarkusTransaction.requiringNew().run(() -> this.snapshotService.restore(inputStream));
+    }
+    catch (IOException | RuntimeException e) {
+      Log.errorf(e, "Failed to restore snapshot %s", snapshot);
+    }
   }
 
   public void deletePortal(String portalName) {
@@ -70,8 +176,9 @@ public class CfpService {
         .map(String::strip)
         .filter(name -> !name.isBlank())
         .ifPresent(name -> {
-          this.portalRepository.deleteById(name);
-          this.portalRepository.flush();
+          this.portalRepository.findByIdOptional(name).ifPresent(this.clientManager::clearClient);
+          this.portalRepository.deleteWithCascade(List.of(name));
+          this.talkSearchIndex.remove(name);
         });
   }
 
@@ -113,11 +220,230 @@ public class CfpService {
         .forEach(this.portalRepository::persistAndFlush);
   }
 
-  public void recreateEvents(TalkSearchCriteria searchCriteria) {
+  /**
+   * Refreshes the stored events using the configured {@link CfpPortalsConfig#refreshMode() refresh mode}
+   *
+   * @return The outcome for each portal
+   */
+  public List<PortalRefreshResult> refreshEvents(TalkSearchCriteria searchCriteria) {
+    this.lastSearchCriteria.set(searchCriteria);
+
+    return switch (this.config.refreshMode()) {
+      case RECREATE -> recreateEvents(searchCriteria);
+      case INCREMENTAL -> updateEvents(searchCriteria);
+    };
+  }
+
+  /**
+   * Fetches the events and applies them to the stored ones, only inserting, updating, or deleting the
+   * events, speakers, and talks that differ.
+   *
+   * @param searchCriteria the criteria used to search for events
+   * @return The outcome (including the changes that were made) for each portal
+   */
+  public List<PortalRefreshResult> updateEvents(TalkSearchCriteria searchCriteria) {
+    Log.debugf("Updating events with search criteria: %s", searchCriteria);
+
+    // Fetch into copies of the portals so the stored events are left alone until they are compared
+    var portals = getPortals();
+    var fetchedEvents = fetchEvents(
+        portals.stream()
+            .map(Portal::cloneAsNewWithoutEvent)
+            .toList(),
+        searchCriteria
+    );
+
+    var portalsByName = portals.stream()
+        .collect(Collectors.toMap(Portal::getPortalName, Function.identity()));
+
+    var results = fetchedEvents.stream()
+        .map(fetchedEvent ->
+            fetchedEvent.event()
+                .map(event -> this.incrementalEventUpdater.update(portalsByName.get(fetchedEvent.result().portalName()), event))
+                .map(fetchedEvent.result()::withChanges)
+                .orElseGet(fetchedEvent::result)
+        )
+        .toList();
+
+    this.portalRepository.flush();
+    indexRefreshedEvents(results, portalsByName);
+    Log.infof(
+        "Successfully updated events: %s",
+        results.stream()
+            .map(PortalRefreshResult::changes)
+            .flatMap(Optional::stream)
+            .reduce(RefreshChanges.NONE, RefreshChanges::plus)
+    );
+
+    return results;
+  }
+
+  /**
+   * Refreshes a single portal's event, only inserting, updating, or deleting the rows that differ.
+   *
+   * @param portalName The name of the portal to refresh
+   * @param searchCriteria the criteria used to search for the event
+   * @return The outcome (including the changes that were made), or empty if there isn't a portal with the name
+   */
+  public Optional<PortalRefreshResult> refreshPortal(String portalName, TalkSearchCriteria searchCriteria) {
+    Log.debugf("Refreshing portal %s with search criteria: %s", portalName, searchCriteria);
+
+    return this.portalRepository.findByIdOptional(portalName)
+        .map(portal -> {
+          var fetchedEvent = fetchEvents(List.of(portal.cloneAsNewWithoutEvent()), searchCriteria).getFirst();
+          var result = fetchedEvent.event()
+              .map(event -> this.incrementalEventUpdater.update(portal, event))
+              .map(fetchedEvent.result()::withChanges)
+              .orElseGet(fetchedEvent::result);
+
+          this.portalRepository.flush();
+          indexRefreshedEvents(List.of(result), Map.of(portalName, portal));
+          Log.infof("Refreshed portal %s: %s", portalName, result);
+
+          return result;
+        });
+  }
+
+  /**
+   * Whether searches are answered from the stored data (see {@link SearchMode#LOCAL}) rather than by fetching
+   */
+  public boolean isLocalSearch() {
+    return this.config.searchMode() == SearchMode.LOCAL;
+  }
+
+  /**
+   * Searches the stored events without going to any of the portals.
+   * <p>
+   * Each event is narrowed down to the speakers and talks matching the criteria. The returned events are
+   * copies that aren't persisted, so the stored (complete) events are left alone.
+   * </p>
+   *
+   * @param searchCriteria the criteria used to search the stored events
+   * @return The matching events
+   */
+  public List<Event> searchEvents(TalkSearchCriteria searchCriteria) {
+    Log.debugf("Searching stored events with search criteria: %s", searchCriteria);
+    this.lastSearchCriteria.set(searchCriteria);
+
+    var compiledCriteria = searchCriteria.compiled();
+
+    return this.eventRepository.listAllFullyPopulated()
+        .stream()
+        .map(event -> StoredEventFilter.filter(event, compiledCriteria))
+        .toList();
+  }
+
+  /**
+   * Full-text searches the stored talks, along with their speakers' companies and bios, best match first.
+   * <p>
+   * The query is made up of words, {@code "quoted phrases"}, and {@code prefixes*}. It is answered from the
+   * in-memory {@link TalkSearchIndex}, which is kept up to date as events are stored, so the database isn't queried.
+   * </p>
+   *
+   * @param query The words, phrases, and prefixes to search for
+   * @param limit The maximum number of talks to return
+   */
+  public List<TalkSearchHit> searchTalks(String query, int limit) {
+    return searchTalks(query, TalkSearchFilter.NONE, limit);
+  }
+
+  /**
+   * Full-text searches the stored talks passing the filter, best match first
+   *
+   * @param query The words, phrases, and prefixes to search for
+   * @param filter The portals, speaker companies, and/or CFP status the talks must have
+   * @param limit The maximum number of talks to return
+   * @see #searchTalks(String, int)
+   */
+  public List<TalkSearchHit> searchTalks(String query, TalkSearchFilter filter, int limit) {
+    Log.debugf("Searching talks for %s with filter %s", query, filter);
+    return this.talkSearchIndex.search(query, filter, limit);
+  }
+
+  /**
+   * The search criteria used by the most recent search, if there has been one
+   */
+  public Optional<TalkSearchCriteria> getLastSearchCriteria() {
+    return Optional.ofNullable(this.lastSearchCriteria.get());
+  }
+
+  /**
+   * Fetches the events and replaces the stored ones with them. Portals that can't be fetched keep their
+   * previously stored (last known good) event.
+   *
+   * @param searchCriteria the criteria used to search for events
+   * @return The outcome for each portal
+   */
+  public List<PortalRefreshResult> recreateEvents(TalkSearchCriteria searchCriteria) {
     Log.debugf("Recreating events with search criteria: %s", searchCriteria);
-    this.eventRepository.deleteAllWithCascade();
-    createEvents(searchCriteria);
-    Log.debug("Successfully recreated events");
+    this.lastSearchCriteria.set(searchCriteria);
+
+    // Fetch into copies of the portals first so nothing is deleted for a portal that fails
+    var portals = getPortals();
+    var fetchedEvents = fetchEvents(
+        portals.stream()
+            .map(Portal::cloneAsNewWithoutEvent)
+            .toList(),
+        searchCriteria
+    );
+
+    var events = fetchedEvents.stream()
+        .map(FetchedEvent::event)
+        .flatMap(Optional::stream)
+        .toList();
+
+    this.eventRepository.deleteWithCascade(
+        events.stream()
+            .map(event -> event.getPortal().getPortalName())
+            .toList()
+    );
+
+    var insertedRows = this.eventBulkWriter.insert(events);
+    events.forEach(this.talkSearchIndex::index);
+    Log.debugf("Successfully recreated %d of %d events, inserting %s", events.size(), portals.size(), insertedRows);
+
+    return fetchedEvents.stream()
+        .map(FetchedEvent::result)
+        .toList();
+  }
+
+  /**
+   * Creates the configured portals that aren't stored yet, leaving the stored ones (and their events) alone.
+   * <p>
+   * Stored portals that aren't configured (anymore) stay as well. Portals can also be added in the UI, and there is
+   * no telling those apart from ones that were removed from the configuration, so they are only ever deleted
+   * explicitly, i.e. with {@link #deletePortal(String)}.
+   * </p>
+   */
+  private void createMissingPortals() {
+    this.config.portals()
+        .entrySet()
+        .stream()
+        .filter(entry -> !doesPortalNameExist(entry.getKey()))
+        .map(entry -> this.portalMapper.fromConfig(entry.getKey(), entry.getValue()))
+        .forEach(this.portalRepository::persist);
+
+    this.portalRepository.flush();
+  }
+
+  /**
+   * Refreshes every portal progressively, without holding anything up while it does
+   */
+  private void reloadInBackground(TalkSearchCriteria searchCriteria) {
+    var start = System.nanoTime();
+
+    refreshEventsProgressively(searchCriteria)
+        .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+        .collect().asList()
+        .subscribe().with(
+            results -> Log.infof(
+                "Reloaded %d of %d events in the background in %s",
+                results.stream().filter(PortalRefreshResult::isRefreshed).count(),
+                results.size(),
+                elapsedSince(start)
+            ),
+            failure -> Log.errorf(failure, "Failed to reload events in the background")
+        );
   }
 
   public boolean doesPortalNameExist(String portalName) {
@@ -135,37 +461,183 @@ public class CfpService {
   public void createEvents(TalkSearchCriteria searchCriteria) {
     Log.debugf("Creating events with search criteria: %s", searchCriteria);
 
-    // Let's parallelize this
-    var portals = getPortals();
+    // The portals are fetched concurrently, either on the event loop or on virtual threads, into copies of the portals
+    // Only the persistence happens on the calling (worker) thread, so a fetch that overruns its budget can't touch it
+    var results = recreateEvents(searchCriteria);
+    Log.infof(
+        "Successfully created %d of %d events",
+        results.stream().filter(PortalRefreshResult::isRefreshed).count(),
+        results.size()
+    );
+  }
+
+  /**
+   * Refreshes the stored events using the configured {@link CfpPortalsConfig#refreshMode() refresh mode}, one
+   * portal at a time as each one is fetched.
+   * <p>
+   * Each portal's event is stored in its own transaction as soon as it has been fetched, and its result is emitted
+   * straight after, so callers can show the first events without waiting for the slowest portal. Portals that fail
+   * keep their previously stored event.
+   * </p>
+   *
+   * @param searchCriteria the criteria used to search for events
+   * @return The outcome for each portal, in the order the portals complete
+   */
+  @Transactional(TxType.NOT_SUPPORTED)
+  public Multi<PortalRefreshResult> refreshEventsProgressively(TalkSearchCriteria searchCriteria) {
+    return Multi.createFrom().deferred(() -> {
+      Log.debugf("Progressively refreshing events with search criteria: %s", searchCriteria);
+      this.lastSearchCriteria.set(searchCriteria);
+
+      // This may be subscribed to on any thread, so the portals are read in their own transaction
+      var portals = QuarkusTransaction.requiringNew().call(this::getPortals);
+
+      return Multi.createFrom().iterable(portals)
+          .onItem().transformToUni(portal -> fetchEventWithinBudget(portal.cloneAsNewWithoutEvent(), searchCriteria))
+          .merge(Math.max(1, portals.size()))
+          .emitOn(Infrastructure.getDefaultWorkerPool())
+          .map(this::storeEvent);
+    });
+  }
+
+  /**
+   * Stores a single fetched event in its own transaction
+   */
+  private PortalRefreshResult storeEvent(FetchedEvent fetchedEvent) {
+    var result = fetchedEvent.result();
+    var start = System.nanoTime();
+
+    return fetchedEvent.event()
+        .map(event -> {
+          try {
+            return QuarkusTransaction.requiringNew().call(() ->
+                this.portalRepository.findByIdOptional(result.portalName())
+                    .map(portal -> switch (this.config.refreshMode()) {
+                      case RECREATE -> {
+                        this.eventRepository.deleteWithCascade(List.of(result.portalName()));
+                        this.eventBulkWriter.insert(List.of(event));
+                        this.talkSearchIndex.index(event);
+                        yield result;
+                      }
+                      case INCREMENTAL -> {
+                        var changes = this.incrementalEventUpdater.update(portal, event);
+                        this.portalRepository.flush();
+                        indexRefreshedEvents(List.of(result), Map.of(result.portalName(), portal));
+                        yield result.withChanges(changes);
+                      }
+                    })
+                    .orElse(result)
+            )
+                .withStoreDuration(elapsedSince(start));
+          }
+          catch (RuntimeException e) {
+            Log.errorf(e, "Failed to store event for portal %s", result.portalName());
+            return result.failedToStore(e)
+                .withStoreDuration(elapsedSince(start));
+          }
+        })
+        .orElse(result);
+  }
+
+  /**
+   * Fetches the events for the portals concurrently, within the search {@link CfpPortalsConfig#deadline() deadline}.
+   * <p>
+   * Each portal gets its own budget. When it runs out the portal's in-flight calls are cancelled. A portal that
+   * fails, times out, or whose circuit breaker is open doesn't fail the others, it just doesn't have an event.
+   * </p>
+   */
+  private List<FetchedEvent> fetchEvents(List<Portal> portals, TalkSearchCriteria searchCriteria) {
     var unis = portals.stream()
-        .map(portal ->
-            Uni.createFrom()
-                .item(() -> this.clientManager.createEvent(portal, searchCriteria))
-                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
-        )
+        .map(portal -> fetchEventWithinBudget(portal, searchCriteria))
         .toList();
 
-    Uni.join()
+    // Every portal finishes (one way or another) within its budget, which is never longer than the deadline
+    return Uni.join()
         .all(unis)
         .andCollectFailures()
-        .onFailure().invoke(t -> Log.errorf(t, "Failed to create events"))
-//        .andFailFast()
-        .await().atMost(this.config.timeout().multipliedBy(portals.size()));
+        .await().atMost(this.config.deadline().search().plusSeconds(1));
+  }
+
+  /**
+   * Fetches the event for a single portal within its budget, never failing
+   */
+  private Uni<FetchedEvent> fetchEventWithinBudget(Portal portal, TalkSearchCriteria searchCriteria) {
+    var portalBudget = this.config.deadline().portalBudget();
+
+    return Uni.createFrom().deferred(() -> {
+      var portalName = portal.getPortalName();
+      var start = System.nanoTime();
+      var fetchStats = new FetchStats();
+
+      return fetchEvent(portal, criteriaToFetch(searchCriteria), fetchStats)
+          .ifNoItem().after(portalBudget).fail()
+          .map(event -> {
+            var result = PortalRefreshResult.refreshed(portalName, elapsedSince(start), fetchStats.getParseDuration(), fetchStats.getBytesReceived(), event);
+            return new FetchedEvent(result, Optional.of(event));
+          })
+          .onFailure().recoverWithItem(t -> {
+            var result = PortalRefreshResult.failed(portalName, elapsedSince(start), fetchStats.getParseDuration(), fetchStats.getBytesReceived(), t);
+
+            switch (result.status()) {
+              case TIMED_OUT -> Log.warnf("Portal %s didn't answer within %s", portalName, portalBudget);
+              case CIRCUIT_OPEN -> Log.warn(t.getMessage());
+              default -> Log.errorf(t, "Failed to fetch event for portal %s", portalName);
+            }
 
-    this.portalRepository.persist(portals);
-    Log.info("Successfully created events");
+            return new FetchedEvent(result, Optional.empty());
+          });
+    });
+  }
+
+  /**
+   * When searching locally, every portal's complete data is stored no matter what was searched for
+   */
+  private TalkSearchCriteria criteriaToFetch(TalkSearchCriteria searchCriteria) {
+    return isLocalSearch() ? MATCH_ALL : searchCriteria;
+  }
+
+  private Uni<Event> fetchEvent(Portal portal, TalkSearchCriteria searchCriteria, FetchStats fetchStats) {
+    return switch (this.config.executionMode()) {
+      case EVENT_LOOP -> this.clientManager.createEventAsync(portal, searchCriteria, fetchStats);
+      case VIRTUAL_THREADS -> this.virtualThreadPortalExecutor.submit(() -> this.clientManager.createEvent(portal, searchCriteria, fetchStats));
+    };
+  }
+
+  /**
+   * Re-indexes the stored events of the portals that were refreshed, once the changes have been applied to them
+   */
+  private void indexRefreshedEvents(List<PortalRefreshResult> results, Map<String, Portal> portalsByName) {
+    results.stream()
+        .filter(PortalRefreshResult::isRefreshed)
+        .map(result -> portalsByName.get(result.portalName()))
+        .filter(Objects::nonNull)
+        .map(Portal::getEvent)
+        .filter(Objects::nonNull)
+        .forEach(this.talkSearchIndex::index);
+  }
+
+  private static Duration elapsedSince(long start) {
+    return Duration.ofNanos(System.nanoTime() - start);
   }
 
   public List<Event> getEvents() {
     return this.eventRepository.listAll();
   }
 
+  /**
+   * Gets every event with its speakers and their talks loaded, so they can be used outside of a transaction
+   */
   public List<Event> getFullyPopulatedEvents() {
-    var events = this.eventRepository.listAll();
+    return this.eventRepository.listAllFullyPopulated();
+  }
 
-    // Need to trigger lazy initialization
-    events.forEach(Event::getTalkCount);
+  /**
+   * Gets a single portal's event with its speakers and their talks loaded, so it can be used outside of a transaction
+   */
+  public Optional<Event> getFullyPopulatedEvent(String portalName) {
+    return this.eventRepository.findByIdFullyPopulated(portalName);
+  }
 
-    return events;
+  private record FetchedEvent(PortalRefreshResult result, Optional<Event> event) {
   }
 }
@@ -0,0 +1,230 @@
+package com.redhat.cfpaggregator.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+
+/**
+ * Applies a freshly fetched {@link Event} to the one already stored for a portal, only touching the rows that differ.
+ * <p>
+ * Events are matched on {@code portalName}, speakers on {@code eventSpeakerId} and talks on {@code eventTalkId}.
+ * Anything new is inserted, anything that changed is updated in place, and anything no longer returned by the
+ * portal is deleted.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+@ApplicationScoped
+@Transactional
+public class IncrementalEventUpdater {
+  private final EntityManager entityManager;
+
+  public IncrementalEventUpdater(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * Applies the fetched event to the (managed) portal
+   *
+   * @param portal The managed portal, which may or may not already have an event
+   * @param fetchedEvent The transient event, as fetched from the portal
+   * @return The changes that were made
+   */
+  public RefreshChanges update(Portal portal, Event fetchedEvent) {
+    var storedEvent = portal.getEvent();
+
+    if (storedEvent == null) {
+      portal.setEvent(fetchedEvent);
+      var talkCount = uniqueTalks(fetchedEvent.getSpeakers()).size();
+
+      return new RefreshChanges(1, 0, fetchedEvent.getSpeakers().size(), 0, 0, talkCount, 0, 0);
+    }
+
+    var eventUpdated = updateEvent(storedEvent, fetchedEvent);
+
+    // All the talks currently stored for the event, keyed by their event talk id
+    var storedTalks = uniqueTalks(storedEvent.getSpeakers());
+    var fetchedTalkIds = uniqueTalks(fetchedEvent.getSpeakers()).keySet();
+    var storedSpeakers = storedEvent.getSpeakers()
+        .stream()
+        .collect(Collectors.toMap(Speaker::getEventSpeakerId, Function.identity(), (first, second) -> first));
+
+    var speakersInserted = 0;
+    var speakersUpdated = 0;
+    var talksInserted = new HashSet<String>();
+    var talksUpdated = new HashSet<String>();
+    var fetchedSpeakerIds = new HashSet<String>();
+
+    for (var fetchedSpeaker : fetchedEvent.getSpeakers()) {
+      if (!fetchedSpeakerIds.add(fetchedSpeaker.getEventSpeakerId())) {
+        continue;
+      }
+
+      var storedSpeaker = storedSpeakers.get(fetchedSpeaker.getEventSpeakerId());
+
+      if (storedSpeaker == null) {
+        storedSpeaker = fetchedSpeaker.cloneAsNew();
+        storedEvent.addSpeakers(storedSpeaker);
+        speakersInserted++;
+      }
+      else if (updateSpeaker(storedSpeaker, fetchedSpeaker)) {
+        speakersUpdated++;
+      }
+
+      updateTalks(storedSpeaker, fetchedSpeaker.getTalks(), storedTalks, talksInserted, talksUpdated);
+    }
+
+    // Speakers no longer returned by the portal
+    var removedSpeakers = storedEvent.getSpeakers()
+        .stream()
+        .filter(speaker -> !fetchedSpeakerIds.contains(speaker.getEventSpeakerId()))
+        .toList();
+
+    removedSpeakers.forEach(speaker -> {
+      // Detach the talks first so the cascade doesn't remove talks still given by other speakers
+      speaker.getTalks().forEach(talk -> talk.getSpeakers().removeIf(existing -> existing == speaker));
+      speaker.getTalks().clear();
+      storedEvent.getSpeakers().removeIf(existing -> existing == speaker);
+    });
+
+    // Talks no longer returned by the portal
+    var removedTalks = storedTalks.values()
+        .stream()
+        .filter(talk -> !fetchedTalkIds.contains(talk.getEventTalkId()))
+        .toList();
+
+    removedTalks.forEach(talk -> {
+      talk.getSpeakers().forEach(speaker -> speaker.getTalks().removeIf(existing -> existing == talk));
+      talk.getSpeakers().clear();
+
+      if (talk.getId() != null) {
+        this.entityManager.remove(talk);
+      }
+    });
+
+    return new RefreshChanges(
+        0,
+        eventUpdated ? 1 : 0,
+        speakersInserted,
+        speakersUpdated,
+        removedSpeakers.size(),
+        talksInserted.size(),
+        talksUpdated.size(),
+        removedTalks.size()
+    );
+  }
+
+  private void updateTalks(Speaker storedSpeaker, List<Talk> fetchedTalks, Map<String, Talk> storedTalks, Set<String> talksInserted, Set<String> talksUpdated) {
+    var fetchedTalkIds = new HashSet<String>();
+
+    for (var fetchedTalk : fetchedTalks) {
+      var eventTalkId = fetchedTalk.getEventTalkId();
+
+      if (!fetchedTalkIds.add(eventTalkId)) {
+        continue;
+      }
+
+      var storedTalk = storedTalks.get(eventTalkId);
+
+      if (storedTalk == null) {
+        // Co-speakers share the same talk, so only create it once
+        storedTalk = fetchedTalk.cloneAsNew();
+        storedTalks.put(eventTalkId, storedTalk);
+        talksInserted.add(eventTalkId);
+      }
+      else if (!talksInserted.contains(eventTalkId) && updateTalk(storedTalk, fetchedTalk)) {
+        talksUpdated.add(eventTalkId);
+      }
+
+      // Talk equality is id based, so compare by identity to cope with talks that haven't been persisted yet
+      var talk = storedTalk;
+
+      if (storedSpeaker.getTalks().stream().noneMatch(existing -> existing == talk)) {
+        storedSpeaker.addTalks(storedTalk);
+      }
+    }
+
+    // Talks this speaker no longer gives
+    List.copyOf(storedSpeaker.getTalks())
+        .stream()
+        .filter(talk -> !fetchedTalkIds.contains(talk.getEventTalkId()))
+        .forEach(talk -> {
+          storedSpeaker.getTalks().removeIf(existing -> existing == talk);
+          talk.getSpeakers().removeIf(existing -> existing == storedSpeaker);
+        });
+  }
+
+  private static Map<String, Talk> uniqueTalks(List<Speaker> speakers) {
+    var talks = new HashMap<String, Talk>();
+
+    speakers.stream()
+        .map(Speaker::getTalks)
+        .flatMap(List::stream)
+        .filter(Objects::nonNull)
+        .forEach(talk -> talks.putIfAbsent(talk.getEventTalkId(), talk));
+
+    return talks;
+  }
+
+  private static boolean updateEvent(Event stored, Event fetched) {
+    var changed = update(stored, Event::getName, Event::setName, fetched.getName());
+    changed |= update(stored, Event::getDescription, Event::setDescription, fetched.getDescription());
+    changed |= update(stored, Event::getFlickrUrl, Event::setFlickrUrl, fetched.getFlickrUrl());
+    changed |= update(stored, Event::getFromDate, Event::setFromDate, fetched.getFromDate());
+    changed |= update(stored, Event::getTimeZone, Event::setTimeZone, fetched.getTimeZone());
+    changed |= update(stored, Event::getToDate, Event::setToDate, fetched.getToDate());
+    changed |= update(stored, Event::getWebsiteUrl, Event::setWebsiteUrl, fetched.getWebsiteUrl());
+    changed |= update(stored, Event::getYouTubeUrl, Event::setYouTubeUrl, fetched.getYouTubeUrl());
+    changed |= update(stored, Event::getCfpOpening, Event::setCfpOpening, fetched.getCfpOpening());
+    changed |= update(stored, Event::getCfpClosing, Event::setCfpClosing, fetched.getCfpClosing());
+
+    return changed;
+  }
+
+  private static boolean updateSpeaker(Speaker stored, Speaker fetched) {
+    var changed = update(stored, Speaker::getFirstName, Speaker::setFirstName, fetched.getFirstName());
+    changed |= update(stored, Speaker::getLastName, Speaker::setLastName, fetched.getLastName());
+    changed |= update(stored, Speaker::getCompany, Speaker::setCompany, fetched.getCompany());
+    changed |= update(stored, Speaker::getImageUrl, Speaker::setImageUrl, fetched.getImageUrl());
+    changed |= update(stored, Speaker::getTwitterHandle, Speaker::setTwitterHandle, fetched.getTwitterHandle());
+    changed |= update(stored, Speaker::getLinkedInUsername, Speaker::setLinkedInUsername, fetched.getLinkedInUsername());
+    changed |= update(stored, Speaker::getBlueskyUsername, Speaker::setBlueskyUsername, fetched.getBlueskyUsername());
+    changed |= update(stored, Speaker::getCountryName, Speaker::setCountryName, fetched.getCountryName());
+    changed |= update(stored, Speaker::getBio, Speaker::setBio, fetched.getBio());
+
+    return changed;
+  }
+
+  private static boolean updateTalk(Talk stored, Talk fetched) {
+    var changed = update(stored, Talk::getTitle, Talk::setTitle, fetched.getTitle());
+    changed |= update(stored, Talk::getDescription, Talk::setDescription, fetched.getDescription());
+    changed |= update(stored, Talk::getVideoUrl, Talk::setVideoUrl, fetched.getVideoUrl());
+    changed |= update(stored, Talk::getSummary, Talk::setSummary, fetched.getSummary());
+
+    return changed;
+  }
+
+  private static <E, V> boolean update(E entity, Function<E, V> getter, BiConsumer<E, V> setter, V newValue) {
+    if (Objects.equals(getter.apply(entity), newValue)) {
+      return false;
+    }
+
+    setter.accept(entity, newValue);
+    return true;
+  }
+}
@@ -0,0 +1,111 @@
+package com.redhat.cfpaggregator.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.smallrye.mutiny.TimeoutException;
+
+import com.redhat.cfpaggregator.client.CircuitBreakerOpenException;
+import com.redhat.cfpaggregator.domain.Event;
+
+/**
+ * The outcome of refreshing a single portal as part of a search.
+ *
+ * @param portalName The name of the portal
+ * @param status Whether the portal was refreshed, and if not why not
+ * @param duration How long fetching the portal took, including parsing what it returned
+ * @param parseDuration How much of the {@code duration} was spent reading and parsing the responses once they had been received
+ * @param storeDuration How long storing the portal's event took, if it was stored on its own
+ * @param bytesReceived The number of bytes received from the portal
+ * @param speakerCount The number of speakers fetched
+ * @param talkCount The number of talks fetched
+ * @param error What went wrong, if the portal wasn't refreshed
+ * @param changes The rows that were changed, if the portal was refreshed incrementally
+ * @author Eric Deandrea
+ */
+public record PortalRefreshResult(
+    String portalName,
+    Status status,
+    Duration duration,
+    Duration parseDuration,
+    Optional<Duration> storeDuration,
+    long bytesReceived,
+    int speakerCount,
+    int talkCount,
+    Optional<String> error,
+    Optional<RefreshChanges> changes
+) {
+  public enum Status {
+    /**
+     * The portal was fetched & its event stored
+     */
+    REFRESHED,
+
+    /**
+     * The portal didn't answer within its budget, its previous event was kept
+     */
+    TIMED_OUT,
+
+    /**
+     * The portal's circuit breaker is open so it wasn't called, its previous event was kept
+     */
+    CIRCUIT_OPEN,
+
+    /**
+     * Fetching the portal failed, its previous event was kept
+     */
+    FAILED
+  }
+
+  public static PortalRefreshResult refreshed(String portalName, Duration duration) {
+    return refreshed(portalName, duration, Duration.ZERO, 0, null);
+  }
+
+  public static PortalRefreshResult refreshed(String portalName, Duration duration, Duration parseDuration, long bytesReceived, Event event) {
+    var speakerCount = (event != null) ? event.getSpeakerCount() : 0;
+    var talkCount = (event != null) ? event.getTalkCount() : 0;
+
+    return new PortalRefreshResult(portalName, Status.REFRESHED, duration, parseDuration, Optional.empty(), bytesReceived, speakerCount, talkCount, Optional.empty(), Optional.empty());
+  }
+
+  public static PortalRefreshResult failed(String portalName, Duration duration, Throwable error) {
+    return failed(portalName, duration, Duration.ZERO, 0, error);
+  }
+
+  public static PortalRefreshResult failed(String portalName, Duration duration, Duration parseDuration, long bytesReceived, Throwable error) {
+    var status = switch (error) {
+      case TimeoutException e -> Status.TIMED_OUT;
+      case CircuitBreakerOpenException e -> Status.CIRCUIT_OPEN;
+      default -> Status.FAILED;
+    };
+
+    return new PortalRefreshResult(portalName, status, duration, parseDuration, Optional.empty(), bytesReceived, 0, 0, Optional.ofNullable(error.getMessage()), Optional.empty());
+  }
+
+  /**
+   * The same refresh, but failed because its event couldn't be stored
+   */
+  public PortalRefreshResult failedToStore(Throwable error) {
+    return failed(this.portalName, this.duration, this.parseDuration, this.bytesReceived, error);
+  }
+
+  public PortalRefreshResult withChanges(RefreshChanges changes) {
+    return new PortalRefreshResult(this.portalName, this.status, this.duration, this.parseDuration, this.storeDuration, this.bytesReceived, this.speakerCount, this.talkCount, this.error, Optional.ofNullable(changes));
+  }
+
+  public PortalRefreshResult withStoreDuration(Duration storeDuration) {
+    return new PortalRefreshResult(this.portalName, this.status, this.duration, this.parseDuration, Optional.ofNullable(storeDuration), this.bytesReceived, this.speakerCount, this.talkCount, this.error, this.changes);
+  }
+
+  /**
+   * How long was spent fetching the portal, not counting parsing what it returned
+   */
+  public Duration fetchDuration() {
+    var fetchDuration = this.duration.minus(this.parseDuration);
+    return fetchDuration.isNegative() ? Duration.ZERO : fetchDuration;
+  }
+
+  public boolean isRefreshed() {
+    return this.status == Status.REFRESHED;
+  }
+}
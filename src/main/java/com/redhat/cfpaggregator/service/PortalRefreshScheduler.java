@@ -0,0 +1,141 @@
+package com.redhat.cfpaggregator.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import io.quarkus.scheduler.Scheduled.ConcurrentExecution;
+
+import com.redhat.cfpaggregator.config.CfpPortalsConfig;
+import com.redhat.cfpaggregator.config.CfpPortalsConfig.SearchMode;
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.mapping.TalkSearchCriteriaMapper;
+
+/**
+ * Refreshes each portal in the background on its own interval, rather than only when a user searches.
+ * <p>
+ * The interval is driven by the portal's event: portals with an open CFP are refreshed most often,
+ * portals with an upcoming (or in progress) event less often, and portals whose event is over rarely,
+ * if at all. Due portals are refreshed one at a time so the upstream load is spread out over time.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+@ApplicationScoped
+public class PortalRefreshScheduler {
+  private final CfpService cfpService;
+  private final CfpPortalsConfig config;
+  private final TalkSearchCriteriaMapper talkSearchCriteriaMapper;
+  private final Map<String, Instant> lastRefreshed = new ConcurrentHashMap<>();
+
+  public PortalRefreshScheduler(CfpService cfpService, CfpPortalsConfig config, TalkSearchCriteriaMapper talkSearchCriteriaMapper) {
+    this.cfpService = cfpService;
+    this.config = config;
+    this.talkSearchCriteriaMapper = talkSearchCriteriaMapper;
+  }
+
+  @Scheduled(every = "${cfps.scheduler.tick:1m}", delayed = "${cfps.scheduler.tick:1m}", concurrentExecution = ConcurrentExecution.SKIP)
+  void tick() {
+    // Local searches never fetch, so the scheduler is the only thing keeping the stored data fresh
+    if (this.config.scheduler().enabled() || (this.config.searchMode() == SearchMode.LOCAL)) {
+      refreshDuePortals(Instant.now());
+    }
+  }
+
+  /**
+   * Refreshes every portal that is due for a refresh at the given time
+   *
+   * @return The changes that were made across all of the refreshed portals
+   */
+  RefreshChanges refreshDuePortals(Instant now) {
+    var searchCriteria = this.cfpService.getLastSearchCriteria()
+        .orElseGet(() -> this.talkSearchCriteriaMapper.fromConfig(this.config.defaultSearchCriteria()));
+
+    var events = this.cfpService.getEvents()
+        .stream()
+        .collect(Collectors.toMap(Event::getPortalName, Function.identity()));
+
+    var changes = RefreshChanges.NONE;
+
+    for (var portalName : this.cfpService.getPortals().stream().map(Portal::getPortalName).toList()) {
+      var event = events.get(portalName);
+
+      // Portals that already have data start their interval now rather than all refreshing on the first tick
+      if (event != null) {
+        this.lastRefreshed.putIfAbsent(portalName, now);
+      }
+
+      var due = refreshIntervalFor(event, now)
+          .map(interval -> isDue(portalName, interval, now))
+          .orElse(false);
+
+      if (due) {
+        Log.debugf("Portal %s is due for a refresh", portalName);
+        this.lastRefreshed.put(portalName, now);
+
+        try {
+          changes = changes.plus(
+              this.cfpService.refreshPortal(portalName, searchCriteria)
+                  .flatMap(PortalRefreshResult::changes)
+                  .orElse(RefreshChanges.NONE)
+          );
+        }
+        catch (RuntimeException e) {
+          Log.errorf(e, "Failed to refresh portal %s", portalName);
+        }
+      }
+    }
+
+    return changes;
+  }
+
+  /**
+   * Determines how often a portal with the given event should be refreshed
+   *
+   * @param event The portal's current event, or {@code null} if it doesn't have one yet
+   * @return The refresh interval, or empty if the portal shouldn't be refreshed in the background
+   */
+  Optional<Duration> refreshIntervalFor(Event event, Instant now) {
+    var scheduler = this.config.scheduler();
+
+    if (event == null) {
+      return Optional.of(scheduler.defaultInterval());
+    }
+
+    if (isBetween(now, event.getCfpOpening(), event.getCfpClosing())) {
+      return Optional.of(scheduler.openCfpInterval());
+    }
+
+    var eventEnd = Optional.ofNullable(event.getToDate()).orElse(event.getFromDate());
+
+    if ((eventEnd != null) && eventEnd.isBefore(now)) {
+      return scheduler.pastEventInterval();
+    }
+
+    if (isBetween(event.getFromDate(), now, now.plus(scheduler.upcomingEventWindow())) || isBetween(now, event.getFromDate(), eventEnd)) {
+      return Optional.of(scheduler.upcomingEventInterval());
+    }
+
+    return Optional.of(scheduler.defaultInterval());
+  }
+
+  private boolean isDue(String portalName, Duration interval, Instant now) {
+    return Optional.ofNullable(this.lastRefreshed.get(portalName))
+        .map(last -> !now.isBefore(last.plus(interval)))
+        .orElse(true);
+  }
+
+  private static boolean isBetween(Instant instant, Instant start, Instant end) {
+    return (instant != null) && (start != null) && (end != null) &&
+        !instant.isBefore(start) && !instant.isAfter(end);
+  }
+}
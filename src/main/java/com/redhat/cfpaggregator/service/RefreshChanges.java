@@ -0,0 +1,36 @@
+package com.redhat.cfpaggregator.service;
+
+/**
+ * Summary of the rows that were inserted, updated, or deleted by a refresh.
+ *
+ * @author Eric Deandrea
+ */
+public record RefreshChanges(
+    int eventsInserted,
+    int eventsUpdated,
+    int speakersInserted,
+    int speakersUpdated,
+    int speakersDeleted,
+    int talksInserted,
+    int talksUpdated,
+    int talksDeleted
+) {
+  public static final RefreshChanges NONE = new RefreshChanges(0, 0, 0, 0, 0, 0, 0, 0);
+
+  public RefreshChanges plus(RefreshChanges other) {
+    return new RefreshChanges(
+        this.eventsInserted + other.eventsInserted,
+        this.eventsUpdated + other.eventsUpdated,
+        this.speakersInserted + other.speakersInserted,
+        this.speakersUpdated + other.speakersUpdated,
+        this.speakersDeleted + other.speakersDeleted,
+        this.talksInserted + other.talksInserted,
+        this.talksUpdated + other.talksUpdated,
+        this.talksDeleted + other.talksDeleted
+    );
+  }
+
+  public boolean hasChanges() {
+    return !equals(NONE);
+  }
+}
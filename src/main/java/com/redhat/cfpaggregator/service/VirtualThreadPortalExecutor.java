@@ -0,0 +1,94 @@
+package com.redhat.cfpaggregator.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+/**
+ * Runs portal fetches on virtual threads, one virtual thread per portal.
+ *
+ * Exposes metrics for the number of in-flight fetches, the number of fetches started, and how long each fetch took.
+ *
+ * @author Eric Deandrea
+ */
+@ApplicationScoped
+public class VirtualThreadPortalExecutor {
+  private static final String METRIC_PREFIX = "cfps.portal.fetch.virtual-threads";
+
+  private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual()
+          .name("cfp-portal-fetch-", 0)
+          .factory()
+  );
+
+  private final AtomicInteger activeFetches = new AtomicInteger();
+  private final Counter startedFetches;
+  private final Timer fetchDuration;
+
+  public VirtualThreadPortalExecutor(MeterRegistry meterRegistry) {
+    Gauge.builder("%s.active".formatted(METRIC_PREFIX), this.activeFetches, AtomicInteger::get)
+        .description("The number of portal fetches currently running on virtual threads")
+        .register(meterRegistry);
+
+    this.startedFetches = Counter.builder("%s.started".formatted(METRIC_PREFIX))
+        .description("The number of portal fetches started on virtual threads")
+        .register(meterRegistry);
+
+    this.fetchDuration = Timer.builder("%s.duration".formatted(METRIC_PREFIX))
+        .description("How long each portal fetch took on its virtual thread")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Runs the supplied (blocking) task on its own virtual thread when the returned {@link Uni} is subscribed to.
+   * Cancelling the returned {@link Uni} (i.e. when the portal's budget runs out) interrupts the virtual thread,
+   * so the task doesn't keep running once nobody is waiting for it.
+   */
+  public <T> Uni<T> submit(Supplier<T> task) {
+    return Uni.createFrom().deferred(() -> {
+      var fetch = new AtomicReference<Future<?>>();
+
+      return Uni.createFrom().<T>emitter(emitter -> fetch.set(this.executor.submit(() -> run(task, emitter))))
+          .onCancellation().invoke(() -> {
+            var runningFetch = fetch.get();
+
+            if (runningFetch != null) {
+              runningFetch.cancel(true);
+            }
+          });
+    });
+  }
+
+  private <T> void run(Supplier<T> task, UniEmitter<? super T> emitter) {
+    this.startedFetches.increment();
+    this.activeFetches.incrementAndGet();
+
+    try {
+      emitter.complete(this.fetchDuration.record(task));
+    }
+    catch (Throwable t) {
+      emitter.fail(t);
+    }
+    finally {
+      this.activeFetches.decrementAndGet();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    this.executor.shutdownNow();
+  }
+}
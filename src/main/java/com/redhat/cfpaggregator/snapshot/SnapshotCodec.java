@@ -0,0 +1,527 @@
+package com.redhat.cfpaggregator.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.domain.PortalType;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+
+/**
+ * Encodes portals, along with their events, speakers, and talks, into a compact, versioned binary snapshot, and back.
+ * <p>
+ * A snapshot starts with a 4 byte magic number and a 1 byte format version, followed by a gzipped body. The body
+ * is a dictionary of every distinct string, then one table each for portals, events, speakers, talks, and the links
+ * between speakers and talks. Each table is its row count followed by its columns, one after the other. Strings are
+ * stored as their index in the dictionary, so values that repeat a lot (companies, countries, time zones, ...) are
+ * only stored once, and rows refer to rows in other tables by their index. All numbers are variable-length encoded,
+ * so small ones only take a byte.
+ * </p>
+ * <p>
+ * Database ids aren't part of a snapshot, so it can be restored into any database.
+ * </p>
+ * <p>
+ * Snapshots can be uploaded, so nothing read from one is trusted. The body is never decompressed past
+ * {@link #MAX_BODY_SIZE}, and no table or string can claim more rows or bytes than are left in the body, so a
+ * corrupt or malicious snapshot fails with a {@link SnapshotException} rather than exhausting the heap.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+public final class SnapshotCodec {
+  static final int MAGIC = 0x43465053; // "CFPS"
+  static final int VERSION = 1;
+
+  /**
+   * The largest (decompressed) body that is read. Snapshots of every portal there is are a fraction of it.
+   */
+  static final int MAX_BODY_SIZE = 256 * 1024 * 1024;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private SnapshotCodec() {
+    // Utility class
+  }
+
+  /**
+   * Writes a snapshot of the portals
+   *
+   * @param portals The portals. Their events, speakers, and talks are included.
+   * @param outputStream Where to write the snapshot. It isn't closed.
+   */
+  public static void write(List<Portal> portals, OutputStream outputStream) throws IOException {
+    var encoder = new Encoder();
+    encoder.encode(portals);
+
+    var out = new DataOutputStream(outputStream);
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+
+    var gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+    encoder.writeTo(gzip);
+    gzip.finish();
+    out.flush();
+  }
+
+  /**
+   * Reads a snapshot back into portals, with their events, speakers, and talks. None of them have ids.
+   *
+   * @param inputStream The snapshot. It isn't closed.
+   * @throws SnapshotException If it isn't a valid snapshot, or is from an unsupported version
+   */
+  public static List<Portal> read(InputStream inputStream) throws IOException {
+    return read(inputStream, MAX_BODY_SIZE);
+  }
+
+  static List<Portal> read(InputStream inputStream, int maxBodySize) throws IOException {
+    var in = new DataInputStream(inputStream);
+
+    if (in.readInt() != MAGIC) {
+      throw new SnapshotException("Not a snapshot");
+    }
+
+    var version = in.readUnsignedByte();
+
+    if (version != VERSION) {
+      throw new SnapshotException("Unsupported snapshot version %d. Only version %d is supported.".formatted(version, VERSION));
+    }
+
+    var decoder = new Decoder(decompress(in, maxBodySize));
+
+    try {
+      return decoder.decode();
+    }
+    catch (IndexOutOfBoundsException | IllegalArgumentException | ArithmeticException | NegativeArraySizeException | DateTimeException e) {
+      throw new SnapshotException("Corrupt snapshot", e);
+    }
+  }
+
+  /**
+   * Decompresses the body, giving up as soon as it is larger than it is allowed to be
+   */
+  private static byte[] decompress(InputStream in, int maxBodySize) throws IOException {
+    var body = new ByteArrayOutputStream(BUFFER_SIZE);
+    var buffer = new byte[BUFFER_SIZE];
+
+    // Not closed, since that would close the caller's stream
+    try {
+      var gzip = new GZIPInputStream(in, BUFFER_SIZE);
+
+      for (var read = gzip.read(buffer); read != -1; read = gzip.read(buffer)) {
+        if (body.size() > maxBodySize - read) {
+          throw new SnapshotException("Snapshot is larger than %d bytes once decompressed".formatted(maxBodySize));
+        }
+
+        body.write(buffer, 0, read);
+      }
+    }
+    catch (ZipException | EOFException e) {
+      throw new SnapshotException("Corrupt snapshot: it isn't compressed properly", e);
+    }
+
+    return body.toByteArray();
+  }
+
+  private static void writeVarLong(OutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+
+    out.write((int) value);
+  }
+
+  private static final class Encoder {
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final ByteArrayOutputStream tables = new ByteArrayOutputStream(BUFFER_SIZE);
+
+    private void encode(List<Portal> portals) throws IOException {
+      var events = new ArrayList<Event>();
+      var eventPortals = new ArrayList<Integer>();
+
+      for (var portal = 0; portal < portals.size(); portal++) {
+        var event = portals.get(portal).getEvent();
+
+        if (event != null) {
+          events.add(event);
+          eventPortals.add(portal);
+        }
+      }
+
+      var speakers = new ArrayList<Speaker>();
+      var speakerEvents = new ArrayList<Integer>();
+
+      for (var event = 0; event < events.size(); event++) {
+        for (var speaker : events.get(event).getSpeakers()) {
+          speakers.add(speaker);
+          speakerEvents.add(event);
+        }
+      }
+
+      // A talk with more than one speaker is only stored once
+      var talkIndexes = new IdentityHashMap<Talk, Integer>();
+      var talks = new ArrayList<Talk>();
+      var linkSpeakers = new ArrayList<Integer>();
+      var linkTalks = new ArrayList<Integer>();
+
+      for (var speaker = 0; speaker < speakers.size(); speaker++) {
+        for (var talk : speakers.get(speaker).getTalks()) {
+          var talkIndex = talkIndexes.get(talk);
+
+          if (talkIndex == null) {
+            talkIndex = talks.size();
+            talkIndexes.put(talk, talkIndex);
+            talks.add(talk);
+          }
+
+          linkSpeakers.add(speaker);
+          linkTalks.add(talkIndex);
+        }
+      }
+
+      count(portals.size());
+      strings(portals, Portal::getPortalName);
+      strings(portals, Portal::getBaseUrl);
+      strings(portals, Portal::getDescription);
+      strings(portals, portal -> (portal.getPortalType() != null) ? portal.getPortalType().name() : null);
+
+      count(events.size());
+      increasing(eventPortals);
+      strings(events, Event::getName);
+      strings(events, Event::getDescription);
+      strings(events, Event::getFlickrUrl);
+      strings(events, Event::getWebsiteUrl);
+      strings(events, Event::getYouTubeUrl);
+      strings(events, Event::getTimeZone);
+      instants(events, Event::getFromDate);
+      instants(events, Event::getToDate);
+      instants(events, Event::getCfpOpening);
+      instants(events, Event::getCfpClosing);
+
+      count(speakers.size());
+      increasing(speakerEvents);
+      strings(speakers, Speaker::getEventSpeakerId);
+      strings(speakers, Speaker::getFirstName);
+      strings(speakers, Speaker::getLastName);
+      strings(speakers, Speaker::getCompany);
+      strings(speakers, Speaker::getCountryName);
+      strings(speakers, Speaker::getBio);
+      strings(speakers, Speaker::getImageUrl);
+      strings(speakers, Speaker::getTwitterHandle);
+      strings(speakers, Speaker::getLinkedInUsername);
+      strings(speakers, Speaker::getBlueskyUsername);
+
+      count(talks.size());
+      strings(talks, Talk::getEventTalkId);
+      strings(talks, Talk::getTitle);
+      strings(talks, Talk::getSummary);
+      strings(talks, Talk::getDescription);
+      strings(talks, Talk::getVideoUrl);
+
+      count(linkSpeakers.size());
+      increasing(linkSpeakers);
+
+      for (var talk : linkTalks) {
+        writeVarLong(this.tables, talk);
+      }
+    }
+
+    private void writeTo(OutputStream out) throws IOException {
+      writeVarLong(out, this.strings.size());
+
+      for (var string : this.strings) {
+        var bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+      }
+
+      this.tables.writeTo(out);
+    }
+
+    private void count(int count) throws IOException {
+      writeVarLong(this.tables, count);
+    }
+
+    /**
+     * Each string is stored as 1 + its index in the dictionary, with 0 meaning {@code null}
+     */
+    private <T> void strings(List<T> rows, Function<T, String> column) throws IOException {
+      for (var row : rows) {
+        var value = column.apply(row);
+        var index = 0;
+
+        if (value != null) {
+          index = 1 + this.dictionary.computeIfAbsent(value, v -> {
+            this.strings.add(v);
+            return this.strings.size() - 1;
+          });
+        }
+
+        writeVarLong(this.tables, index);
+      }
+    }
+
+    /**
+     * Each instant is stored as 1 + its zig-zag encoded microseconds since the epoch (the precision of the
+     * database columns), with 0 meaning {@code null}
+     */
+    private <T> void instants(List<T> rows, Function<T, Instant> column) throws IOException {
+      for (var row : rows) {
+        var value = column.apply(row);
+        var micros = 0L;
+
+        if (value != null) {
+          var epochMicros = Math.addExact(Math.multiplyExact(value.getEpochSecond(), 1_000_000L), value.getNano() / 1_000);
+          micros = 1 + ((epochMicros << 1) ^ (epochMicros >> 63));
+        }
+
+        writeVarLong(this.tables, micros);
+      }
+    }
+
+    /**
+     * Values that never decrease are stored as the difference from the previous value, which is usually 0 or 1
+     */
+    private void increasing(List<Integer> values) throws IOException {
+      var previous = 0;
+
+      for (var value : values) {
+        writeVarLong(this.tables, value - previous);
+        previous = value;
+      }
+    }
+  }
+
+  private static final class Decoder {
+    private final byte[] bytes;
+    private int position;
+    private String[] strings;
+
+    private Decoder(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    private List<Portal> decode() {
+      this.strings = new String[rowCount()];
+
+      for (var i = 0; i < this.strings.length; i++) {
+        var length = rowCount();
+        this.strings[i] = new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+        this.position += length;
+      }
+
+      var portalCount = rowCount();
+      var portalNames = strings(portalCount);
+      var baseUrls = strings(portalCount);
+      var portalDescriptions = strings(portalCount);
+      var portalTypes = strings(portalCount);
+      var portals = new ArrayList<Portal>(portalCount);
+
+      for (var i = 0; i < portalCount; i++) {
+        portals.add(
+            Portal.builder()
+                .portalName(portalNames[i])
+                .baseUrl(baseUrls[i])
+                .description(portalDescriptions[i])
+                .portalType((portalTypes[i] != null) ? PortalType.valueOf(portalTypes[i]) : null)
+                .build()
+        );
+      }
+
+      var eventCount = rowCount();
+      var eventPortals = increasing(eventCount);
+      var eventNames = strings(eventCount);
+      var eventDescriptions = strings(eventCount);
+      var flickrUrls = strings(eventCount);
+      var websiteUrls = strings(eventCount);
+      var youTubeUrls = strings(eventCount);
+      var timeZones = strings(eventCount);
+      var fromDates = instants(eventCount);
+      var toDates = instants(eventCount);
+      var cfpOpenings = instants(eventCount);
+      var cfpClosings = instants(eventCount);
+      var events = new ArrayList<Event>(eventCount);
+
+      for (var i = 0; i < eventCount; i++) {
+        var portal = portals.get(eventPortals[i]);
+        var event = Event.builder()
+            .portalName(portal.getPortalName())
+            .name(eventNames[i])
+            .description(eventDescriptions[i])
+            .flickrUrl(flickrUrls[i])
+            .websiteUrl(websiteUrls[i])
+            .youTubeUrl(youTubeUrls[i])
+            .timeZone(timeZones[i])
+            .fromDate(fromDates[i])
+            .toDate(toDates[i])
+            .cfpOpening(cfpOpenings[i])
+            .cfpClosing(cfpClosings[i])
+            .build();
+
+        portal.setEvent(event);
+        events.add(event);
+      }
+
+      var speakerCount = rowCount();
+      var speakerEvents = increasing(speakerCount);
+      var eventSpeakerIds = strings(speakerCount);
+      var firstNames = strings(speakerCount);
+      var lastNames = strings(speakerCount);
+      var companies = strings(speakerCount);
+      var countryNames = strings(speakerCount);
+      var bios = strings(speakerCount);
+      var imageUrls = strings(speakerCount);
+      var twitterHandles = strings(speakerCount);
+      var linkedInUsernames = strings(speakerCount);
+      var blueskyUsernames = strings(speakerCount);
+      var speakers = new ArrayList<Speaker>(speakerCount);
+
+      for (var i = 0; i < speakerCount; i++) {
+        var speaker = Speaker.builder()
+            .eventSpeakerId(eventSpeakerIds[i])
+            .firstName(firstNames[i])
+            .lastName(lastNames[i])
+            .company(companies[i])
+            .countryName(countryNames[i])
+            .bio(bios[i])
+            .imageUrl(imageUrls[i])
+            .twitterHandle(twitterHandles[i])
+            .linkedInUsername(linkedInUsernames[i])
+            .blueskyUsername(blueskyUsernames[i])
+            .build();
+
+        events.get(speakerEvents[i]).addSpeakers(speaker);
+        speakers.add(speaker);
+      }
+
+      var talkCount = rowCount();
+      var eventTalkIds = strings(talkCount);
+      var titles = strings(talkCount);
+      var summaries = strings(talkCount);
+      var talkDescriptions = strings(talkCount);
+      var videoUrls = strings(talkCount);
+      var talks = new ArrayList<Talk>(talkCount);
+
+      for (var i = 0; i < talkCount; i++) {
+        talks.add(
+            Talk.builder()
+                .eventTalkId(eventTalkIds[i])
+                .title(titles[i])
+                .summary(summaries[i])
+                .description(talkDescriptions[i])
+                .videoUrl(videoUrls[i])
+                .build()
+        );
+      }
+
+      var linkCount = rowCount();
+      var linkSpeakers = increasing(linkCount);
+
+      for (var i = 0; i < linkCount; i++) {
+        speakers.get(linkSpeakers[i]).addTalks(talks.get(count()));
+      }
+
+      if (this.position != this.bytes.length) {
+        throw new SnapshotException("Corrupt snapshot: %d unexpected bytes at the end".formatted(this.bytes.length - this.position));
+      }
+
+      return portals;
+    }
+
+    private long varLong() {
+      var value = 0L;
+
+      for (var shift = 0; shift < 64; shift += 7) {
+        if (this.position >= this.bytes.length) {
+          throw new SnapshotException("Corrupt snapshot: it ends unexpectedly");
+        }
+
+        var b = this.bytes[this.position++];
+        value |= (long) (b & 0x7F) << shift;
+
+        if (b >= 0) {
+          return value;
+        }
+      }
+
+      throw new SnapshotException("Corrupt snapshot: malformed number");
+    }
+
+    private int count() {
+      return Math.toIntExact(varLong());
+    }
+
+    /**
+     * A number of rows (or bytes) that follow. Each of them takes at least a byte, so there can't be more of them
+     * than there are bytes left.
+     */
+    private int rowCount() {
+      var count = count();
+
+      if ((count < 0) || (count > this.bytes.length - this.position)) {
+        throw new SnapshotException("Corrupt snapshot: %d rows can't fit in the %d bytes left".formatted(count, this.bytes.length - this.position));
+      }
+
+      return count;
+    }
+
+    private String[] strings(int count) {
+      var values = new String[count];
+
+      for (var i = 0; i < count; i++) {
+        var index = count();
+        values[i] = (index == 0) ? null : this.strings[index - 1];
+      }
+
+      return values;
+    }
+
+    private Instant[] instants(int count) {
+      var values = new Instant[count];
+
+      for (var i = 0; i < count; i++) {
+        var value = varLong();
+
+        if (value != 0) {
+          var zigZag = value - 1;
+          var epochMicros = (zigZag >>> 1) ^ -(zigZag & 1);
+          values[i] = Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L), Math.floorMod(epochMicros, 1_000_000L) * 1_000);
+        }
+      }
+
+      return values;
+    }
+
+    private int[] increasing(int count) {
+      var values = new int[count];
+      var previous = 0;
+
+      for (var i = 0; i < count; i++) {
+        previous += count();
+        values[i] = previous;
+      }
+
+      return values;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.redhat.cfpaggregator.snapshot;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.domain.Talk;
+
+/**
+ * What a snapshot contains
+ *
+ * @author Eric Deandrea
+ */
+public record SnapshotContents(int portals, int events, int speakers, int talks) {
+  public static SnapshotContents of(List<Portal> portals) {
+    var events = portals.stream()
+        .map(Portal::getEvent)
+        .filter(Objects::nonNull)
+        .toList();
+
+    var speakers = events.stream()
+        .flatMap(event -> event.getSpeakers().stream())
+        .toList();
+
+    // Talks with more than one speaker are only counted once
+    var talks = Collections.newSetFromMap(new IdentityHashMap<Talk, Boolean>());
+    speakers.forEach(speaker -> talks.addAll(speaker.getTalks()));
+
+    return new SnapshotContents(portals.size(), events.size(), speakers.size(), talks.size());
+  }
+}
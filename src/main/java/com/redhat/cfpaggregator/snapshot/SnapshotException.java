@@ -0,0 +1,16 @@
+package com.redhat.cfpaggregator.snapshot;
+
+/**
+ * Thrown when reading something that isn't a valid snapshot.
+ *
+ * @author Eric Deandrea
+ */
+public class SnapshotException extends RuntimeException {
+  public SnapshotException(String message) {
+    super(message);
+  }
+
+  public SnapshotException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,119 @@
+package com.redhat.cfpaggregator.snapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import org.hibernate.Session;
+
+import io.quarkus.logging.Log;
+
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.repository.EventBulkWriter;
+import com.redhat.cfpaggregator.repository.EventRepository;
+import com.redhat.cfpaggregator.repository.PortalRepository;
+
+/**
+ * Writes the whole aggregated dataset to a {@link SnapshotCodec snapshot}, and replaces it with the contents of one.
+ * <p>
+ * Restoring bypasses the entities and goes straight to JDBC, inserting the events with the {@link EventBulkWriter},
+ * so thousands of talks can be restored in well under a second.
+ * </p>
+ *
+ * @author Eric Deandrea
+ */
+@ApplicationScoped
+@Transactional
+public class SnapshotService {
+  private final EntityManager entityManager;
+  private final PortalRepository portalRepository;
+  private final EventRepository eventRepository;
+  private final EventBulkWriter eventBulkWriter;
+
+  public SnapshotService(EntityManager entityManager, PortalRepository portalRepository, EventRepository eventRepository, EventBulkWriter eventBulkWriter) {
+    this.entityManager = entityManager;
+    this.portalRepository = portalRepository;
+    this.eventRepository = eventRepository;
+    this.eventBulkWriter = eventBulkWriter;
+  }
+
+  /**
+   * Writes a snapshot of every stored portal, along with its event, speakers, and talks
+   *
+   * @param outputStream Where to write the snapshot. It isn't closed.
+   * @return What was written
+   */
+  public SnapshotContents write(OutputStream outputStream) {
+    // Loads the events, speakers, and talks up front, rather than one by one as they're written
+    this.eventRepository.listAllFullyPopulated();
+    var portals = this.portalRepository.listAll();
+
+    try {
+      SnapshotCodec.write(portals, outputStream);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    var contents = SnapshotContents.of(portals);
+    Log.infof("Wrote snapshot: %s", contents);
+
+    return contents;
+  }
+
+  /**
+   * Replaces everything that is stored with the contents of a snapshot
+   *
+   * @param inputStream The snapshot. It isn't closed.
+   * @return What was restored
+   * @throws SnapshotException If it isn't a valid snapshot
+   */
+  public SnapshotContents restore(InputStream inputStream) {
+    var start = System.nanoTime();
+    List<Portal> portals;
+
+    try {
+      portals = SnapshotCodec.read(inputStream);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    this.portalRepository.deleteAllWithCascade();
+    this.entityManager.unwrap(Session.class).doWork(connection -> insertPortals(connection, portals));
+    this.eventBulkWriter.insert(
+        portals.stream()
+            .map(Portal::getEvent)
+            .filter(Objects::nonNull)
+            .toList()
+    );
+
+    var contents = SnapshotContents.of(portals);
+    Log.infof("Restored snapshot in %d ms: %s", (System.nanoTime() - start) / 1_000_000, contents);
+
+    return contents;
+  }
+
+  private static void insertPortals(Connection connection, List<Portal> portals) throws SQLException {
+    try (var insert = connection.prepareStatement("INSERT INTO portals (portal_name, base_url, description, portal_type) VALUES (?, ?, ?, ?)")) {
+      for (var portal : portals) {
+        insert.setString(1, portal.getPortalName());
+        insert.setString(2, portal.getBaseUrl());
+        insert.setString(3, portal.getDescription());
+        insert.setString(4, (portal.getPortalType() != null) ? portal.getPortalType().name() : null);
+        insert.addBatch();
+      }
+
+      insert.executeBatch();
+    }
+  }
+}
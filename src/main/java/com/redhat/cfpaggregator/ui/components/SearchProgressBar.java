@@ -1,12 +1,24 @@
 package com.redhat.cfpaggregator.ui.components;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.progressbar.ProgressBar;
 
+import com.redhat.cfpaggregator.service.PortalRefreshResult;
+
 public final class SearchProgressBar extends VerticalLayout {
   private final BoldSpan label = new BoldSpan("Searching...");
   private final ProgressBar progressBar = new ProgressBar();
+  private final VerticalLayout portalStatuses = new VerticalLayout();
+  private final Map<String, Span> portalStatusLabels = new LinkedHashMap<>();
+  private int portalCount;
+  private int completedPortalCount;
 
   public SearchProgressBar(FlexComponent parent) {
     super();
@@ -21,16 +33,63 @@ public final class SearchProgressBar extends VerticalLayout {
     setWidth("min-content");
     setVisible(false);
     this.progressBar.setIndeterminate(true);
+    this.portalStatuses.setSpacing(false);
+    this.portalStatuses.setPadding(false);
 
-    add(this.label, this.progressBar);
+    add(this.label, this.progressBar, this.portalStatuses);
     parent.getElement().getStyle().set("position", "relative");
     parent.add(this);
   }
 
+  /**
+   * Shows the progress bar for a search across the given portals
+   */
+  public void start(Collection<String> portalNames) {
+    this.portalStatuses.removeAll();
+    this.portalStatusLabels.clear();
+    this.portalCount = portalNames.size();
+    this.completedPortalCount = 0;
+
+    this.label.setText("Searching %d portals...".formatted(this.portalCount));
+    this.progressBar.setIndeterminate(this.portalCount == 0);
+    this.progressBar.setValue(0);
+
+    portalNames.forEach(portalName -> {
+      var statusLabel = new Span("%s: searching...".formatted(portalName));
+      statusLabel.getStyle().set("white-space", "nowrap");
+      this.portalStatusLabels.put(portalName, statusLabel);
+      this.portalStatuses.add(statusLabel);
+    });
+
+    setVisible(true);
+  }
+
+  /**
+   * Shows the outcome of a single portal
+   */
+  public void update(PortalRefreshResult result) {
+    this.completedPortalCount++;
+    this.label.setText("Searched %d of %d portals...".formatted(this.completedPortalCount, this.portalCount));
+
+    if (this.portalCount > 0) {
+      this.progressBar.setValue(Math.min(1, (double) this.completedPortalCount / this.portalCount));
+    }
+
+    Optional.ofNullable(this.portalStatusLabels.get(result.portalName()))
+        .ifPresent(statusLabel ->
+            statusLabel.setText("%s: %s (%d ms)".formatted(
+                result.portalName(),
+                result.status().name().toLowerCase().replace('_', ' '),
+                result.duration().toMillis()
+            ))
+        );
+  }
+
   @Override
   public void setVisible(boolean visible) {
     super.setVisible(visible);
     this.label.setVisible(visible);
     this.progressBar.setVisible(visible);
+    this.portalStatuses.setVisible(visible);
   }
 }
@@ -6,11 +6,11 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
 
 import com.vaadin.flow.component.Component;
@@ -42,10 +42,12 @@ import com.vaadin.flow.server.Command;
 
 import com.redhat.cfpaggregator.config.CfpPortalsConfig;
 import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Portal;
 import com.redhat.cfpaggregator.domain.Speaker;
 import com.redhat.cfpaggregator.domain.Talk;
 import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
 import com.redhat.cfpaggregator.service.CfpService;
+import com.redhat.cfpaggregator.service.PortalRefreshResult;
 import com.redhat.cfpaggregator.ui.MainLayout;
 import com.redhat.cfpaggregator.ui.components.BoldSpan;
 import com.redhat.cfpaggregator.ui.components.SearchCriteriaDetails;
@@ -60,8 +62,9 @@ public class SearchEventsView extends SplitLayout {
   private final ListDataProvider<SearchCriteria> talkKeywordsSearchCriteria;
   private final VerticalLayout eventDetails = new VerticalLayout();
   private final Accordion speakers = new Accordion();
-  private Component searchProgress;
+  private SearchProgressBar searchProgress;
   private Grid<Event> eventsGrid;
+  private List<Event> shownEvents = List.of();
 
   public SearchEventsView(CfpPortalsConfig config, CfpService cfpService) {
     super(Orientation.HORIZONTAL);
@@ -232,37 +235,98 @@ public class SearchEventsView extends SplitLayout {
   }
 
   private void handleSearchButtonClicked() {
-    Consumer<? super TalkSearchCriteria> whenComplete = criteria -> performOnUI(() -> {
+    // The stored data is already complete, so there is nothing to fetch
+    if (this.cfpService.isLocalSearch()) {
+      showEvents(this.cfpService.searchEvents(createTalkSearchCriteria()));
+      return;
+    }
+
+    var notRefreshed = new ArrayList<String>();
+
+    // Each portal's event is pushed to the grid as soon as that portal has been searched
+    // The callbacks run on a worker thread, so the event is loaded there and only the grid is touched on the UI thread
+    Consumer<PortalRefreshResult> whenPortalComplete = result -> {
+      var event = result.isRefreshed() ?
+          this.cfpService.getFullyPopulatedEvent(result.portalName()) :
+          Optional.<Event>empty();
+
+      performOnUI(() -> {
+        this.searchProgress.update(result);
+        event.ifPresent(this::showEvent);
+
+        if (!result.isRefreshed()) {
+          notRefreshed.add("%s (%s)".formatted(result.portalName(), result.status()));
+        }
+      });
+    };
+
+    // Once every portal has been searched the grid is reloaded once, so it has exactly what is stored
+    Runnable whenComplete = () -> {
       var events = this.cfpService.getFullyPopulatedEvents();
-      var totalSpeakerCount = events.stream()
-          .mapToInt(Event::getSpeakerCount)
-          .sum();
-      var totalTalkCount = events.stream()
-          .mapToInt(Event::getTalkCount)
-          .sum();
-
-      this.eventsGrid.getColumnByKey("numSpeakersColumn")
-          .setHeader("# Speakers (" + totalSpeakerCount + ")");
-
-      this.eventsGrid.getColumnByKey("numTalksColumn")
-          .setHeader("# Talks (" + totalTalkCount + ")");
-
-      this.eventsGrid.setItems(events);
-      this.eventsGrid.recalculateColumnWidths();
-      this.searchProgress.setVisible(false);
-    });
 
-    Consumer<? super Throwable> whenError = error -> performOnUI(() -> {
-      whenComplete.accept(null);
-      Notification.show("Error: %s".formatted(error.getMessage()), (int) Duration.ofSeconds(3).toMillis(), Position.TOP_CENTER);
-    });
+      performOnUI(() -> {
+        showEvents(events);
+        this.searchProgress.setVisible(false);
 
-    this.searchProgress.setVisible(true);
+        // Let the user know which portals are showing previously fetched data
+        if (!notRefreshed.isEmpty()) {
+          Notification.show("Showing previously fetched events for: %s".formatted(String.join(", ", notRefreshed)), (int) Duration.ofSeconds(5).toMillis(), Position.TOP_CENTER);
+        }
+      });
+    };
+
+    Consumer<? super Throwable> whenError = error -> {
+      var events = this.cfpService.getFullyPopulatedEvents();
 
-    Uni.createFrom().item(createTalkSearchCriteria())
-        .invoke(this.cfpService::recreateEvents)
+      performOnUI(() -> {
+        showEvents(events);
+        this.searchProgress.setVisible(false);
+        Notification.show("Error: %s".formatted(error.getMessage()), (int) Duration.ofSeconds(3).toMillis(), Position.TOP_CENTER);
+      });
+    };
+
+    this.searchProgress.start(
+        this.cfpService.getPortals()
+            .stream()
+            .map(Portal::getPortalName)
+            .toList()
+    );
+
+    this.cfpService.refreshEventsProgressively(createTalkSearchCriteria())
         .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
-        .subscribe().with(whenComplete, whenError);
+        .subscribe().with(whenPortalComplete, whenError, whenComplete);
+  }
+
+  /**
+   * Shows a portal's event in place of the one the grid is showing for the same portal, if any
+   */
+  private void showEvent(Event event) {
+    var events = this.shownEvents.stream()
+        .filter(shown -> !shown.getPortalName().equals(event.getPortalName()))
+        .collect(Collectors.toCollection(ArrayList::new));
+
+    events.add(event);
+    showEvents(events);
+  }
+
+  private void showEvents(List<Event> events) {
+    this.shownEvents = events;
+
+    var totalSpeakerCount = events.stream()
+        .mapToInt(Event::getSpeakerCount)
+        .sum();
+    var totalTalkCount = events.stream()
+        .mapToInt(Event::getTalkCount)
+        .sum();
+
+    this.eventsGrid.getColumnByKey("numSpeakersColumn")
+        .setHeader("# Speakers (" + totalSpeakerCount + ")");
+
+    this.eventsGrid.getColumnByKey("numTalksColumn")
+        .setHeader("# Talks (" + totalTalkCount + ")");
+
+    this.eventsGrid.setItems(events);
+    this.eventsGrid.recalculateColumnWidths();
   }
 
   private void createSpeakerPanel(Speaker speaker) {
@@ -0,0 +1,4 @@
+-- Hand out ids in blocks rather than one round trip per speaker or talk
+-- The increments have to match Speaker.ID_ALLOCATION_SIZE and Talk.ID_ALLOCATION_SIZE
+alter sequence speaker_seq increment by 50;
+alter sequence talk_seq increment by 50;
@@ -79,4 +79,16 @@ public abstract class CfpClientTests<T extends CfpClient> {
         .singleElement()
         .isInstanceOf(this.clientClass);
   }
+
+  @Test
+  void clearedClientIsClosedAndRecreated() {
+    var portal = this.portalRepository.findById("portal1");
+    var client = getClient(portal);
+    assertThat(client).isInstanceOf(AutoCloseable.class);
+
+    this.clientManager.clearClient(portal);
+
+    assertThat(getClient(portal))
+        .isNotSameAs(client);
+  }
 }
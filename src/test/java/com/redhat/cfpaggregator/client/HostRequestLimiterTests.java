@@ -0,0 +1,218 @@
+package com.redhat.cfpaggregator.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.ClientResponseContext;
+
+import org.jboss.resteasy.reactive.client.impl.ClientRequestContextImpl;
+import org.jboss.resteasy.reactive.client.impl.RestClientRequestContext;
+import org.jboss.resteasy.reactive.client.spi.ResteasyReactiveClientRequestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HostRequestLimiterTests {
+  private static final String HOST = "dvbe25.cfp.dev";
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @AfterEach
+  void shutdown() {
+    this.scheduler.shutdownNow();
+  }
+
+  @Test
+  void requestsWithinLimitsAreSentStraightAway() {
+    var limiter = limiter(100, 2, Duration.ofSeconds(30));
+    var first = new Request();
+    var second = new Request();
+
+    limiter.filter(first.context);
+    limiter.filter(second.context);
+
+    verify(first.context, never()).suspend();
+    verify(second.context, never()).suspend();
+    assertThat(limiter.getInFlight()).isEqualTo(2);
+    assertThat(limiter.getQueueDepth()).isZero();
+  }
+
+  @Test
+  void queuedRequestIsResumedWhenSlotIsFreed() {
+    var limiter = limiter(100, 1, Duration.ofSeconds(30));
+    var first = new Request();
+    var second = new Request();
+
+    limiter.filter(first.context);
+    limiter.filter(second.context);
+
+    verify(second.context).suspend();
+    verify(second.context, never()).resume();
+    assertThat(limiter.getQueueDepth()).isOne();
+
+    first.result.complete(null);
+
+    verify(second.context).resume();
+    assertThat(limiter.getQueueDepth()).isZero();
+    assertThat(limiter.getInFlight()).isOne();
+
+    second.result.complete(null);
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  void queuedRequestIsResumedWhenRateAllows() {
+    var limiter = limiter(10, 1, 10, Duration.ofSeconds(30));
+    var first = new Request();
+    var second = new Request();
+
+    limiter.filter(first.context);
+    limiter.filter(second.context);
+
+    verify(second.context).suspend();
+
+    // A token comes back every 100ms
+    verify(second.context, timeout(2_000)).resume();
+    assertThat(limiter.getQueueDepth()).isZero();
+  }
+
+  @Test
+  void failedRequestReleasesSlot() {
+    var limiter = limiter(100, 1, Duration.ofSeconds(30));
+    var request = new Request();
+
+    limiter.filter(request.context);
+    assertThat(limiter.getInFlight()).isOne();
+
+    request.result.completeExceptionally(new ConnectException("Connection refused"));
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  void cancelledRequestReleasesSlot() {
+    var limiter = limiter(100, 1, Duration.ofSeconds(30));
+    var cancelled = new Request();
+    var next = new Request();
+
+    limiter.filter(cancelled.context);
+    cancelled.result.cancel(true);
+
+    assertThat(limiter.getInFlight()).isZero();
+
+    limiter.filter(next.context);
+    verify(next.context, never()).suspend();
+  }
+
+  @Test
+  void requestCancelledWhileQueuedLeavesQueue() {
+    var limiter = limiter(100, 1, Duration.ofSeconds(30));
+    var first = new Request();
+    var cancelled = new Request();
+
+    limiter.filter(first.context);
+    limiter.filter(cancelled.context);
+    assertThat(limiter.getQueueDepth()).isOne();
+
+    cancelled.result.cancel(true);
+
+    assertThat(limiter.getQueueDepth()).isZero();
+    verify(cancelled.context).resume(any(ProcessingException.class));
+
+    // The freed slot isn't handed to the cancelled request
+    first.result.complete(null);
+    assertThat(limiter.getInFlight()).isZero();
+    verify(cancelled.context, never()).resume();
+  }
+
+  @Test
+  void responseReleasesSlotWithoutCompletionHook() {
+    // The lease timeout is a minute, so the slot can only come back through the response filter
+    var limiter = limiter(100, 1, Duration.ofSeconds(30));
+    var first = requestContext();
+    var second = requestContext();
+
+    limiter.filter(first);
+    limiter.filter(second);
+
+    verify(second).suspend();
+    assertThat(limiter.getQueueDepth()).isOne();
+
+    limiter.filter(first, mock(ClientResponseContext.class));
+
+    verify(second).resume();
+    assertThat(limiter.getQueueDepth()).isZero();
+    assertThat(limiter.getInFlight()).isOne();
+
+    limiter.filter(second, mock(ClientResponseContext.class));
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  void requestThatWaitsTooLongIsRejected() {
+    var limiter = limiter(100, 1, Duration.ofMillis(100));
+    var first = new Request();
+    var second = new Request();
+
+    limiter.filter(first.context);
+    limiter.filter(second.context);
+
+    verify(second.context, timeout(2_000)).resume(any(ProcessingException.class));
+    verify(second.context, never()).resume();
+    assertThat(limiter.getQueueDepth()).isZero();
+    assertThat(limiter.getInFlight()).isOne();
+    assertThat(this.meterRegistry.get("cfps.client.host.rejected").tag("host", HOST).counter().count()).isOne();
+  }
+
+  private HostRequestLimiter limiter(double requestsPerSecond, int maxConcurrentRequests, Duration maxWait) {
+    return limiter(requestsPerSecond, maxConcurrentRequests, maxConcurrentRequests, maxWait);
+  }
+
+  private HostRequestLimiter limiter(double requestsPerSecond, int burst, int maxConcurrentRequests, Duration maxWait) {
+    return new HostRequestLimiter(HOST, requestsPerSecond, burst, maxConcurrentRequests, maxWait, Duration.ofMinutes(1), this.scheduler, this.meterRegistry);
+  }
+
+  /**
+   * A request context other than the REST client's own, which keeps its properties
+   */
+  private static ResteasyReactiveClientRequestContext requestContext() {
+    var properties = new HashMap<String, Object>();
+    var requestContext = mock(ResteasyReactiveClientRequestContext.class);
+
+    when(requestContext.getProperty(anyString())).thenAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+    doAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+        .when(requestContext).setProperty(anyString(), any());
+    doAnswer(invocation -> properties.remove(invocation.<String>getArgument(0)))
+        .when(requestContext).removeProperty(anyString());
+
+    return requestContext;
+  }
+
+  private static final class Request {
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+    private final ClientRequestContextImpl context = mock(ClientRequestContextImpl.class);
+
+    private Request() {
+      var restClientRequestContext = mock(RestClientRequestContext.class);
+      doReturn(this.result).when(restClientRequestContext).getResult();
+      doReturn(restClientRequestContext).when(this.context).getRestClientRequestContext();
+    }
+  }
+}
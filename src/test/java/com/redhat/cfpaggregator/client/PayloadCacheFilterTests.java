@@ -0,0 +1,287 @@
+package com.redhat.cfpaggregator.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PayloadCacheFilterTests {
+  private static final String URI_STRING = "https://dvbe25.cfp.dev/api/public/talks";
+  private static final String PAYLOAD = "[{\"id\": 1}]";
+
+  @TempDir
+  Path cacheDirectory;
+
+  @Test
+  void missThenHitWithinTtl() throws IOException {
+    var filter = filter(Duration.ofMinutes(15));
+
+    var firstRequest = request();
+    filter.filter(firstRequest);
+    verify(firstRequest, never()).abortWith(any());
+
+    readFully(respond(filter, firstRequest, PAYLOAD));
+
+    var secondRequest = request();
+    filter.filter(secondRequest);
+
+    assertThat(servedPayload(secondRequest)).isEqualTo(PAYLOAD);
+    assertThat(PayloadCacheFilter.isServedFromCache(secondRequest)).isTrue();
+  }
+
+  @Test
+  void expiredPayloadIsNotServed() throws IOException {
+    var filter = filter(Duration.ofMinutes(15));
+    var firstRequest = request();
+
+    filter.filter(firstRequest);
+    readFully(respond(filter, firstRequest, PAYLOAD));
+
+    // Age every cached file past the ttl
+    try (var files = cacheFiles()) {
+      for (var file : files.toList()) {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofMinutes(16))));
+      }
+    }
+
+    var secondRequest = request();
+    filter.filter(secondRequest);
+
+    verify(secondRequest, never()).abortWith(any());
+    assertThat(PayloadCacheFilter.isServedFromCache(secondRequest)).isFalse();
+  }
+
+  @Test
+  void payloadReadByJacksonIsCached() throws IOException {
+    var filter = filter(Duration.ofMinutes(15));
+    var firstRequest = request();
+
+    filter.filter(firstRequest);
+
+    // Jackson stops at the end of the JSON and closes the stream, without reading on to its end
+    assertThat(new ObjectMapper().readValue(respond(filter, firstRequest, PAYLOAD), List.class)).hasSize(1);
+
+    var secondRequest = request();
+    filter.filter(secondRequest);
+
+    assertThat(servedPayload(secondRequest)).isEqualTo(PAYLOAD);
+  }
+
+  @Test
+  void partiallyReadPayloadIsCachedWhole() throws IOException {
+    var filter = filter(Duration.ofMinutes(15));
+    var firstRequest = request();
+
+    filter.filter(firstRequest);
+
+    try (var entityStream = respond(filter, firstRequest, PAYLOAD)) {
+      assertThat(entityStream.read(new byte[4])).isEqualTo(4);
+    }
+
+    var secondRequest = request();
+    filter.filter(secondRequest);
+
+    assertThat(servedPayload(secondRequest)).isEqualTo(PAYLOAD);
+  }
+
+  @Test
+  void skippedBytesAreCached() throws IOException {
+    var filter = filter(Duration.ofMinutes(15));
+    var firstRequest = request();
+
+    filter.filter(firstRequest);
+
+    try (var entityStream = respond(filter, firstRequest, PAYLOAD)) {
+      entityStream.skipNBytes(4);
+      assertThat(new String(entityStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(PAYLOAD.substring(4));
+    }
+
+    var secondRequest = request();
+    filter.filter(secondRequest);
+
+    assertThat(servedPayload(secondRequest)).isEqualTo(PAYLOAD);
+  }
+
+  @Test
+  void payloadThatFailsToReadIsDiscarded() throws IOException {
+    var filter = filter(Duration.ofMinutes(15));
+    var firstRequest = request();
+
+    filter.filter(firstRequest);
+
+    // The connection drops part way through the response
+    var failingStream = new SequenceInputStream(
+        new ByteArrayInputStream(PAYLOAD.substring(0, 4).getBytes(StandardCharsets.UTF_8)),
+        new InputStream() {
+          @Override
+          public int read() throws IOException {
+            throw new IOException("Connection reset");
+          }
+        }
+    );
+
+    var responseContext = response(failingStream);
+    filter.filter(firstRequest, responseContext);
+
+    try (var entityStream = responseContext.getEntityStream()) {
+      assertThat(entityStream.read(new byte[4])).isEqualTo(4);
+    }
+
+    var secondRequest = request();
+    filter.filter(secondRequest);
+
+    verify(secondRequest, never()).abortWith(any());
+
+    // Neither a cache file nor the temporary file it was being written to are left behind
+    try (var files = cacheFiles()) {
+      assertThat(files).isEmpty();
+    }
+  }
+
+  @Test
+  void cachedPayloadSurvivesRestart() throws IOException {
+    var beforeRestart = filter(Duration.ofMinutes(15));
+    var firstRequest = request();
+
+    beforeRestart.filter(firstRequest);
+    readFully(respond(beforeRestart, firstRequest, PAYLOAD));
+
+    var afterRestart = filter(Duration.ofMinutes(15));
+    var secondRequest = request();
+    afterRestart.filter(secondRequest);
+
+    assertThat(servedPayload(secondRequest)).isEqualTo(PAYLOAD);
+  }
+
+  @Test
+  void cacheHitKeepsConditionalRequestValidators() throws IOException {
+    var payloadCache = filter(Duration.ofMinutes(15));
+    var conditionalRequests = new ConditionalRequestFilter("portal1");
+
+    // The portal's response has an ETag
+    var firstRequest = request();
+    payloadCache.filter(firstRequest);
+    conditionalRequests.filter(firstRequest);
+
+    var firstResponse = response(PAYLOAD);
+    firstResponse.getHeaders().putSingle(HttpHeaders.ETAG, "\"v1\"");
+    conditionalRequests.filter(firstRequest, firstResponse);
+    payloadCache.filter(firstRequest, firstResponse);
+    readFully(firstResponse.getEntityStream());
+
+    // The cache hit has no validators, and the response filters still see it
+    var secondRequest = request();
+    payloadCache.filter(secondRequest);
+    var cachedResponse = response(servedPayload(secondRequest));
+    conditionalRequests.filter(secondRequest, cachedResponse);
+    payloadCache.filter(secondRequest, cachedResponse);
+
+    var thirdRequest = request();
+    conditionalRequests.filter(thirdRequest);
+
+    assertThat(thirdRequest.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH)).isEqualTo("\"v1\"");
+  }
+
+  private PayloadCacheFilter filter(Duration ttl) {
+    return new PayloadCacheFilter("portal1", this.cacheDirectory, ttl);
+  }
+
+  private Stream<Path> cacheFiles() throws IOException {
+    return Files.walk(this.cacheDirectory).filter(Files::isRegularFile);
+  }
+
+  private static ClientRequestContext request() {
+    var properties = new HashMap<String, Object>();
+    var headers = new MultivaluedHashMap<String, Object>();
+    var requestContext = mock(ClientRequestContext.class);
+
+    when(requestContext.getMethod()).thenReturn(HttpMethod.GET);
+    when(requestContext.getUri()).thenReturn(URI.create(URI_STRING));
+    when(requestContext.getHeaders()).thenReturn(headers);
+    when(requestContext.getProperty(anyString())).thenAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+    doAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+        .when(requestContext).setProperty(anyString(), any());
+
+    return requestContext;
+  }
+
+  private static ClientResponseContext response(String payload) {
+    return response(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static ClientResponseContext response(InputStream payload) {
+    var headers = new MultivaluedHashMap<String, String>();
+    var entityStream = new AtomicReference<>(payload);
+    var responseContext = mock(ClientResponseContext.class);
+
+    when(responseContext.getStatus()).thenReturn(Status.OK.getStatusCode());
+    when(responseContext.hasEntity()).thenReturn(true);
+    when(responseContext.getHeaders()).thenReturn(headers);
+    when(responseContext.getHeaderString(anyString())).thenAnswer(invocation -> headers.getFirst(invocation.<String>getArgument(0)));
+    when(responseContext.getEntityStream()).thenAnswer(invocation -> entityStream.get());
+    doAnswer(invocation -> {
+      entityStream.set(invocation.getArgument(0));
+      return null;
+    }).when(responseContext).setEntityStream(any());
+
+    return responseContext;
+  }
+
+  /**
+   * Runs the response filter over a response from the portal, returning the stream the client would read it from
+   */
+  private static InputStream respond(PayloadCacheFilter filter, ClientRequestContext requestContext, String payload) throws IOException {
+    var responseContext = response(payload);
+    filter.filter(requestContext, responseContext);
+    return responseContext.getEntityStream();
+  }
+
+  private static String servedPayload(ClientRequestContext requestContext) throws IOException {
+    var response = ArgumentCaptor.forClass(Response.class);
+    verify(requestContext).abortWith(response.capture());
+
+    try (var entity = (InputStream) response.getValue().getEntity()) {
+      return new String(entity.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static void readFully(InputStream entityStream) throws IOException {
+    try (entityStream) {
+      entityStream.readAllBytes();
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.redhat.cfpaggregator.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.cfpaggregator.client.PortalCircuitBreaker.State;
+
+class PortalCircuitBreakerTests {
+  private static final long OPEN_NANOS = 1_000;
+
+  @Test
+  void opensAfterConsecutiveFailures() {
+    var breaker = new PortalCircuitBreaker("portal", 2, OPEN_NANOS);
+
+    assertThat(breaker.tryAcquire(0)).isTrue();
+    breaker.onFailure(0);
+    assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+    // A success in between resets the count
+    breaker.onSuccess();
+    breaker.onFailure(0);
+    assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+    breaker.onFailure(10);
+    assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    assertThat(breaker.tryAcquire(10 + OPEN_NANOS - 1)).isFalse();
+  }
+
+  @Test
+  void halfOpenTrialClosesOrReopens() {
+    var breaker = new PortalCircuitBreaker("portal", 1, OPEN_NANOS);
+    breaker.onFailure(0);
+
+    // Only a single trial call is let through
+    assertThat(breaker.tryAcquire(OPEN_NANOS)).isTrue();
+    assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+    assertThat(breaker.tryAcquire(OPEN_NANOS)).isFalse();
+
+    breaker.onFailure(OPEN_NANOS);
+    assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    assertThat(breaker.tryAcquire(OPEN_NANOS + 1)).isFalse();
+
+    assertThat(breaker.tryAcquire(2 * OPEN_NANOS)).isTrue();
+    breaker.onSuccess();
+    assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    assertThat(breaker.tryAcquire(2 * OPEN_NANOS)).isTrue();
+  }
+
+  @Test
+  void cancelledTrialLetsTheNextOneThrough() {
+    var breaker = new PortalCircuitBreaker("portal", 1, OPEN_NANOS);
+    breaker.onFailure(0);
+
+    assertThat(breaker.tryAcquire(OPEN_NANOS)).isTrue();
+    breaker.onCancelled(OPEN_NANOS);
+    assertThat(breaker.tryAcquire(OPEN_NANOS)).isTrue();
+  }
+}
@@ -0,0 +1,35 @@
+package com.redhat.cfpaggregator.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+  private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void burstThenRefillsAtRate() {
+    var bucket = new TokenBucket(2, 3, 0);
+
+    assertThat(bucket.tryAcquire(0)).isTrue();
+    assertThat(bucket.tryAcquire(0)).isTrue();
+    assertThat(bucket.tryAcquire(0)).isTrue();
+    assertThat(bucket.tryAcquire(0)).isFalse();
+    assertThat(bucket.nanosUntilAvailable(0)).isEqualTo(ONE_SECOND / 2);
+
+    // Half a second at 2/sec gives back 1 token
+    assertThat(bucket.tryAcquire(ONE_SECOND / 2)).isTrue();
+    assertThat(bucket.tryAcquire(ONE_SECOND / 2)).isFalse();
+  }
+
+  @Test
+  void neverRefillsAboveBurst() {
+    var bucket = new TokenBucket(100, 2, 0);
+
+    assertThat(bucket.tryAcquire(10 * ONE_SECOND)).isTrue();
+    assertThat(bucket.tryAcquire(10 * ONE_SECOND)).isTrue();
+    assertThat(bucket.tryAcquire(10 * ONE_SECOND)).isFalse();
+  }
+}
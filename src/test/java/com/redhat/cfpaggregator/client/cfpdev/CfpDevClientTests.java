@@ -1,16 +1,22 @@
 package com.redhat.cfpaggregator.client.cfpdev;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalToIgnoreCase;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.jsonResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathTemplate;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
@@ -27,8 +33,11 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.QuarkusTestProfile;
 import io.quarkus.test.junit.TestProfile;
 
+import io.smallrye.mutiny.TimeoutException;
+
 import com.redhat.cfpaggregator.client.CfpClient;
 import com.redhat.cfpaggregator.client.CfpClientTests;
+import com.redhat.cfpaggregator.client.FetchStats;
 import com.redhat.cfpaggregator.client.cfpdev.CfpDevClientTests.ConfigTestProfile;
 import com.redhat.cfpaggregator.client.cfpdev.CfpDevTalkDetails.Keyword;
 import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
@@ -45,6 +54,143 @@ class CfpDevClientTests extends CfpClientTests<CfpDevClient> {
 
   }
 
+  @Test
+  void eventDetailsReusedWhenNotModified() {
+    this.wireMock.register(get(urlPathEqualTo("/api/public/event"))
+        .atPriority(2)
+        .withHeader(HttpHeaders.ACCEPT, equalToIgnoreCase(MediaType.APPLICATION_JSON))
+        .willReturn(
+            jsonResponse("""
+                {
+                  "name": "Devoxx UK 2025",
+                  "timezone": "Europe/London"
+                }
+                """, Status.OK.getStatusCode())
+                .withHeader(HttpHeaders.ETAG, "\"v1\"")
+        ));
+
+    this.wireMock.register(get(urlPathEqualTo("/api/public/event"))
+        .atPriority(1)
+        .withHeader(HttpHeaders.IF_NONE_MATCH, equalTo("\"v1\""))
+        .willReturn(aResponse().withStatus(Status.NOT_MODIFIED.getStatusCode())));
+
+    var eventDetails = getClient().getEventDetails("portal1");
+
+    assertThat(eventDetails)
+        .isNotNull()
+        .extracting(CfpDevEventDetails::name)
+        .isEqualTo("Devoxx UK 2025");
+
+    assertThat(getClient().getEventDetails("portal1"))
+        .isNotNull()
+        .usingRecursiveComparison()
+        .isEqualTo(eventDetails);
+
+    this.wireMock.verifyThat(
+        2,
+        getRequestedFor(urlPathEqualTo("/api/public/event"))
+            .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("portal1"))
+    );
+
+    this.wireMock.verifyThat(
+        1,
+        getRequestedFor(urlPathEqualTo("/api/public/event"))
+            .withHeader(HttpHeaders.IF_NONE_MATCH, equalTo("\"v1\""))
+    );
+  }
+
+  @Test
+  void bytesReceivedCounted() {
+    var body = """
+        {
+          "name": "Devoxx UK 2025",
+          "timezone": "Europe/London"
+        }
+        """;
+
+    this.wireMock.register(get(urlPathEqualTo("/api/public/event"))
+        .withHeader(HttpHeaders.ACCEPT, equalToIgnoreCase(MediaType.APPLICATION_JSON))
+        .willReturn(jsonResponse(body, Status.OK.getStatusCode())));
+
+    var bytesBefore = this.clientManager.getBytesReceived("portal1");
+
+    assertThat(getClient().getEventDetails("portal1"))
+        .isNotNull()
+        .extracting(CfpDevEventDetails::name)
+        .isEqualTo("Devoxx UK 2025");
+
+    assertThat(this.clientManager.getBytesReceived("portal1") - bytesBefore)
+        .isEqualTo(body.getBytes(StandardCharsets.UTF_8).length);
+  }
+
+  @Test
+  void bytesReceivedCountedPerFetch() {
+    var event = """
+        {
+          "name": "Devoxx UK 2025",
+          "timezone": "Europe/London"
+        }
+        """;
+
+    var quarkusResults = """
+        {
+          "searchQuery": "quarkus",
+          "proposals": [
+            {
+              "id": 1,
+              "title": "Quarkus"
+            }
+          ]
+        }
+        """;
+
+    var springResults = """
+        {
+          "searchQuery": "spring",
+          "proposals": []
+        }
+        """;
+
+    this.wireMock.register(get(urlPathEqualTo("/api/public/event"))
+        .withHeader(HttpHeaders.ACCEPT, equalToIgnoreCase(MediaType.APPLICATION_JSON))
+        .willReturn(jsonResponse(event, Status.OK.getStatusCode())));
+
+    this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
+        .withPathParam("searchQuery", equalTo("quarkus"))
+        .withHeader(HttpHeaders.ACCEPT, equalToIgnoreCase(MediaType.APPLICATION_JSON))
+        .willReturn(jsonResponse(quarkusResults, Status.OK.getStatusCode()).withFixedDelay(500)));
+
+    this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
+        .withPathParam("searchQuery", equalTo("spring"))
+        .withHeader(HttpHeaders.ACCEPT, equalToIgnoreCase(MediaType.APPLICATION_JSON))
+        .willReturn(jsonResponse(springResults, Status.OK.getStatusCode()).withFixedDelay(500)));
+
+    var portal = this.portalRepository.findById("portal1");
+    var quarkusStats = new FetchStats();
+    var springStats = new FetchStats();
+
+    // Both fetches of the same portal are in flight at the same time
+    var quarkusFetch = this.clientManager.createEventAsync(portal, TalkSearchCriteria.builder().talkKeywords("quarkus").build(), quarkusStats)
+        .subscribeAsCompletionStage();
+
+    var springFetch = this.clientManager.createEventAsync(portal, TalkSearchCriteria.builder().talkKeywords("spring").build(), springStats)
+        .subscribeAsCompletionStage();
+
+    quarkusFetch.toCompletableFuture().join();
+    springFetch.toCompletableFuture().join();
+
+    assertThat(quarkusStats.getBytesReceived())
+        .isEqualTo(event.getBytes(StandardCharsets.UTF_8).length + quarkusResults.getBytes(StandardCharsets.UTF_8).length);
+
+    assertThat(springStats.getBytesReceived())
+        .isEqualTo(event.getBytes(StandardCharsets.UTF_8).length + springResults.getBytes(StandardCharsets.UTF_8).length);
+
+    assertThat(quarkusStats.getParseDuration()).isNotNegative();
+
+    // The fetch id never leaves the client
+    this.wireMock.verifyThat(0, getRequestedFor(anyUrl()).withHeader(CfpClient.FETCH_ID_HEADER, matching(".*")));
+  }
+
   @Override
   @Test
   public void createEventNoKeywordsNoSpeakers() throws MalformedURLException {
@@ -972,6 +1118,161 @@ class CfpDevClientTests extends CfpClientTests<CfpDevClient> {
         );
   }
 
+  @Test
+  void findTalksAsyncWithKeywordsAndSpeakers() {
+    setupFindTalksWithKeywords();
+
+    var talkSearchCriteria = TalkSearchCriteria.builder()
+        .talkKeywords("quarkus", "spring")
+        .speakerCompanies("Red Hat", "Broadcom")
+        .build();
+
+    var blockingTalks = getClient().findTalks(talkSearchCriteria, "portal1");
+
+    assertThat(getClient().findTalksAsync(talkSearchCriteria, "portal1").await().atMost(Duration.ofSeconds(10)))
+        .isNotNull()
+        .hasSize(2)
+        .usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyInAnyOrderElementsOf(blockingTalks);
+  }
+
+  @Test
+  void findTalksDeduplicatesTalksAcrossKeywords() {
+    var searchResults = """
+        {
+          "searchQuery": "%s",
+          "proposals": [
+            {
+              "id": 37706,
+              "title": "Boost Developer Productivity and Speed Up Your Inner Loop with Quarkus",
+              "keywords": [
+                { "name": "quarkus" },
+                { "name": "kubernetes" }
+              ],
+              "speakers": [
+                {
+                  "id": 2632,
+                  "firstName": "Daniel",
+                  "lastName": "Oh",
+                  "company": "Red Hat"
+                }
+              ]
+            }
+          ]
+        }
+        """;
+
+    List.of("quarkus", "kubernetes").forEach(keyword ->
+        this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
+            .withPathParam("searchQuery", equalTo(keyword))
+            .withHeader(HttpHeaders.ACCEPT, equalToIgnoreCase(MediaType.APPLICATION_JSON))
+            .willReturn(jsonResponse(searchResults.formatted(keyword), Status.OK.getStatusCode())))
+    );
+
+    var talkSearchCriteria = TalkSearchCriteria.builder()
+        .talkKeywords("quarkus", "kubernetes")
+        .build();
+
+    assertThat(getClient().findTalks(talkSearchCriteria, "portal1"))
+        .isNotNull()
+        .singleElement()
+        .extracting(CfpDevTalkDetails::eventTalkId)
+        .isEqualTo(37706L);
+  }
+
+  @Test
+  void findTalksSearchesKeywordsConcurrently() {
+    var searchResults = """
+        {
+          "searchQuery": "%s",
+          "proposals": [
+            {
+              "id": %d,
+              "title": "Talk about %s",
+              "speakers": [
+                {
+                  "id": 2632,
+                  "firstName": "Daniel",
+                  "lastName": "Oh",
+                  "company": "Red Hat"
+                }
+              ]
+            },
+            {
+              "id": 1,
+              "title": "Talk about everything",
+              "speakers": [
+                {
+                  "id": 2632,
+                  "firstName": "Daniel",
+                  "lastName": "Oh",
+                  "company": "Red Hat"
+                }
+              ]
+            }
+          ]
+        }
+        """;
+
+    var keywords = List.of("quarkus", "kubernetes", "java");
+
+    for (var i = 0; i < keywords.size(); i++) {
+      var keyword = keywords.get(i);
+
+      this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
+          .withPathParam("searchQuery", equalTo(keyword))
+          .withHeader(HttpHeaders.ACCEPT, equalToIgnoreCase(MediaType.APPLICATION_JSON))
+          .willReturn(
+              jsonResponse(searchResults.formatted(keyword, i + 100, keyword), Status.OK.getStatusCode())
+                  .withFixedDelay(1_000)
+          ));
+    }
+
+    var talkSearchCriteria = TalkSearchCriteria.builder()
+        .talkKeywords(keywords)
+        .build();
+
+    var start = System.nanoTime();
+    var talks = getClient().findTalks(talkSearchCriteria, "portal1", keywords.size(), Duration.ofSeconds(10));
+    var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    // Run one after the other the searches would take at least 3 seconds
+    assertThat(elapsed).isLessThan(Duration.ofMillis(2_500));
+
+    // The talk every search returns is only there once
+    assertThat(talks)
+        .isNotNull()
+        .extracting(CfpDevTalkDetails::eventTalkId)
+        .containsExactlyInAnyOrder(1L, 100L, 101L, 102L);
+
+    keywords.forEach(keyword ->
+        this.wireMock.verifyThat(1, getRequestedFor(urlPathEqualTo("/api/public/search/%s".formatted(keyword))))
+    );
+  }
+
+  @Test
+  void findTalksGivesUpAfterTimeout() {
+    this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
+        .withPathParam("searchQuery", equalTo("quarkus"))
+        .withHeader(HttpHeaders.ACCEPT, equalToIgnoreCase(MediaType.APPLICATION_JSON))
+        .willReturn(
+            jsonResponse("""
+                {
+                  "searchQuery": "quarkus",
+                  "proposals": []
+                }
+                """, Status.OK.getStatusCode())
+                .withFixedDelay(5_000)
+        ));
+
+    var talkSearchCriteria = TalkSearchCriteria.builder()
+        .talkKeywords("quarkus")
+        .build();
+
+    assertThatThrownBy(() -> getClient().findTalks(talkSearchCriteria, "portal1", 1, Duration.ofMillis(500)))
+        .isInstanceOf(TimeoutException.class);
+  }
+
   private void setupFindTalksWithKeywords() {
     this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
         .withPathParam("searchQuery", equalTo("quarkus"))
@@ -29,6 +29,7 @@ import com.redhat.cfpaggregator.client.CfpClient;
 import com.redhat.cfpaggregator.client.CfpClientTests;
 import com.redhat.cfpaggregator.client.sessionize.SessionizeClientTests.ConfigTestProfile;
 import com.redhat.cfpaggregator.client.sessionize.SessionizeSpeakerDetails.Link;
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
 
 @QuarkusTest
 @TestProfile(ConfigTestProfile.class)
@@ -38,7 +39,7 @@ public class SessionizeClientTests extends CfpClientTests<SessionizeClient> {
   }
 
   @Test
-  void getAll() throws MalformedURLException {
+  void getAllPayload() throws MalformedURLException {
     this.wireMock.register(get(urlPathEqualTo("/api/v2/portal1/view/All"))
         .withHeader(HttpHeaders.ACCEPT, equalToIgnoreCase(MediaType.APPLICATION_JSON))
         .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("portal1"))
@@ -303,7 +304,8 @@ public class SessionizeClientTests extends CfpClientTests<SessionizeClient> {
             }
             """, Status.OK.getStatusCode())));
 
-    assertThat(getClient().getAll("portal1"))
+    // Emma's session is dropped, as its speaker isn't one of the event's speakers
+    assertThat(getClient().getAllPayload("portal1").parse(TalkSearchCriteria.builder().build()))
         .isNotNull()
         .usingRecursiveComparison()
         .isEqualTo(
@@ -319,17 +321,6 @@ public class SessionizeClientTests extends CfpClientTests<SessionizeClient> {
                         null,
                         null,
                         "Accepted"
-                    ),
-                    new SessionizeSessionDetails(
-                        "14020",
-                        "Emma's Session",
-                        "Usually, you would find a session description here. But, this is not a real session submission, so description is missing. Ha!",
-                        OffsetDateTime.parse("2023-09-16T10:15:00Z"),
-                        OffsetDateTime.parse("2023-09-16T11:15:00Z"),
-                        List.of("00000000-0000-0000-0000-000000000002"),
-                        null,
-                        null,
-                        "Accepted"
                     )
                 ),
                 List.of(
@@ -0,0 +1,95 @@
+package com.redhat.cfpaggregator.client.sessionize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+
+@QuarkusTest
+class SessionizeEventParserTests {
+  private static final String PAYLOAD = """
+      {
+        "sessions": [
+          {
+            "id": "1",
+            "title": "Quarkus in action",
+            "description": "All about Quarkus",
+            "speakers": [ "speaker-1", "speaker-2" ]
+          },
+          {
+            "id": "2",
+            "title": "Spring in action",
+            "description": "All about Spring",
+            "speakers": [ "speaker-1" ]
+          },
+          {
+            "id": "3",
+            "title": "More Quarkus",
+            "description": "Even more Quarkus",
+            "speakers": [ "speaker-2" ]
+          }
+        ],
+        "speakers": [
+          {
+            "id": "speaker-1",
+            "firstName": "Eric",
+            "lastName": "Deandrea",
+            "bio": "Works at Red Hat"
+          },
+          {
+            "id": "speaker-2",
+            "firstName": "Someone",
+            "lastName": "Else",
+            "bio": "Works somewhere else"
+          }
+        ],
+        "rooms": [
+          { "id": 1, "name": "Room 1" }
+        ]
+      }
+      """;
+
+  @Inject
+  ObjectMapper objectMapper;
+
+  @Test
+  void filtersWhileParsing() {
+    var searchCriteria = TalkSearchCriteria.builder()
+        .talkKeywords("Quarkus")
+        .speakerCompanies("Red Hat")
+        .build();
+
+    var eventDetails = new SessionizeEventParser(this.objectMapper)
+        .parse(new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8)), searchCriteria);
+
+    assertThat(eventDetails).isNotNull();
+    assertThat(eventDetails.speakers())
+        .singleElement()
+        .extracting(SessionizeSpeakerDetails::eventSpeakerId)
+        .isEqualTo("speaker-1");
+
+    assertThat(eventDetails.sessions())
+        .singleElement()
+        .extracting(SessionizeSessionDetails::eventTalkId)
+        .isEqualTo("1");
+  }
+
+  @Test
+  void noCriteriaKeepsEverything() {
+    var eventDetails = new SessionizeEventParser(this.objectMapper)
+        .parse(new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8)), TalkSearchCriteria.builder().build());
+
+    assertThat(eventDetails).isNotNull();
+    assertThat(eventDetails.speakers()).hasSize(2);
+    assertThat(eventDetails.sessions()).hasSize(3);
+  }
+}
@@ -1,6 +1,9 @@
 package com.redhat.cfpaggregator.config;
 
 import static com.redhat.cfpaggregator.config.CfpPortalsConfig.CfpPortalConfig;
+import static com.redhat.cfpaggregator.config.CfpPortalsConfig.ExecutionMode;
+import static com.redhat.cfpaggregator.config.CfpPortalsConfig.RefreshMode;
+import static com.redhat.cfpaggregator.config.CfpPortalsConfig.SearchMode;
 import static com.redhat.cfpaggregator.config.CfpPortalsConfigTests.ConfigTestProfile;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -42,6 +45,18 @@ class CfpPortalsConfigTests {
             Duration.ofSeconds(10)
         );
 
+    assertThat(config.executionMode()).isEqualTo(ExecutionMode.EVENT_LOOP);
+    assertThat(config.refreshMode()).isEqualTo(RefreshMode.RECREATE);
+    assertThat(config.searchMode()).isEqualTo(SearchMode.UPSTREAM);
+    assertThat(config.payloadCache().enabled()).isFalse();
+    assertThat(config.scheduler().enabled()).isFalse();
+    assertThat(config.snapshot().restoreOnStartup()).isEmpty();
+    assertThat(config.hostLimits().enabled()).isFalse();
+    assertThat(config.circuitBreaker().enabled()).isTrue();
+    assertThat(config.retry().maxRetries()).isEqualTo(2);
+    assertThat(config.deadline().portalBudget()).isEqualTo(Duration.ofSeconds(90));
+    assertThat(config.requestTimeout()).isEqualTo(Duration.ofSeconds(10));
+
     assertThat(config.portalNames()).contains("portal1", "portal2", "portal3");
 
     assertThat(config.portals())
@@ -89,4 +89,23 @@ abstract class BaseRepositoryTests {
     this.portalRepository.persistAndFlush(PORTAL.cloneAsNewWithNewEvent(event));
     return event;
   }
+
+  protected Event createEvent(String portalName) {
+    var speaker = SPEAKER.cloneAsNew();
+    speaker.addTalks(TALK.cloneAsNew());
+
+    var event = EVENT.toBuilder()
+        .portalName(portalName)
+        .speakers(speaker)
+        .build();
+
+    this.portalRepository.persistAndFlush(
+        PORTAL.toBuilderWithoutEvent()
+            .portalName(portalName)
+            .event(event)
+            .build()
+    );
+
+    return event;
+  }
 }
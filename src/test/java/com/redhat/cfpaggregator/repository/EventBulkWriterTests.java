@@ -0,0 +1,106 @@
+package com.redhat.cfpaggregator.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+
+@QuarkusTest
+@TestTransaction
+class EventBulkWriterTests extends BaseRepositoryTests {
+  @Inject
+  EventBulkWriter eventBulkWriter;
+
+  @Inject
+  EntityManager entityManager;
+
+  @Test
+  void insertsEventsWithSpeakersAndTalks() {
+    this.portalRepository.persistAndFlush(PORTAL.cloneAsNewWithoutEvent());
+
+    var event = EVENT.cloneAsNew();
+    var coPresentedTalk = TALK.cloneAsNew();
+
+    // More than one block of ids
+    var speakers = IntStream.range(0, Speaker.ID_ALLOCATION_SIZE + 10)
+        .mapToObj(i -> {
+          var speaker = SPEAKER.toBuilder()
+              .eventSpeakerId("speaker-" + i)
+              .talks(List.of())
+              .build();
+
+          speaker.addTalks(coPresentedTalk, Talk.builder().eventTalkId("talk-" + i).title("Talk " + i).build());
+          return speaker;
+        })
+        .toList();
+
+    event.addSpeakers(speakers.toArray(Speaker[]::new));
+
+    var insertedRows = this.eventBulkWriter.insert(List.of(event));
+
+    assertThat(insertedRows.events()).isOne();
+    assertThat(insertedRows.speakers()).isEqualTo(speakers.size());
+    assertThat(insertedRows.talks()).isEqualTo(speakers.size() + 1);
+    assertThat(insertedRows.speakerTalks()).isEqualTo(speakers.size() * 2);
+
+    this.entityManager.clear();
+
+    var storedEvent = this.eventRepository.findById(EVENT.getPortalName());
+    assertThat(storedEvent.getName()).isEqualTo(EVENT.getName());
+    assertThat(storedEvent.getCfpClosing()).isEqualTo(EVENT.getCfpClosing());
+    assertThat(storedEvent.getSpeakers())
+        .hasSize(speakers.size())
+        .allSatisfy(speaker -> assertThat(speaker.getTalks()).hasSize(2));
+
+    assertThat(this.talkRepository.count()).isEqualTo(speakers.size() + 1);
+    assertThat(this.talkRepository.findById(coPresentedTalk.getId()).getSpeakers()).hasSize(speakers.size());
+
+    // Hibernate carries on from the ids the writer allocated, rather than clashing with them
+    var speaker = SPEAKER.cloneAsNew();
+    storedEvent.addSpeakers(speaker);
+    this.eventRepository.persistAndFlush(storedEvent);
+
+    assertThat(speaker.getId()).isNotIn(speakers.stream().map(Speaker::getId).toList());
+    assertThat(this.speakerRepository.count()).isEqualTo(speakers.size() + 1);
+  }
+
+  @Test
+  void insertsSpeakersListedMoreThanOnceOnce() {
+    this.portalRepository.persistAndFlush(PORTAL.cloneAsNewWithoutEvent());
+
+    var event = EVENT.cloneAsNew();
+    var speaker = SPEAKER.toBuilder()
+        .talks(List.of())
+        .build();
+
+    speaker.addTalks(
+        Talk.builder().eventTalkId("talk-1").title("Talk 1").build(),
+        Talk.builder().eventTalkId("talk-2").title("Talk 2").build()
+    );
+
+    // The same speaker, once for each of their talks
+    event.addSpeakers(speaker, speaker);
+
+    var insertedRows = this.eventBulkWriter.insert(List.of(event));
+
+    assertThat(insertedRows.speakers()).isOne();
+    assertThat(insertedRows.talks()).isEqualTo(2);
+    assertThat(insertedRows.speakerTalks()).isEqualTo(2);
+
+    this.entityManager.clear();
+
+    assertThat(this.speakerRepository.count()).isOne();
+    assertThat(this.speakerRepository.findById(speaker.getId()).getTalks()).hasSize(2);
+  }
+}
@@ -2,14 +2,29 @@ package com.redhat.cfpaggregator.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 
 import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Talk;
+
 @QuarkusTest
 @TestTransaction
 class EventRepositoryTests extends BaseRepositoryTests {
+  @Inject
+  EntityManager entityManager;
+
+  @Inject
+  SessionFactory sessionFactory;
+
   @Test
   void deleteAllWithCascade() {
     var portalRepoCount = this.portalRepository.count();
@@ -32,6 +47,92 @@ class EventRepositoryTests extends BaseRepositoryTests {
     assertThat(this.talkRepository.count()).isZero();
   }
 
+  @Test
+  void deleteWithCascade() {
+    var portalRepoCount = this.portalRepository.count();
+
+    createEvent(true, true);
+    createEvent("Other Portal");
+
+    assertThat(this.eventRepository.count()).isEqualTo(2);
+    assertThat(this.speakerRepository.count()).isEqualTo(2);
+    assertThat(this.talkRepository.count()).isEqualTo(2);
+
+    this.eventRepository.deleteWithCascade(List.of(PORTAL.getPortalName()));
+
+    assertThat(this.portalRepository.count()).isEqualTo(portalRepoCount + 2);
+    assertThat(this.eventRepository.listAll())
+        .singleElement()
+        .extracting(Event::getPortalName)
+        .isEqualTo("Other Portal");
+
+    assertThat(this.speakerRepository.count()).isOne();
+    assertThat(this.talkRepository.count()).isOne();
+  }
+
+  @Test
+  void deleteWithCascadeOnlyDeletesThePortalsTalks() {
+    createEvent(true, true);
+
+    // Stands in for a talk another transaction is still storing, so it isn't linked to its speaker yet
+    var unlinkedTalk = TALK.cloneAsNew()
+        .toBuilder()
+        .eventTalkId("unlinked")
+        .build();
+
+    this.talkRepository.persistAndFlush(unlinkedTalk);
+    assertThat(this.talkRepository.count()).isEqualTo(2);
+
+    this.eventRepository.deleteWithCascade(List.of(PORTAL.getPortalName()));
+
+    assertThat(this.eventRepository.count()).isZero();
+    assertThat(this.speakerRepository.count()).isZero();
+    assertThat(this.talkRepository.listAll())
+        .singleElement()
+        .extracting(Talk::getEventTalkId)
+        .isEqualTo("unlinked");
+  }
+
+  @Test
+  void listAllFullyPopulatedInAFixedNumberOfStatements() {
+    createEvent("Portal 1");
+    var statementsForOneEvent = countStatementsToLoadEverything();
+
+    createEvent("Portal 2");
+    createEvent("Portal 3");
+    var statementsForThreeEvents = countStatementsToLoadEverything();
+
+    assertThat(statementsForThreeEvents)
+        .isEqualTo(statementsForOneEvent)
+        .isEqualTo(2);
+  }
+
+  private long countStatementsToLoadEverything() {
+    // Nothing can come from the persistence context
+    this.entityManager.flush();
+    this.entityManager.clear();
+
+    // Statistics are shared by the whole application, so they're put back the way they were afterwards
+    var statistics = this.sessionFactory.getStatistics();
+    var statisticsEnabled = statistics.isStatisticsEnabled();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    try {
+      var events = this.eventRepository.listAllFullyPopulated();
+
+      assertThat(events).allSatisfy(event -> {
+        assertThat(event.getPortal().getEvent()).isSameAs(event);
+        assertThat(event.getSpeakers()).allSatisfy(speaker -> assertThat(speaker.getTalks()).isNotEmpty());
+      });
+
+      return statistics.getPrepareStatementCount();
+    }
+    finally {
+      statistics.setStatisticsEnabled(statisticsEnabled);
+    }
+  }
+
   @Test
   void itWorks() {
     var portalRepoCount = this.portalRepository.count();
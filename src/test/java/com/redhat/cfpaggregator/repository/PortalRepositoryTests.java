@@ -2,6 +2,8 @@ package com.redhat.cfpaggregator.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import io.quarkus.test.TestTransaction;
@@ -33,6 +35,22 @@ public class PortalRepositoryTests extends BaseRepositoryTests {
     assertThat(this.talkRepository.count()).isZero();
   }
 
+  @Test
+  void deleteWithCascade() {
+    var portalRepoCount = this.portalRepository.count();
+
+    createEvent(true, true);
+    createEvent("Other Portal");
+
+    this.portalRepository.deleteWithCascade(List.of(PORTAL.getPortalName()));
+
+    assertThat(this.portalRepository.count()).isEqualTo(portalRepoCount + 1);
+    assertThat(this.portalRepository.findByIdOptional(PORTAL.getPortalName())).isEmpty();
+    assertThat(this.eventRepository.count()).isOne();
+    assertThat(this.speakerRepository.count()).isOne();
+    assertThat(this.talkRepository.count()).isOne();
+  }
+
   @Test
   void itWorks() {
     this.portalRepository.deleteAllWithCascade();
@@ -0,0 +1,182 @@
+package com.redhat.cfpaggregator.rest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.jsonResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathTemplate;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.wiremock.devservice.ConnectWireMock;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.redhat.cfpaggregator.client.CfpClient;
+import com.redhat.cfpaggregator.repository.PortalRepository;
+import com.redhat.cfpaggregator.rest.RefreshResourceTests.ConfigTestProfile;
+import com.redhat.cfpaggregator.service.CfpService;
+
+@QuarkusTest
+@ConnectWireMock
+@TestProfile(ConfigTestProfile.class)
+class RefreshResourceTests {
+  private static final String EVENT = """
+      {
+        "name": "Devoxx UK 2025",
+        "timezone": "Europe/London"
+      }
+      """;
+
+  private static final String SEARCH_RESULTS = """
+      {
+        "searchQuery": "quarkus",
+        "proposals": [
+          {
+            "id": 37706,
+            "title": "Boost Developer Productivity and Speed Up Your Inner Loop with Quarkus",
+            "speakers": [
+              {
+                "id": 2632,
+                "firstName": "Daniel",
+                "lastName": "Oh",
+                "company": "Red Hat"
+              }
+            ]
+          }
+        ]
+      }
+      """;
+
+  @Inject
+  CfpService cfpService;
+
+  @Inject
+  PortalRepository portalRepository;
+
+  @Inject
+  ObjectMapper objectMapper;
+
+  WireMock wireMock;
+
+  @BeforeEach
+  void beforeEach() {
+    this.wireMock.resetToDefaultMappings();
+
+    QuarkusTransaction.requiringNew().run(() -> {
+      this.portalRepository.deleteAllWithCascade();
+      this.cfpService.createPortals();
+    });
+
+    this.wireMock.register(get(urlPathEqualTo("/api/public/event"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("refresh1"))
+        .willReturn(jsonResponse(EVENT, Status.OK.getStatusCode())));
+
+    this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
+        .withPathParam("searchQuery", equalTo("quarkus"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("refresh1"))
+        .willReturn(jsonResponse(SEARCH_RESULTS, Status.OK.getStatusCode())));
+  }
+
+  @Test
+  void streamsProgressOfRefresh() throws Exception {
+    var body = given()
+        .queryParam("talkKeyword", "quarkus")
+        .when().post("/refresh")
+        .then()
+        .statusCode(200)
+        .extract().asString();
+
+    var events = parse(body);
+
+    assertThat(events)
+        .extracting(SseEvent::name)
+        .first()
+        .isEqualTo("refresh-started");
+
+    assertThat(events)
+        .extracting(SseEvent::name)
+        .last()
+        .isEqualTo("refresh-completed");
+
+    var refreshed = events.stream()
+        .filter(event -> "portal-refreshed".equals(event.name()))
+        .map(SseEvent::data)
+        .filter(data -> "refresh1".equals(data.get("portalName")))
+        .toList();
+
+    assertThat(refreshed).singleElement()
+        .satisfies(data -> {
+          assertThat(data.get("status")).isEqualTo("REFRESHED");
+          assertThat(data.get("talkCount")).isEqualTo(1);
+          assertThat(data.get("speakerCount")).isEqualTo(1);
+
+          // Only what this portal's requests received, as it came over the wire
+          assertThat(((Number) data.get("bytesReceived")).longValue())
+              .isEqualTo(EVENT.getBytes(StandardCharsets.UTF_8).length + SEARCH_RESULTS.getBytes(StandardCharsets.UTF_8).length);
+
+          // Fetching and parsing are reported separately
+          assertThat(((Number) data.get("fetchMillis")).longValue()).isNotNegative();
+          assertThat(((Number) data.get("parseMillis")).longValue()).isNotNegative();
+          assertThat(data).containsKey("storeMillis");
+        });
+
+    var completed = events.getLast().data();
+    assertThat(((Number) completed.get("refreshed")).intValue() + ((Number) completed.get("notRefreshed")).intValue())
+        .isEqualTo(this.cfpService.getPortals().size());
+  }
+
+  private List<SseEvent> parse(String body) throws Exception {
+    var events = new ArrayList<SseEvent>();
+
+    for (var block : body.split("\\R\\R")) {
+      String name = null;
+      var data = new StringBuilder();
+
+      for (var line : block.lines().toList()) {
+        if (line.startsWith("event:")) {
+          name = line.substring("event:".length()).strip();
+        }
+        else if (line.startsWith("data:")) {
+          data.append(line.substring("data:".length()).strip());
+        }
+      }
+
+      if (name != null) {
+        events.add(new SseEvent(name, this.objectMapper.readValue(data.toString(), new TypeReference<Map<String, Object>>() {})));
+      }
+    }
+
+    return events;
+  }
+
+  private record SseEvent(String name, Map<String, Object> data) {
+  }
+
+  public static class ConfigTestProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "cfps.portals.refresh1.base-url", "http://localhost:${quarkus.wiremock.devservices.port}",
+          "cfps.portals.refresh1.portal-type", "CFP_DEV",
+          "cfps.portals.refresh1.description", "Refresh Portal 1"
+      );
+    }
+  }
+}
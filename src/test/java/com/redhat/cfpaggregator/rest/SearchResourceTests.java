@@ -0,0 +1,114 @@
+package com.redhat.cfpaggregator.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+import com.redhat.cfpaggregator.search.TalkSearchIndex;
+import com.redhat.cfpaggregator.service.CfpService;
+
+@QuarkusTest
+class SearchResourceTests {
+  // Every search is limited to this portal so talks indexed by the application itself don't get in the way
+  private static final String PORTAL = "search-resource";
+
+  @Inject
+  TalkSearchIndex talkSearchIndex;
+
+  @Inject
+  CfpService cfpService;
+
+  @AfterEach
+  void removeEvent() {
+    this.talkSearchIndex.remove(PORTAL);
+  }
+
+  @Test
+  void findsTalks() {
+    QuarkusTransaction.requiringNew().run(() -> this.talkSearchIndex.index(event()));
+
+    assertThat(search("kubernetes")).containsExactly("t1");
+  }
+
+  @Test
+  void rolledBackIndexingIsNeverSearched() {
+    QuarkusTransaction.requiringNew().run(() -> {
+      this.talkSearchIndex.index(event());
+
+      // Not searchable before the transaction commits
+      assertThat(search("kubernetes")).isEmpty();
+      QuarkusTransaction.setRollbackOnly();
+    });
+
+    assertThat(search("kubernetes")).isEmpty();
+  }
+
+  @Test
+  void rolledBackDeleteKeepsTalks() {
+    QuarkusTransaction.requiringNew().run(() -> this.talkSearchIndex.index(event()));
+
+    QuarkusTransaction.requiringNew().run(() -> {
+      this.cfpService.deletePortal(PORTAL);
+      QuarkusTransaction.setRollbackOnly();
+    });
+
+    assertThat(search("kubernetes")).containsExactly("t1");
+
+    QuarkusTransaction.requiringNew().run(() -> this.cfpService.deletePortal(PORTAL));
+
+    assertThat(search("kubernetes")).isEmpty();
+  }
+
+  @Test
+  void limitIsValidated() {
+    given()
+        .queryParam("q", "kubernetes")
+        .queryParam("limit", SearchResource.MAX_LIMIT + 1)
+        .when().get("/search")
+        .then()
+        .statusCode(400);
+  }
+
+  private static List<String> search(String query) {
+    return given()
+        .queryParam("q", query)
+        .queryParam("portal", PORTAL)
+        .when().get("/search")
+        .then()
+        .statusCode(200)
+        .extract().jsonPath().getList("eventTalkId", String.class);
+  }
+
+  private static Event event() {
+    return Event.builder()
+        .portalName(PORTAL)
+        .name("Search Resource")
+        .speakers(
+            Speaker.builder()
+                .eventSpeakerId("s1")
+                .firstName("Eric")
+                .lastName("Deandrea")
+                .company("Red Hat")
+                .talks(
+                    Talk.builder()
+                        .eventTalkId("t1")
+                        .title("Kubernetes native Java")
+                        .build()
+                )
+                .build()
+        )
+        .build();
+  }
+}
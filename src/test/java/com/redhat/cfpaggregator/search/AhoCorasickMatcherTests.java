@@ -0,0 +1,77 @@
+package com.redhat.cfpaggregator.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickMatcherTests {
+  @Test
+  void emptyMatchesNothing() {
+    var matcher = AhoCorasickMatcher.of();
+
+    assertThat(matcher.isEmpty()).isTrue();
+    assertThat(matcher.matchesAny("Red Hat")).isFalse();
+    assertThat(matcher.matchesAny(null)).isFalse();
+  }
+
+  @Test
+  void nullAndEmptyPatternsIgnored() {
+    var matcher = AhoCorasickMatcher.of(Arrays.asList(null, "", "Quarkus", "Quarkus"));
+
+    assertThat(matcher.getPatterns()).containsExactly("Quarkus");
+  }
+
+  @Test
+  void matchesAnyPattern() {
+    var matcher = AhoCorasickMatcher.of(List.of("Quarkus", "Kubernetes", "LangChain4j"));
+
+    assertThat(matcher.matchesAny("Building AI apps with LangChain4j")).isTrue();
+    assertThat(matcher.matchesAny("Quarkus")).isTrue();
+    assertThat(matcher.matchesAny("Running on Kubernetes!")).isTrue();
+    assertThat(matcher.matchesAny("Spring Boot")).isFalse();
+    assertThat(matcher.matchesAny("Kubernete")).isFalse();
+    assertThat(matcher.matchesAny(null)).isFalse();
+  }
+
+  @Test
+  void matchIsCaseSensitive() {
+    var matcher = AhoCorasickMatcher.of("Red Hat");
+
+    assertThat(matcher.matchesAny("Works at Red Hat")).isTrue();
+    assertThat(matcher.matchesAny("Works at red hat")).isFalse();
+  }
+
+  @Test
+  void ignoreCase() {
+    var matcher = AhoCorasickMatcher.ofIgnoreCase(List.of("Red Hat", "RED HAT", "quarkus"));
+
+    assertThat(matcher.isIgnoreCase()).isTrue();
+    assertThat(matcher.getPatterns()).containsExactly("red hat", "quarkus");
+    assertThat(matcher.matchesAny("Works at red HAT")).isTrue();
+    assertThat(matcher.matchesAny("All about QUARKUS")).isTrue();
+    assertThat(matcher.matchesAny("Works at Broadcom")).isFalse();
+  }
+
+  @Test
+  void matchesPatternsFoundThroughFailureLinks() {
+    // "she" fails over to "he", and "hers" has to be found after a partial match on "she"
+    var matcher = AhoCorasickMatcher.of("he", "she", "his", "hers");
+
+    assertThat(matcher.matchesAny("ushers")).isTrue();
+    assertThat(matcher.matchesAny("sh")).isFalse();
+    assertThat(AhoCorasickMatcher.of("abcd", "bc").matchesAny("xabcx")).isTrue();
+    assertThat(AhoCorasickMatcher.of("aab").matchesAny("aaab")).isTrue();
+    assertThat(AhoCorasickMatcher.of("abab").matchesAny("abaabab")).isTrue();
+  }
+
+  @Test
+  void overlappingPatterns() {
+    var matcher = AhoCorasickMatcher.of("Red Hat", "Hat");
+
+    assertThat(matcher.matchesAny("a Hat")).isTrue();
+    assertThat(matcher.matchesAny("Red Ha")).isFalse();
+  }
+}
@@ -0,0 +1,74 @@
+package com.redhat.cfpaggregator.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+
+class CompiledSearchCriteriaTests {
+  @Test
+  void emptyCriteriaMatchesEverything() {
+    var compiled = TalkSearchCriteria.builder().build().compiled();
+
+    assertThat(compiled.hasTalkKeywords()).isFalse();
+    assertThat(compiled.hasSpeakerCompanies()).isFalse();
+    assertThat(compiled.matchesTalk("anything")).isTrue();
+    assertThat(compiled.matchesTalk(null)).isTrue();
+    assertThat(compiled.matchesSpeakerCompany(null)).isTrue();
+  }
+
+  @Test
+  void patternsNormalized() {
+    var compiled = TalkSearchCriteria.builder()
+        .talkKeywords("  Quarkus ", "quarkus", "", "LangChain4j")
+        .speakerCompanies(" Red Hat", "RED HAT")
+        .build()
+        .compiled();
+
+    assertThat(compiled.getTalkKeywords()).containsExactlyInAnyOrder("quarkus", "langchain4j");
+    assertThat(compiled.getSpeakerCompanies()).containsExactly("red hat");
+  }
+
+  @Test
+  void matchesIgnoringCase() {
+    var compiled = TalkSearchCriteria.builder()
+        .talkKeywords("Quarkus")
+        .speakerCompanies("Red Hat", "Broadcom")
+        .build()
+        .compiled();
+
+    assertThat(compiled.matchesTalk("All about QUARKUS")).isTrue();
+    assertThat(compiled.matchesTalk("All about Spring")).isFalse();
+    assertThat(compiled.matchesTalk(null)).isFalse();
+    assertThat(compiled.matchesSpeakerCompany("red hat")).isTrue();
+    assertThat(compiled.matchesSpeakerCompany("Works at Broadcom")).isTrue();
+    assertThat(compiled.matchesSpeakerCompany("IBM")).isFalse();
+  }
+
+  @Test
+  void structuredCompaniesMatchExactly() {
+    var compiled = CompiledSearchCriteria.forSpeakerCompanies(List.of("Red Hat", "Port"));
+
+    assertThat(compiled.isSpeakerCompany(" red HAT ")).isTrue();
+    assertThat(compiled.isSpeakerCompany("Port")).isTrue();
+    assertThat(compiled.isSpeakerCompany("Portworx")).isFalse();
+    assertThat(compiled.isSpeakerCompany("Support")).isFalse();
+    assertThat(compiled.isSpeakerCompany(null)).isFalse();
+    assertThat(CompiledSearchCriteria.forSpeakerCompanies(List.of()).isSpeakerCompany("Anyone")).isTrue();
+  }
+
+  @Test
+  void compiledOncePerCriteria() {
+    var criteria = TalkSearchCriteria.builder()
+        .talkKeywords("Quarkus")
+        .build();
+
+    assertThat(criteria.compiled()).isSameAs(criteria.compiled());
+    assertThat(CompiledSearchCriteria.forSpeakerCompanies(Arrays.asList("Red Hat", null)).getSpeakerCompanies())
+        .containsExactly("red hat");
+  }
+}
@@ -0,0 +1,197 @@
+package com.redhat.cfpaggregator.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.cfpaggregator.search.InvertedIndex.Hit;
+
+class InvertedIndexTests {
+  private static InvertedIndex<String> index() {
+    // title, description, summary
+    var index = new InvertedIndex<String>(3, 1, 1);
+    index.put("quarkus", "Supersonic Quarkus", "Quarkus is great for <b>Kubernetes</b>", null);
+    index.put("spring", "Spring Boot", "All about Spring and virtual threads", null);
+    index.put("java", "Java", "Some talk mentioning quarkus once, in a long description about many other things", null);
+    index.put("threads", "Virtual threads deep dive", null, "threads, but not virtual ones");
+
+    return index;
+  }
+
+  private static String[] keys(List<Hit<String>> hits) {
+    return hits.stream().map(Hit::key).toArray(String[]::new);
+  }
+
+  @Test
+  void ranksByRelevance() {
+    var hits = index().search(SearchQuery.parse("QUARKUS"), 10);
+
+    assertThat(keys(hits)).containsExactly("quarkus", "java");
+    assertThat(hits.getFirst().score()).isGreaterThan(hits.get(1).score());
+  }
+
+  @Test
+  void matchesAnyClause() {
+    assertThat(keys(index().search(SearchQuery.parse("kubernetes spring"), 10)))
+        .containsExactlyInAnyOrder("quarkus", "spring");
+  }
+
+  @Test
+  void limitsHits() {
+    assertThat(index().search(SearchQuery.parse("quarkus"), 1))
+        .extracting(Hit::key)
+        .containsExactly("quarkus");
+  }
+
+  @Test
+  void ignoresMarkup() {
+    assertThat(index().search(SearchQuery.parse("b"), 10)).isEmpty();
+  }
+
+  @Test
+  void phrases() {
+    assertThat(keys(index().search(SearchQuery.parse("\"virtual threads\""), 10)))
+        .containsExactlyInAnyOrder("spring", "threads");
+
+    assertThat(index().search(SearchQuery.parse("\"threads virtual\""), 10)).isEmpty();
+  }
+
+  @Test
+  void phrasesDontSpanFields() {
+    var index = new InvertedIndex<String>(1, 1);
+    index.put("split", "red", "hat");
+
+    assertThat(index.search(SearchQuery.parse("\"red hat\""), 10)).isEmpty();
+  }
+
+  @Test
+  void prefixes() {
+    assertThat(keys(index().search(SearchQuery.parse("quark*"), 10)))
+        .containsExactly("quarkus", "java");
+
+    assertThat(keys(index().search(SearchQuery.parse("thread*"), 10)))
+        .containsExactlyInAnyOrder("spring", "threads");
+  }
+
+  @Test
+  void putReplaces() {
+    var index = index();
+    index.put("java", "Java 25", null, null);
+
+    assertThat(index.size()).isEqualTo(4);
+    assertThat(keys(index.search(SearchQuery.parse("quarkus"), 10))).containsExactly("quarkus");
+    assertThat(keys(index.search(SearchQuery.parse("25"), 10))).containsExactly("java");
+  }
+
+  @Test
+  void remove() {
+    var index = index();
+    index.remove("quarkus");
+    index.remove("not there");
+
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(keys(index.search(SearchQuery.parse("quarkus"), 10))).containsExactly("java");
+    assertThat(index.search(SearchQuery.parse("kubernetes"), 10)).isEmpty();
+  }
+
+  @Test
+  void replace() {
+    var index = index();
+    index.replace(key -> key.contains("s"), Map.of("kotlin", new String[] { "Kotlin coroutines" }));
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(keys(index.search(SearchQuery.parse("quarkus kotlin threads"), 10)))
+        .containsExactlyInAnyOrder("java", "kotlin");
+  }
+
+  @Test
+  void filters() {
+    assertThat(keys(index().search(SearchQuery.parse("quarkus"), key -> !key.equals("quarkus"), 10)))
+        .containsExactly("java");
+  }
+
+  @Test
+  void emptyQueryMatchesEverythingPassingTheFilter() {
+    assertThat(keys(index().search(SearchQuery.parse(""), key -> key.startsWith("s") || key.startsWith("t"), 10)))
+        .containsExactly("spring", "threads");
+  }
+
+  @Test
+  void analyzesLargeBatchesInParallel() {
+    var documents = new LinkedHashMap<Integer, String[]>();
+
+    for (var key = 0; key < 1_000; key++) {
+      documents.put(key, new String[] { "talk " + key, (key % 2 == 0) ? "even" : "odd" });
+    }
+
+    var index = new InvertedIndex<Integer>(1, 1);
+    index.replace(key -> true, documents);
+
+    assertThat(index.size()).isEqualTo(1_000);
+    assertThat(index.search(SearchQuery.parse("even"), 1_000)).hasSize(500);
+    assertThat(index.search(SearchQuery.parse("\"talk 999\""), 10))
+        .extracting(Hit::key)
+        .containsExactly(999);
+  }
+
+  @Test
+  void emptyQueries() {
+    assertThat(index().search(SearchQuery.parse(null), 10)).isEmpty();
+    assertThat(index().search(SearchQuery.parse("  \"\" * "), 10)).isEmpty();
+    assertThat(new InvertedIndex<String>(1).search(SearchQuery.parse("quarkus"), 10)).isEmpty();
+  }
+
+  @Test
+  void compactsAfterChurn() {
+    var index = new InvertedIndex<Integer>(1, 1);
+
+    for (var round = 0; round < 5; round++) {
+      for (var key = 0; key < 2_000; key++) {
+        index.put(key, "alpha beta " + round, "gamma " + key);
+      }
+    }
+
+    assertThat(index.size()).isEqualTo(2_000);
+    assertThat(index.search(SearchQuery.parse("\"beta 3\""), 10)).isEmpty();
+    assertThat(index.search(SearchQuery.parse("\"beta 4\""), 3)).hasSize(3);
+    assertThat(index.search(SearchQuery.parse("1999"), 10))
+        .extracting(Hit::key)
+        .containsExactly(1_999);
+  }
+
+  @Test
+  void termsKeepTheirFieldsAcrossCompaction() {
+    var index = new InvertedIndex<Integer>(1, 1);
+
+    // "beta" is in the first field of these
+    for (var key = 0; key < 2_000; key++) {
+      index.put(key, "beta " + key, "other");
+    }
+
+    // and in the second field of this one
+    index.put(-1, "alpha", "gamma beta");
+    assertThat(index.search(SearchQuery.parse("\"alpha beta\""), 10)).isEmpty();
+
+    // Removing the others compacts the postings
+    for (var key = 0; key < 2_000; key++) {
+      index.remove(key);
+    }
+
+    index.put(-2, "alpha", "gamma beta");
+
+    assertThat(index.search(SearchQuery.parse("\"alpha beta\""), 10)).isEmpty();
+    assertThat(index.search(SearchQuery.parse("\"gamma beta\""), 10))
+        .extracting(Hit::key)
+        .containsExactlyInAnyOrder(-1, -2);
+
+    // Both documents are alike, so they score the same
+    assertThat(index.search(SearchQuery.parse("beta"), 10))
+        .extracting(Hit::score)
+        .containsOnly(index.search(SearchQuery.parse("beta"), 10).getFirst().score())
+        .hasSize(2);
+  }
+}
@@ -0,0 +1,38 @@
+package com.redhat.cfpaggregator.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.cfpaggregator.search.SearchQuery.Phrase;
+import com.redhat.cfpaggregator.search.SearchQuery.Prefix;
+import com.redhat.cfpaggregator.search.SearchQuery.Term;
+
+class SearchQueryTests {
+  @Test
+  void parsesClauses() {
+    assertThat(SearchQuery.parse("\"Virtual Threads\" quark* quarkus-langchain4j \"single\" Kubernetes").clauses())
+        .containsExactly(
+            new Phrase(List.of("virtual", "threads")),
+            new Prefix("quark"),
+            new Phrase(List.of("quarkus", "langchain4j")),
+            new Term("single"),
+            new Term("kubernetes")
+        );
+  }
+
+  @Test
+  void unbalancedQuote() {
+    assertThat(SearchQuery.parse("java \"red hat").clauses())
+        .containsExactly(new Term("java"), new Phrase(List.of("red", "hat")));
+  }
+
+  @Test
+  void empty() {
+    assertThat(SearchQuery.parse(null).isEmpty()).isTrue();
+    assertThat(SearchQuery.parse("   ").isEmpty()).isTrue();
+    assertThat(SearchQuery.parse("\"\" * --").isEmpty()).isTrue();
+  }
+}
@@ -0,0 +1,131 @@
+package com.redhat.cfpaggregator.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+
+class StoredEventFilterTests {
+  private static Event storedEvent() {
+    var quarkusTalk = Talk.builder()
+        .id(1L)
+        .eventTalkId("t1")
+        .title("Supersonic Quarkus")
+        .build();
+
+    var springTalk = Talk.builder()
+        .id(2L)
+        .eventTalkId("t2")
+        .title("All about Spring")
+        .build();
+
+    var summaryTalk = Talk.builder()
+        .id(3L)
+        .eventTalkId("t3")
+        .title("Cloud native Java")
+        .summary("Using quarkus on Kubernetes")
+        .build();
+
+    var redHatSpeaker = Speaker.builder()
+        .id(1L)
+        .eventSpeakerId("s1")
+        .firstName("Eric")
+        .lastName("Deandrea")
+        .company("Red Hat")
+        .talks(quarkusTalk, springTalk)
+        .build();
+
+    var bioSpeaker = Speaker.builder()
+        .id(2L)
+        .eventSpeakerId("s2")
+        .firstName("Jane")
+        .lastName("Doe")
+        .bio("Works at Red Hat")
+        .talks(quarkusTalk, summaryTalk)
+        .build();
+
+    var otherSpeaker = Speaker.builder()
+        .id(3L)
+        .eventSpeakerId("s3")
+        .firstName("John")
+        .lastName("Smith")
+        .company("Somewhere else")
+        .talks(springTalk)
+        .build();
+
+    return Event.builder()
+        .portalName("portal")
+        .name("Some event")
+        .portal(Portal.builder().portalName("portal").build())
+        .speakers(redHatSpeaker, bioSpeaker, otherSpeaker)
+        .build();
+  }
+
+  @Test
+  void noCriteriaKeepsEverything() {
+    var event = storedEvent();
+    var filtered = StoredEventFilter.filter(event, TalkSearchCriteria.builder().build().compiled());
+
+    assertThat(filtered.getSpeakerCount()).isEqualTo(3);
+    assertThat(filtered.getTalkCount()).isEqualTo(event.getTalkCount());
+  }
+
+  @Test
+  void onlyMatchingSpeakersAndTalksKept() {
+    var event = storedEvent();
+    var criteria = TalkSearchCriteria.builder()
+        .talkKeywords("Quarkus")
+        .speakerCompanies("red hat")
+        .build();
+
+    var filtered = StoredEventFilter.filter(event, criteria.compiled());
+
+    assertThat(filtered.getPortalName()).isEqualTo("portal");
+    assertThat(filtered.getPortal()).isSameAs(event.getPortal());
+    assertThat(filtered.getSpeakers())
+        .extracting(Speaker::getEventSpeakerId)
+        .containsExactly("s1", "s2");
+    assertThat(filtered.getSpeakers().get(0).getTalks())
+        .extracting(Talk::getEventTalkId)
+        .containsExactly("t1");
+    assertThat(filtered.getSpeakers().get(1).getTalks())
+        .extracting(Talk::getEventTalkId)
+        .containsExactly("t1", "t3");
+
+    // The co-presented talk is shared by both speakers
+    assertThat(filtered.getSpeakers().get(0).getTalks().getFirst())
+        .isSameAs(filtered.getSpeakers().get(1).getTalks().getFirst())
+        .satisfies(talk -> assertThat(talk.getSpeakers()).hasSize(2));
+  }
+
+  @Test
+  void speakersWithoutMatchingTalksDropped() {
+    var criteria = TalkSearchCriteria.builder()
+        .talkKeywords("Kotlin")
+        .build();
+
+    assertThat(StoredEventFilter.filter(storedEvent(), criteria.compiled()).getSpeakers()).isEmpty();
+  }
+
+  @Test
+  void storedEventUntouched() {
+    var event = storedEvent();
+    var criteria = TalkSearchCriteria.builder()
+        .talkKeywords("Quarkus")
+        .speakerCompanies("Red Hat")
+        .build();
+
+    StoredEventFilter.filter(event, criteria.compiled());
+
+    assertThat(event.getSpeakerCount()).isEqualTo(3);
+    assertThat(event.getPortal().getEvent()).isSameAs(event);
+    assertThat(event.getSpeakers().getFirst().getEvent()).isSameAs(event);
+    assertThat(event.getSpeakers().getFirst().getTalks()).hasSize(2);
+    assertThat(event.getSpeakers().getFirst().getTalks().getFirst().getSpeakers()).hasSize(2);
+  }
+}
@@ -0,0 +1,155 @@
+package com.redhat.cfpaggregator.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+import com.redhat.cfpaggregator.search.TalkSearchIndex.TalkSearchHit;
+
+@QuarkusTest
+class TalkSearchIndexTests {
+  // Every search is limited to these portals so talks indexed by the application itself don't get in the way
+  private static final String OPEN_CFP_PORTAL = "talk-search-index-open";
+  private static final String CLOSED_CFP_PORTAL = "talk-search-index-closed";
+  private static final Set<String> PORTALS = Set.of(OPEN_CFP_PORTAL, CLOSED_CFP_PORTAL);
+
+  @Inject
+  TalkSearchIndex talkSearchIndex;
+
+  @BeforeEach
+  void indexEvents() {
+    var now = Instant.now();
+
+    var kubernetesTalk = Talk.builder()
+        .eventTalkId("t1")
+        .title("Kubernetes native Java")
+        .summary("Running Quarkus on Kubernetes")
+        .build();
+
+    var coPresentedTalk = Talk.builder()
+        .eventTalkId("t2")
+        .title("Virtual threads deep dive")
+        .build();
+
+    var openEvent = Event.builder()
+        .portalName(OPEN_CFP_PORTAL)
+        .name("Open")
+        .cfpOpening(now.minus(Duration.ofDays(1)))
+        .cfpClosing(now.plus(Duration.ofDays(1)))
+        .speakers(
+            Speaker.builder()
+                .eventSpeakerId("s1")
+                .firstName("Eric")
+                .lastName("Deandrea")
+                .company("Red Hat")
+                .talks(kubernetesTalk, coPresentedTalk)
+                .build(),
+            Speaker.builder()
+                .eventSpeakerId("s2")
+                .firstName("Jane")
+                .lastName("Doe")
+                .company("Acme")
+                .bio("Loves Kubernetes")
+                .talks(coPresentedTalk)
+                .build()
+        )
+        .build();
+
+    var closedEvent = Event.builder()
+        .portalName(CLOSED_CFP_PORTAL)
+        .name("Closed")
+        .cfpOpening(now.minus(Duration.ofDays(10)))
+        .cfpClosing(now.minus(Duration.ofDays(5)))
+        .speakers(
+            Speaker.builder()
+                .eventSpeakerId("s1")
+                .firstName("John")
+                .lastName("Smith")
+                .company("Red Hat")
+                .talks(
+                    Talk.builder()
+                        .eventTalkId("t1")
+                        .title("Kubernetes operators")
+                        .build()
+                )
+                .build()
+        )
+        .build();
+
+    this.talkSearchIndex.index(openEvent);
+    this.talkSearchIndex.index(closedEvent);
+  }
+
+  @AfterEach
+  void removeEvents() {
+    PORTALS.forEach(this.talkSearchIndex::remove);
+  }
+
+  @Test
+  void ranksTalks() {
+    assertThat(this.talkSearchIndex.search("kubernetes", filter(Set.of(), false), 10))
+        .extracting(TalkSearchHit::portalName, TalkSearchHit::eventTalkId)
+        .containsExactly(
+            tuple(OPEN_CFP_PORTAL, "t1"),
+            tuple(CLOSED_CFP_PORTAL, "t1"),
+            tuple(OPEN_CFP_PORTAL, "t2")
+        );
+  }
+
+  @Test
+  void coPresentedTalksAreIndexedOnce() {
+    assertThat(this.talkSearchIndex.search("\"virtual threads\"", filter(Set.of(), false), 10))
+        .singleElement()
+        .satisfies(hit -> assertThat(hit.speakers()).containsExactly("Eric Deandrea", "Jane Doe"));
+  }
+
+  @Test
+  void filtersOnCompanyAndOpenCfp() {
+    assertThat(this.talkSearchIndex.search("kubernetes", filter(Set.of("red hat"), true), 10))
+        .extracting(TalkSearchHit::eventTalkId)
+        .containsExactlyInAnyOrder("t1", "t2");
+
+    assertThat(this.talkSearchIndex.search("operators", filter(Set.of("red hat"), true), 10)).isEmpty();
+    assertThat(this.talkSearchIndex.search("kubernetes", filter(Set.of("acme"), false), 10))
+        .extracting(TalkSearchHit::eventTalkId)
+        .containsExactly("t2");
+  }
+
+  @Test
+  void filterWithoutQuery() {
+    assertThat(this.talkSearchIndex.search("", filter(Set.of(), true), 10))
+        .extracting(TalkSearchHit::portalName)
+        .containsOnly(OPEN_CFP_PORTAL)
+        .hasSize(2);
+  }
+
+  @Test
+  void reindexingReplacesPortal() {
+    this.talkSearchIndex.index(
+        Event.builder()
+            .portalName(CLOSED_CFP_PORTAL)
+            .name("Closed")
+            .build()
+    );
+
+    assertThat(this.talkSearchIndex.search("operators", filter(Set.of(), false), 10)).isEmpty();
+  }
+
+  private static TalkSearchFilter filter(Set<String> companies, boolean openCfpOnly) {
+    return new TalkSearchFilter(PORTALS, companies, openCfpOnly);
+  }
+}
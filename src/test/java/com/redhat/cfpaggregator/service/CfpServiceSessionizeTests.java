@@ -0,0 +1,140 @@
+package com.redhat.cfpaggregator.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.jsonResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.Map;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.wiremock.devservice.ConnectWireMock;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.redhat.cfpaggregator.client.CfpClient;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+import com.redhat.cfpaggregator.repository.PortalRepository;
+import com.redhat.cfpaggregator.repository.SpeakerRepository;
+import com.redhat.cfpaggregator.service.CfpServiceSessionizeTests.ConfigTestProfile;
+
+@QuarkusTest
+@ConnectWireMock
+@TestProfile(ConfigTestProfile.class)
+class CfpServiceSessionizeTests {
+  private static final TalkSearchCriteria SEARCH_CRITERIA = TalkSearchCriteria.builder()
+      .talkKeywords("quarkus")
+      .build();
+
+  @Inject
+  CfpService cfpService;
+
+  @Inject
+  PortalRepository portalRepository;
+
+  @Inject
+  SpeakerRepository speakerRepository;
+
+  WireMock wireMock;
+
+  @BeforeEach
+  void beforeEach() {
+    this.wireMock.resetToDefaultMappings();
+
+    QuarkusTransaction.requiringNew().run(() -> {
+      this.portalRepository.deleteAllWithCascade();
+      this.cfpService.createPortals();
+    });
+
+    // Sessionize lists each speaker once, and each of their sessions separately
+    this.wireMock.register(get(urlPathEqualTo("/api/v2/sessportal/view/All"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("sessportal"))
+        .willReturn(jsonResponse("""
+            {
+              "sessions": [
+                {
+                  "id": "1",
+                  "title": "Quarkus for Spring developers",
+                  "description": "Moving from Spring to Quarkus",
+                  "speakers": ["speaker-1"]
+                },
+                {
+                  "id": "2",
+                  "title": "Quarkus and LangChain4j",
+                  "description": "AI apps with Quarkus",
+                  "speakers": ["speaker-1", "speaker-2"]
+                },
+                {
+                  "id": "3",
+                  "title": "Quarkus dev services",
+                  "description": "Testing with Quarkus",
+                  "speakers": ["speaker-1"]
+                }
+              ],
+              "speakers": [
+                {
+                  "id": "speaker-1",
+                  "firstName": "Eric",
+                  "lastName": "Deandrea",
+                  "bio": "Red Hat"
+                },
+                {
+                  "id": "speaker-2",
+                  "firstName": "Jane",
+                  "lastName": "Doe",
+                  "bio": "Acme"
+                }
+              ]
+            }
+            """, Status.OK.getStatusCode())));
+  }
+
+  @Test
+  void recreateEventsStoresSpeakersWithSeveralTalksOnce() {
+    assertThat(this.cfpService.recreateEvents(SEARCH_CRITERIA))
+        .filteredOn(result -> "sessportal".equals(result.portalName()))
+        .singleElement()
+        .extracting(PortalRefreshResult::status)
+        .isEqualTo(PortalRefreshResult.Status.REFRESHED);
+
+    assertThat(this.cfpService.getFullyPopulatedEvent("sessportal"))
+        .get()
+        .satisfies(event -> {
+          assertThat(event.getTalkCount()).isEqualTo(3);
+          assertThat(event.getSpeakers())
+              .extracting(Speaker::getEventSpeakerId, Speaker::getTalkCount)
+              .containsExactlyInAnyOrder(
+                  tuple("speaker-1", 3),
+                  tuple("speaker-2", 1)
+              );
+        });
+
+    // No rows are left behind that nothing points to
+    assertThat(QuarkusTransaction.requiringNew().call(() -> this.speakerRepository.count("event.portalName", "sessportal")))
+        .isEqualTo(2);
+  }
+
+  public static class ConfigTestProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "cfps.refresh-mode", "recreate",
+          "cfps.circuit-breaker.enabled", "false",
+          "cfps.portals.sessportal.base-url", "http://localhost:${quarkus.wiremock.devservices.port}",
+          "cfps.portals.sessportal.portal-type", "SESSIONIZE",
+          "cfps.portals.sessportal.description", "Sessionize Portal"
+      );
+    }
+  }
+}
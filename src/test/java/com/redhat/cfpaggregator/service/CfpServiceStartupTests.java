@@ -0,0 +1,184 @@
+package com.redhat.cfpaggregator.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.jsonResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathTemplate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.wiremock.devservice.ConnectWireMock;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.redhat.cfpaggregator.client.CfpClient;
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+import com.redhat.cfpaggregator.repository.PortalRepository;
+import com.redhat.cfpaggregator.search.TalkSearchFilter;
+import com.redhat.cfpaggregator.search.TalkSearchIndex.TalkSearchHit;
+import com.redhat.cfpaggregator.service.CfpServiceStartupTests.ConfigTestProfile;
+
+@QuarkusTest
+@ConnectWireMock
+@TestProfile(ConfigTestProfile.class)
+class CfpServiceStartupTests {
+  private static final TalkSearchFilter STORED_PORTAL = new TalkSearchFilter(Set.of("startup1"), Set.of(), false);
+
+  @Inject
+  CfpService cfpService;
+
+  @Inject
+  PortalRepository portalRepository;
+
+  WireMock wireMock;
+
+  @BeforeEach
+  void beforeEach() {
+    this.wireMock.resetToDefaultMappings();
+
+    // startup1 has an event from a previous run, and startup2 was added to the configuration since
+    QuarkusTransaction.requiringNew().run(() -> {
+      this.portalRepository.deleteAllWithCascade();
+      this.cfpService.createPortals();
+      this.portalRepository.deleteWithCascade(List.of("startup2"));
+      this.portalRepository.findById("startup1").setEvent(
+          Event.builder()
+              .portalName("startup1")
+              .name("Stored Event")
+              .speakers(
+                  Speaker.builder()
+                      .eventSpeakerId("s1")
+                      .firstName("Eric")
+                      .lastName("Deandrea")
+                      .company("Red Hat")
+                      .talks(
+                          Talk.builder()
+                              .eventTalkId("t1")
+                              .title("Kubernetes native Java")
+                              .build()
+                      )
+                      .build()
+              )
+              .build()
+      );
+    });
+
+    // The background reload takes a while, so what is stored can be checked before it is done
+    this.wireMock.register(get(urlPathEqualTo("/api/public/event"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("startup1"))
+        .willReturn(
+            jsonResponse("""
+                {
+                  "name": "Reloaded Event",
+                  "timezone": "Europe/London"
+                }
+                """, Status.OK.getStatusCode())
+                .withFixedDelay(1_000)
+        ));
+
+    this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
+        .withPathParam("searchQuery", equalTo("quarkus"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("startup1"))
+        .willReturn(jsonResponse("""
+            {
+              "searchQuery": "quarkus",
+              "proposals": [
+                {
+                  "id": 37706,
+                  "title": "Boost Developer Productivity and Speed Up Your Inner Loop with Quarkus",
+                  "speakers": [
+                    {
+                      "id": 2632,
+                      "firstName": "Daniel",
+                      "lastName": "Oh",
+                      "company": "Red Hat"
+                    }
+                  ]
+                }
+              ]
+            }
+            """, Status.OK.getStatusCode())));
+  }
+
+  @Test
+  void startsWithStoredEventsAndReloadsThemInTheBackground() {
+    this.cfpService.onStartup(new StartupEvent());
+
+    // The stored events are searchable straight away
+    assertThat(this.cfpService.searchTalks("kubernetes", STORED_PORTAL, 10))
+        .extracting(TalkSearchHit::title)
+        .containsExactly("Kubernetes native Java");
+
+    assertThat(this.cfpService.getFullyPopulatedEvent("startup1"))
+        .get()
+        .extracting(Event::getName)
+        .isEqualTo("Stored Event");
+
+    // The portal that wasn't stored yet is created
+    assertThat(this.cfpService.doesPortalNameExist("startup2")).isTrue();
+
+    // Then the stored events are reloaded
+    awaitUntil(() ->
+        this.cfpService.getFullyPopulatedEvent("startup1")
+            .map(Event::getName)
+            .filter("Reloaded Event"::equals)
+            .isPresent()
+    );
+
+    awaitUntil(() -> !this.cfpService.searchTalks("quarkus", STORED_PORTAL, 10).isEmpty());
+    assertThat(this.cfpService.searchTalks("kubernetes", STORED_PORTAL, 10)).isEmpty();
+  }
+
+  private static void awaitUntil(BooleanSupplier condition) {
+    var deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime())
+          .as("Condition wasn't met within 30 seconds")
+          .isLessThan(deadline);
+
+      try {
+        Thread.sleep(50);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AssertionError(e);
+      }
+    }
+  }
+
+  public static class ConfigTestProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "cfps.reload-on-startup", "true",
+          "cfps.circuit-breaker.enabled", "false",
+          "cfps.default-search-criteria.talk-keywords", "quarkus",
+          "cfps.portals.startup1.base-url", "http://localhost:${quarkus.wiremock.devservices.port}",
+          "cfps.portals.startup1.portal-type", "CFP_DEV",
+          "cfps.portals.startup1.description", "Startup Portal 1",
+          "cfps.portals.startup2.base-url", "http://localhost:${quarkus.wiremock.devservices.port}",
+          "cfps.portals.startup2.portal-type", "CFP_DEV",
+          "cfps.portals.startup2.description", "Startup Portal 2"
+      );
+    }
+  }
+}
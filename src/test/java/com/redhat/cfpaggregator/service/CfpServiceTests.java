@@ -0,0 +1,300 @@
+package com.redhat.cfpaggregator.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.jsonResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathTemplate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.wiremock.devservice.ConnectWireMock;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.redhat.cfpaggregator.client.CfpClient;
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+import com.redhat.cfpaggregator.repository.PortalRepository;
+import com.redhat.cfpaggregator.service.CfpServiceTests.ConfigTestProfile;
+
+@QuarkusTest
+@ConnectWireMock
+@TestProfile(ConfigTestProfile.class)
+class CfpServiceTests {
+  private static final TalkSearchCriteria SEARCH_CRITERIA = TalkSearchCriteria.builder()
+      .talkKeywords("quarkus")
+      .build();
+
+  private static final String SEARCH_RESULTS = """
+      {
+        "searchQuery": "quarkus",
+        "proposals": [
+          {
+            "id": 37706,
+            "title": "Boost Developer Productivity and Speed Up Your Inner Loop with Quarkus",
+            "speakers": [
+              {
+                "id": 2632,
+                "firstName": "Daniel",
+                "lastName": "Oh",
+                "company": "Red Hat"
+              }
+            ]
+          }
+        ]
+      }
+      """;
+
+  @Inject
+  CfpService cfpService;
+
+  @Inject
+  PortalRepository portalRepository;
+
+  WireMock wireMock;
+
+  @BeforeEach
+  void beforeEach() {
+    this.wireMock.resetToDefaultMappings();
+    this.wireMock.resetRequests();
+    this.wireMock.resetScenarios();
+
+    QuarkusTransaction.requiringNew().run(() -> {
+      this.portalRepository.deleteAllWithCascade();
+      this.cfpService.createPortals();
+    });
+  }
+
+  @Test
+  void refreshEventsProgressivelyEmitsEachPortalOnceStored() {
+    portalAnswers("fastportal", "Fast Event", Duration.ZERO);
+    portalAnswers("slowportal", "Slow Event", Duration.ofSeconds(1));
+
+    var storedWhenEmitted = new ArrayList<String>();
+
+    var results = this.cfpService.refreshEventsProgressively(SEARCH_CRITERIA)
+        .onItem().invoke(result -> {
+          // Each portal's event has been stored by the time its result is emitted
+          if (result.isRefreshed() && this.cfpService.getFullyPopulatedEvent(result.portalName()).isPresent()) {
+            storedWhenEmitted.add(result.portalName());
+          }
+        })
+        .collect().asList()
+        .await().atMost(Duration.ofSeconds(30));
+
+    // Every portal has a result, whether it was refreshed or not
+    assertThat(results)
+        .extracting(PortalRefreshResult::portalName)
+        .containsExactlyInAnyOrderElementsOf(this.cfpService.getPortals().stream().map(Portal::getPortalName).toList());
+
+    // The fast portal doesn't wait for the slow one
+    var portalNames = results.stream().map(PortalRefreshResult::portalName).toList();
+    assertThat(portalNames.indexOf("fastportal")).isLessThan(portalNames.indexOf("slowportal"));
+
+    assertThat(storedWhenEmitted).contains("fastportal", "slowportal");
+
+    assertThat(this.cfpService.getFullyPopulatedEvent("fastportal"))
+        .get()
+        .satisfies(event -> {
+          assertThat(event.getName()).isEqualTo("Fast Event");
+          assertThat(event.getTalkCount()).isOne();
+          assertThat(event.getSpeakerCount()).isOne();
+        });
+  }
+
+  @Test
+  void refreshEventsProgressivelyKeepsEventOfFailedPortal() {
+    portalAnswers("fastportal", "Fast Event", Duration.ZERO);
+    refreshProgressively();
+
+    // The portal is down the next time round
+    this.wireMock.register(portalRequest(get(urlPathEqualTo("/api/public/event")), "fastportal")
+        .atPriority(1)
+        .willReturn(aResponse().withStatus(Status.NOT_FOUND.getStatusCode())));
+
+    var results = refreshProgressively();
+
+    assertThat(results.get("fastportal"))
+        .isNotNull()
+        .extracting(PortalRefreshResult::status)
+        .isEqualTo(PortalRefreshResult.Status.FAILED);
+
+    assertThat(this.cfpService.getFullyPopulatedEvent("fastportal"))
+        .get()
+        .extracting(Event::getName)
+        .isEqualTo("Fast Event");
+  }
+
+  @Test
+  void recreateEventsRetriesTransientFailures() {
+    portalAnswers("fastportal", "Fast Event", Duration.ZERO);
+
+    // The first call fails, the retry succeeds
+    this.wireMock.register(portalRequest(get(urlPathEqualTo("/api/public/event")), "fastportal")
+        .atPriority(1)
+        .inScenario("transient-failure")
+        .whenScenarioStateIs(Scenario.STARTED)
+        .willSetStateTo("recovered")
+        .willReturn(aResponse().withStatus(Status.SERVICE_UNAVAILABLE.getStatusCode())));
+
+    assertThat(recreateEvents().get("fastportal"))
+        .isNotNull()
+        .extracting(PortalRefreshResult::status)
+        .isEqualTo(PortalRefreshResult.Status.REFRESHED);
+
+    this.wireMock.verifyThat(2, portalRequested("fastportal"));
+  }
+
+  @Test
+  void recreateEventsGivesUpAfterMaxRetries() {
+    portalAnswers("fastportal", "Fast Event", Duration.ZERO);
+    portalIsUnavailable("fastportal");
+
+    assertThat(recreateEvents().get("fastportal"))
+        .isNotNull()
+        .extracting(PortalRefreshResult::status)
+        .isEqualTo(PortalRefreshResult.Status.FAILED);
+
+    // The first call, plus every retry
+    this.wireMock.verifyThat(3, portalRequested("fastportal"));
+  }
+
+  @Test
+  void recreateEventsDoesNotRetryClientErrors() {
+    portalAnswers("fastportal", "Fast Event", Duration.ZERO);
+    this.wireMock.register(portalRequest(get(urlPathEqualTo("/api/public/event")), "fastportal")
+        .atPriority(1)
+        .willReturn(aResponse().withStatus(Status.NOT_FOUND.getStatusCode())));
+
+    assertThat(recreateEvents().get("fastportal"))
+        .isNotNull()
+        .extracting(PortalRefreshResult::status)
+        .isEqualTo(PortalRefreshResult.Status.FAILED);
+
+    this.wireMock.verifyThat(1, portalRequested("fastportal"));
+  }
+
+  @Test
+  void recreateEventsKeepsLastKnownGoodEvent() {
+    portalAnswers("fastportal", "Fast Event", Duration.ZERO);
+    portalAnswers("slowportal", "Slow Event", Duration.ZERO);
+    recreateEvents();
+
+    // Next time round one portal is down, and the other has changed
+    portalIsUnavailable("fastportal");
+    portalAnswers("slowportal", "Renamed Slow Event", Duration.ZERO);
+
+    var results = recreateEvents();
+
+    assertThat(results.get("fastportal"))
+        .isNotNull()
+        .extracting(PortalRefreshResult::status)
+        .isEqualTo(PortalRefreshResult.Status.FAILED);
+
+    assertThat(results.get("slowportal"))
+        .isNotNull()
+        .extracting(PortalRefreshResult::status)
+        .isEqualTo(PortalRefreshResult.Status.REFRESHED);
+
+    assertThat(this.cfpService.getFullyPopulatedEvent("fastportal"))
+        .get()
+        .satisfies(event -> {
+          assertThat(event.getName()).isEqualTo("Fast Event");
+          assertThat(event.getTalkCount()).isOne();
+        });
+
+    assertThat(this.cfpService.getFullyPopulatedEvent("slowportal"))
+        .get()
+        .extracting(Event::getName)
+        .isEqualTo("Renamed Slow Event");
+  }
+
+  private Map<String, PortalRefreshResult> recreateEvents() {
+    return this.cfpService.recreateEvents(SEARCH_CRITERIA)
+        .stream()
+        .collect(Collectors.toMap(PortalRefreshResult::portalName, Function.identity()));
+  }
+
+  private Map<String, PortalRefreshResult> refreshProgressively() {
+    var results = this.cfpService.refreshEventsProgressively(SEARCH_CRITERIA)
+        .collect().asMap(PortalRefreshResult::portalName)
+        .await().atMost(Duration.ofSeconds(30));
+
+    assertThat(results).hasSize(this.cfpService.getPortals().size());
+    return results;
+  }
+
+  private void portalAnswers(String portalName, String eventName, Duration delay) {
+    this.wireMock.register(portalRequest(get(urlPathEqualTo("/api/public/event")), portalName)
+        .atPriority(2)
+        .willReturn(delayed(jsonResponse("""
+            {
+              "name": "%s",
+              "timezone": "Europe/London"
+            }
+            """.formatted(eventName), Status.OK.getStatusCode()), delay)));
+
+    this.wireMock.register(portalRequest(get(urlPathTemplate("/api/public/search/{searchQuery}")), portalName)
+        .atPriority(2)
+        .withPathParam("searchQuery", equalTo("quarkus"))
+        .willReturn(delayed(jsonResponse(SEARCH_RESULTS, Status.OK.getStatusCode()), delay)));
+  }
+
+  private void portalIsUnavailable(String portalName) {
+    this.wireMock.register(portalRequest(get(urlPathEqualTo("/api/public/event")), portalName)
+        .atPriority(1)
+        .willReturn(aResponse().withStatus(Status.SERVICE_UNAVAILABLE.getStatusCode())));
+  }
+
+  private static RequestPatternBuilder portalRequested(String portalName) {
+    return getRequestedFor(urlPathEqualTo("/api/public/event"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo(portalName));
+  }
+
+  private static MappingBuilder portalRequest(MappingBuilder request, String portalName) {
+    return request.withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo(portalName));
+  }
+
+  private static ResponseDefinitionBuilder delayed(ResponseDefinitionBuilder response, Duration delay) {
+    return response.withFixedDelay((int) delay.toMillis());
+  }
+
+  public static class ConfigTestProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "cfps.circuit-breaker.enabled", "false",
+          "cfps.retry.initial-backoff", "10ms",
+          "cfps.retry.max-backoff", "50ms",
+          "cfps.portals.fastportal.base-url", "http://localhost:${quarkus.wiremock.devservices.port}",
+          "cfps.portals.fastportal.portal-type", "CFP_DEV",
+          "cfps.portals.fastportal.description", "Fast Portal",
+          "cfps.portals.slowportal.base-url", "http://localhost:${quarkus.wiremock.devservices.port}",
+          "cfps.portals.slowportal.portal-type", "CFP_DEV",
+          "cfps.portals.slowportal.description", "Slow Portal"
+      );
+    }
+  }
+}
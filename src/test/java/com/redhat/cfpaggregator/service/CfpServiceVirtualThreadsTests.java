@@ -0,0 +1,181 @@
+package com.redhat.cfpaggregator.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.jsonResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathTemplate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.wiremock.devservice.ConnectWireMock;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectSpy;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.redhat.cfpaggregator.client.CfpClient;
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.TalkSearchCriteria;
+import com.redhat.cfpaggregator.repository.PortalRepository;
+import com.redhat.cfpaggregator.service.CfpServiceVirtualThreadsTests.ConfigTestProfile;
+
+@QuarkusTest
+@ConnectWireMock
+@TestProfile(ConfigTestProfile.class)
+class CfpServiceVirtualThreadsTests {
+  private static final TalkSearchCriteria SEARCH_CRITERIA = TalkSearchCriteria.builder()
+      .talkKeywords("quarkus")
+      .build();
+
+  private static final String EVENT = """
+      {
+        "name": "Virtual Event",
+        "timezone": "Europe/London"
+      }
+      """;
+
+  private static final String SEARCH_RESULTS = """
+      {
+        "searchQuery": "quarkus",
+        "proposals": [
+          {
+            "id": 37706,
+            "title": "Boost Developer Productivity and Speed Up Your Inner Loop with Quarkus",
+            "speakers": [
+              {
+                "id": 2632,
+                "firstName": "Daniel",
+                "lastName": "Oh",
+                "company": "Red Hat"
+              }
+            ]
+          }
+        ]
+      }
+      """;
+
+  @Inject
+  CfpService cfpService;
+
+  @Inject
+  PortalRepository portalRepository;
+
+  @InjectSpy
+  VirtualThreadPortalExecutor virtualThreadPortalExecutor;
+
+  WireMock wireMock;
+
+  @BeforeEach
+  void beforeEach() {
+    this.wireMock.resetToDefaultMappings();
+
+    QuarkusTransaction.requiringNew().run(() -> {
+      this.portalRepository.deleteAllWithCascade();
+      this.cfpService.createPortals();
+    });
+
+    this.wireMock.register(get(urlPathEqualTo("/api/public/event"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("vtportal"))
+        .willReturn(jsonResponse(EVENT, Status.OK.getStatusCode())));
+
+    this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
+        .withPathParam("searchQuery", equalTo("quarkus"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("vtportal"))
+        .willReturn(jsonResponse(SEARCH_RESULTS, Status.OK.getStatusCode())));
+
+    // Never answers within the portal's budget
+    this.wireMock.register(get(urlPathEqualTo("/api/public/event"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("vtslowportal"))
+        .willReturn(jsonResponse(EVENT, Status.OK.getStatusCode()).withFixedDelay(5_000)));
+
+    this.wireMock.register(get(urlPathTemplate("/api/public/search/{searchQuery}"))
+        .withPathParam("searchQuery", equalTo("quarkus"))
+        .withHeader(CfpClient.PORTAL_NAME_HEADER, equalTo("vtslowportal"))
+        .willReturn(jsonResponse(SEARCH_RESULTS, Status.OK.getStatusCode())));
+  }
+
+  @Test
+  void recreateEventsFetchesOnVirtualThreads() {
+    var results = this.cfpService.recreateEvents(SEARCH_CRITERIA)
+        .stream()
+        .collect(Collectors.toMap(PortalRefreshResult::portalName, Function.identity()));
+
+    // Every portal is fetched on its own virtual thread
+    verify(this.virtualThreadPortalExecutor, times(this.cfpService.getPortals().size())).submit(any());
+
+    assertThat(results.get("vtportal"))
+        .isNotNull()
+        .satisfies(result -> {
+          assertThat(result.status()).isEqualTo(PortalRefreshResult.Status.REFRESHED);
+          assertThat(result.bytesReceived()).isEqualTo(EVENT.getBytes(StandardCharsets.UTF_8).length + SEARCH_RESULTS.getBytes(StandardCharsets.UTF_8).length);
+        });
+
+    assertThat(this.cfpService.getFullyPopulatedEvent("vtportal"))
+        .get()
+        .satisfies(event -> {
+          assertThat(event.getName()).isEqualTo("Virtual Event");
+          assertThat(event.getTalkCount()).isOne();
+        });
+  }
+
+  @Test
+  void refreshEventsProgressivelyGivesUpOnSlowPortal() {
+    var start = System.nanoTime();
+
+    var results = this.cfpService.refreshEventsProgressively(SEARCH_CRITERIA)
+        .collect().asMap(PortalRefreshResult::portalName)
+        .await().atMost(Duration.ofSeconds(30));
+
+    assertThat(results.get("vtportal"))
+        .isNotNull()
+        .extracting(PortalRefreshResult::status)
+        .isEqualTo(PortalRefreshResult.Status.REFRESHED);
+
+    // Its virtual thread is interrupted once its budget runs out, rather than waiting for the portal to answer
+    assertThat(results.get("vtslowportal"))
+        .isNotNull()
+        .extracting(PortalRefreshResult::status)
+        .isEqualTo(PortalRefreshResult.Status.TIMED_OUT);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+
+    assertThat(this.cfpService.getFullyPopulatedEvent("vtportal"))
+        .get()
+        .extracting(Event::getName)
+        .isEqualTo("Virtual Event");
+  }
+
+  public static class ConfigTestProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "cfps.execution-mode", "virtual-threads",
+          "cfps.circuit-breaker.enabled", "false",
+          "cfps.deadline.per-portal", "1s",
+          "cfps.portals.vtportal.base-url", "http://localhost:${quarkus.wiremock.devservices.port}",
+          "cfps.portals.vtportal.portal-type", "CFP_DEV",
+          "cfps.portals.vtportal.description", "Virtual Threads Portal",
+          "cfps.portals.vtslowportal.base-url", "http://localhost:${quarkus.wiremock.devservices.port}",
+          "cfps.portals.vtslowportal.portal-type", "CFP_DEV",
+          "cfps.portals.vtslowportal.description", "Slow Virtual Threads Portal"
+      );
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.redhat.cfpaggregator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.domain.PortalType;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+import com.redhat.cfpaggregator.repository.PortalRepository;
+import com.redhat.cfpaggregator.repository.SpeakerRepository;
+import com.redhat.cfpaggregator.repository.TalkRepository;
+
+@QuarkusTest
+@TestTransaction
+class IncrementalEventUpdaterTests {
+  private static final String PORTAL_NAME = "Incremental Portal";
+
+  @Inject
+  IncrementalEventUpdater incrementalEventUpdater;
+
+  @Inject
+  PortalRepository portalRepository;
+
+  @Inject
+  SpeakerRepository speakerRepository;
+
+  @Inject
+  TalkRepository talkRepository;
+
+  @Test
+  void newEventIsInserted() {
+    var portal = portal();
+    this.portalRepository.persistAndFlush(portal);
+
+    var changes = this.incrementalEventUpdater.update(portal, event("Event", speaker("1", "Bio"), speaker("2", "Bio")));
+    this.portalRepository.flush();
+
+    assertThat(changes).isEqualTo(new RefreshChanges(1, 0, 2, 0, 0, 0, 0, 0));
+    assertThat(portal.getEvent().getSpeakerCount()).isEqualTo(2);
+  }
+
+  @Test
+  void onlyDifferencesAreApplied() {
+    var speakerCount = this.speakerRepository.count();
+    var talkCount = this.talkRepository.count();
+
+    // Stored: speaker 1 gives talks 1 & 2, speaker 2 co-presents talk 2
+    var talk1 = talk("1", "Talk 1");
+    var talk2 = talk("2", "Talk 2");
+    var speaker1 = speaker("1", "Bio");
+    var speaker2 = speaker("2", "Bio");
+    speaker1.addTalks(talk1, talk2);
+    speaker2.addTalks(talk2);
+
+    var portal = portal();
+    portal.setEvent(event("Event", speaker1, speaker2));
+    this.portalRepository.persistAndFlush(portal);
+    assertThat(this.speakerRepository.count()).isEqualTo(speakerCount + 2);
+    assertThat(this.talkRepository.count()).isEqualTo(talkCount + 2);
+
+    // Fetched: event renamed, speaker 1's bio & talk 1's title changed, speaker 2 & talk 2 gone, speaker 3 & talk 3 new
+    var changes = this.incrementalEventUpdater.update(portal, fetchedEvent());
+    this.portalRepository.flush();
+
+    assertThat(changes).isEqualTo(new RefreshChanges(0, 1, 1, 1, 1, 1, 1, 1));
+    assertThat(this.speakerRepository.count()).isEqualTo(speakerCount + 2);
+    assertThat(this.talkRepository.count()).isEqualTo(talkCount + 2);
+    assertThat(portal.getEvent().getName()).isEqualTo("Renamed event");
+    assertThat(portal.getEvent().getSpeakers())
+        .extracting(Speaker::getEventSpeakerId)
+        .containsExactlyInAnyOrder("1", "3");
+    assertThat(speaker1.getBio()).isEqualTo("New bio");
+    assertThat(speaker1.getTalks())
+        .singleElement()
+        .extracting(Talk::getId, Talk::getTitle)
+        .containsExactly(talk1.getId(), "New title");
+
+    // Applying the same data again is a no-op
+    var secondChanges = this.incrementalEventUpdater.update(portal, fetchedEvent());
+    this.portalRepository.flush();
+
+    assertThat(secondChanges).isEqualTo(RefreshChanges.NONE);
+    assertThat(secondChanges.hasChanges()).isFalse();
+  }
+
+  private static Event fetchedEvent() {
+    var speaker1 = speaker("1", "New bio");
+    speaker1.addTalks(talk("1", "New title"));
+
+    var speaker3 = speaker("3", "Bio");
+    speaker3.addTalks(talk("3", "Talk 3"));
+
+    var event = event("Renamed event", speaker1, speaker3);
+    portal().setEvent(event);
+
+    return event;
+  }
+
+  private static Portal portal() {
+    return Portal.builder()
+        .portalName(PORTAL_NAME)
+        .baseUrl("http://somewhere.com")
+        .description("Some portal")
+        .portalType(PortalType.CFP_DEV)
+        .build();
+  }
+
+  private static Event event(String name, Speaker... speakers) {
+    var event = Event.builder()
+        .name(name)
+        .description("Some event somewhere")
+        .fromDate(Instant.parse("2030-01-01T00:00:00Z"))
+        .toDate(Instant.parse("2030-01-03T00:00:00Z"))
+        .build();
+
+    event.addSpeakers(speakers);
+    return event;
+  }
+
+  private static Speaker speaker(String eventSpeakerId, String bio) {
+    return Speaker.builder()
+        .eventSpeakerId(eventSpeakerId)
+        .firstName("First" + eventSpeakerId)
+        .lastName("Last" + eventSpeakerId)
+        .bio(bio)
+        .build();
+  }
+
+  private static Talk talk(String eventTalkId, String title) {
+    return Talk.builder()
+        .eventTalkId(eventTalkId)
+        .title(title)
+        .build();
+  }
+}
@@ -0,0 +1,38 @@
+package com.redhat.cfpaggregator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.mutiny.TimeoutException;
+
+import com.redhat.cfpaggregator.client.CircuitBreakerOpenException;
+import com.redhat.cfpaggregator.service.PortalRefreshResult.Status;
+
+class PortalRefreshResultTests {
+  @Test
+  void statusFromFailure() {
+    assertThat(PortalRefreshResult.failed("portal", Duration.ZERO, new TimeoutException()).status())
+        .isEqualTo(Status.TIMED_OUT);
+
+    assertThat(PortalRefreshResult.failed("portal", Duration.ZERO, new CircuitBreakerOpenException("portal")).status())
+        .isEqualTo(Status.CIRCUIT_OPEN);
+
+    var failed = PortalRefreshResult.failed("portal", Duration.ZERO, new IllegalStateException("Boom"));
+    assertThat(failed.status()).isEqualTo(Status.FAILED);
+    assertThat(failed.error()).hasValue("Boom");
+    assertThat(failed.isRefreshed()).isFalse();
+  }
+
+  @Test
+  void refreshedWithChanges() {
+    var changes = new RefreshChanges(1, 0, 0, 0, 0, 0, 0, 0);
+    var result = PortalRefreshResult.refreshed("portal", Duration.ofSeconds(1)).withChanges(changes);
+
+    assertThat(result.isRefreshed()).isTrue();
+    assertThat(result.error()).isEmpty();
+    assertThat(result.changes()).hasValue(changes);
+  }
+}
@@ -0,0 +1,65 @@
+package com.redhat.cfpaggregator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+import com.redhat.cfpaggregator.domain.Event;
+
+@QuarkusTest
+class PortalRefreshSchedulerTests {
+  private static final Instant NOW = Instant.parse("2030-06-01T00:00:00Z");
+
+  @Inject
+  PortalRefreshScheduler scheduler;
+
+  @Test
+  void portalWithoutEventUsesDefaultInterval() {
+    assertThat(this.scheduler.refreshIntervalFor(null, NOW)).hasValue(Duration.ofDays(1));
+  }
+
+  @Test
+  void openCfpRefreshesOften() {
+    var event = event(NOW.plus(Duration.ofDays(120)), NOW.plus(Duration.ofDays(122)))
+        .cfpOpening(NOW.minus(Duration.ofDays(5)))
+        .cfpClosing(NOW.plus(Duration.ofDays(5)))
+        .build();
+
+    assertThat(this.scheduler.refreshIntervalFor(event, NOW)).hasValue(Duration.ofHours(1));
+  }
+
+  @Test
+  void upcomingEventRefreshesLessOften() {
+    var event = event(NOW.plus(Duration.ofDays(10)), NOW.plus(Duration.ofDays(12))).build();
+    assertThat(this.scheduler.refreshIntervalFor(event, NOW)).hasValue(Duration.ofHours(6));
+
+    var inProgress = event(NOW.minus(Duration.ofDays(1)), NOW.plus(Duration.ofDays(1))).build();
+    assertThat(this.scheduler.refreshIntervalFor(inProgress, NOW)).hasValue(Duration.ofHours(6));
+  }
+
+  @Test
+  void distantEventUsesDefaultInterval() {
+    var event = event(NOW.plus(Duration.ofDays(120)), NOW.plus(Duration.ofDays(122))).build();
+    assertThat(this.scheduler.refreshIntervalFor(event, NOW)).hasValue(Duration.ofDays(1));
+  }
+
+  @Test
+  void pastEventIsNotRefreshed() {
+    var event = event(NOW.minus(Duration.ofDays(12)), NOW.minus(Duration.ofDays(10))).build();
+    assertThat(this.scheduler.refreshIntervalFor(event, NOW)).isEmpty();
+  }
+
+  private static Event.Builder event(Instant fromDate, Instant toDate) {
+    return Event.builder()
+        .name("Event")
+        .fromDate(fromDate)
+        .toDate(toDate);
+  }
+}
@@ -0,0 +1,70 @@
+package com.redhat.cfpaggregator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.TimeoutException;
+
+class VirtualThreadPortalExecutorTests {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final VirtualThreadPortalExecutor executor = new VirtualThreadPortalExecutor(this.meterRegistry);
+
+  @AfterEach
+  void shutdown() {
+    this.executor.shutdown();
+  }
+
+  @Test
+  void runsTaskOnVirtualThread() {
+    var result = this.executor.submit(() -> Thread.currentThread().isVirtual())
+        .await().atMost(Duration.ofSeconds(5));
+
+    assertThat(result).isTrue();
+    assertThat(this.meterRegistry.get("cfps.portal.fetch.virtual-threads.started").counter().count()).isOne();
+  }
+
+  @Test
+  void propagatesFailure() {
+    var fetch = this.executor.<String>submit(() -> {
+      throw new IllegalStateException("Portal is down");
+    });
+
+    assertThatThrownBy(() -> fetch.await().atMost(Duration.ofSeconds(5)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Portal is down");
+  }
+
+  @Test
+  void interruptsTaskWhenBudgetRunsOut() throws InterruptedException {
+    var started = new CountDownLatch(1);
+    var interrupted = new CountDownLatch(1);
+
+    var fetch = this.executor.submit(() -> {
+          started.countDown();
+
+          try {
+            Thread.sleep(Duration.ofMinutes(1));
+            return "never";
+          }
+          catch (InterruptedException e) {
+            interrupted.countDown();
+            throw new IllegalStateException(e);
+          }
+        })
+        .ifNoItem().after(Duration.ofMillis(200)).fail();
+
+    assertThatThrownBy(() -> fetch.await().atMost(Duration.ofSeconds(5)))
+        .isInstanceOf(TimeoutException.class);
+
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+}
@@ -0,0 +1,225 @@
+package com.redhat.cfpaggregator.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.domain.PortalType;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+
+class SnapshotCodecTests {
+  private static final Instant CFP_CLOSING = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+  private static List<Portal> portals() {
+    var coPresentedTalk = Talk.builder()
+        .eventTalkId("t2")
+        .title("Virtual threads deep dive")
+        .summary("Threads")
+        .build();
+
+    var event = Event.builder()
+        .name("Devoxx")
+        .timeZone("Europe/Brussels")
+        .fromDate(Instant.parse("2025-10-06T07:00:00Z"))
+        .cfpClosing(CFP_CLOSING)
+        .speakers(
+            Speaker.builder()
+                .eventSpeakerId("s1")
+                .firstName("Eric")
+                .lastName("Deandrea")
+                .company("Red Hat")
+                .talks(
+                    Talk.builder()
+                        .eventTalkId("t1")
+                        .title("Kubernetes native Java")
+                        .build(),
+                    coPresentedTalk
+                )
+                .build(),
+            Speaker.builder()
+                .eventSpeakerId("s2")
+                .firstName("Jane")
+                .lastName("Doe")
+                .company("Red Hat")
+                .talks(coPresentedTalk)
+                .build()
+        )
+        .build();
+
+    return List.of(
+        Portal.builder()
+            .portalName("devoxxbe")
+            .baseUrl("https://devoxxbe.cfp.dev")
+            .description("Devoxx Belgium")
+            .portalType(PortalType.CFP_DEV)
+            .event(event)
+            .build(),
+        Portal.builder()
+            .portalName("no-event")
+            .portalType(PortalType.SESSIONIZE)
+            .build()
+    );
+  }
+
+  private static byte[] write(List<Portal> portals) throws IOException {
+    var out = new ByteArrayOutputStream();
+    SnapshotCodec.write(portals, out);
+
+    return out.toByteArray();
+  }
+
+  @Test
+  void roundTrips() throws IOException {
+    var portals = SnapshotCodec.read(new ByteArrayInputStream(write(portals())));
+
+    assertThat(portals)
+        .extracting(Portal::getPortalName, Portal::getPortalType)
+        .containsExactly(
+            tuple("devoxxbe", PortalType.CFP_DEV),
+            tuple("no-event", PortalType.SESSIONIZE)
+        );
+
+    assertThat(portals.get(1).getEvent()).isNull();
+    assertThat(portals.get(1).getBaseUrl()).isNull();
+
+    var event = portals.get(0).getEvent();
+    assertThat(event).isNotNull();
+    assertThat(event.getPortal()).isSameAs(portals.get(0));
+    assertThat(event.getName()).isEqualTo("Devoxx");
+    assertThat(event.getTimeZone()).isEqualTo("Europe/Brussels");
+    assertThat(event.getFromDate()).isEqualTo(Instant.parse("2025-10-06T07:00:00Z"));
+    assertThat(event.getCfpClosing()).isEqualTo(CFP_CLOSING);
+    assertThat(event.getCfpOpening()).isNull();
+
+    assertThat(event.getSpeakers())
+        .extracting(Speaker::getEventSpeakerId, Speaker::getCompany)
+        .containsExactly(
+            tuple("s1", "Red Hat"),
+            tuple("s2", "Red Hat")
+        );
+
+    var eric = event.getSpeakers().get(0);
+    var jane = event.getSpeakers().get(1);
+
+    assertThat(eric.getEvent()).isSameAs(event);
+    assertThat(eric.getTalks())
+        .extracting(Talk::getEventTalkId)
+        .containsExactly("t1", "t2");
+
+    // The co-presented talk is still a single talk
+    assertThat(jane.getTalks()).singleElement().isSameAs(eric.getTalks().get(1));
+    assertThat(jane.getTalks().get(0).getSummary()).isEqualTo("Threads");
+    assertThat(jane.getTalks().get(0).getSpeakers()).containsExactly(eric, jane);
+  }
+
+  @Test
+  void contents() throws IOException {
+    var expected = new SnapshotContents(2, 1, 2, 2);
+
+    assertThat(SnapshotContents.of(portals())).isEqualTo(expected);
+    assertThat(SnapshotContents.of(SnapshotCodec.read(new ByteArrayInputStream(write(portals()))))).isEqualTo(expected);
+  }
+
+  @Test
+  void rejectsOtherFiles() {
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> SnapshotCodec.read(new ByteArrayInputStream("not a snapshot".getBytes())))
+        .withMessage("Not a snapshot");
+  }
+
+  @Test
+  void rejectsUnsupportedVersions() throws IOException {
+    var snapshot = write(portals());
+    snapshot[4] = 99;
+
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> SnapshotCodec.read(new ByteArrayInputStream(snapshot)))
+        .withMessageStartingWith("Unsupported snapshot version 99");
+  }
+
+  @Test
+  void rejectsBadCompression() throws IOException {
+    var snapshot = write(portals());
+
+    // Chop the compressed body in half
+    var truncated = new byte[5 + ((snapshot.length - 5) / 2)];
+    System.arraycopy(snapshot, 0, truncated, 0, truncated.length);
+
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> SnapshotCodec.read(new ByteArrayInputStream(truncated)))
+        .withMessageStartingWith("Corrupt snapshot");
+
+    var notCompressed = new byte[snapshot.length];
+    System.arraycopy(snapshot, 0, notCompressed, 0, 5);
+
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> SnapshotCodec.read(new ByteArrayInputStream(notCompressed)))
+        .withMessageStartingWith("Corrupt snapshot");
+  }
+
+  @Test
+  void rejectsBodiesThatAreTooLarge() throws IOException {
+    var snapshot = write(portals());
+
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> SnapshotCodec.read(new ByteArrayInputStream(snapshot), 16))
+        .withMessage("Snapshot is larger than 16 bytes once decompressed");
+  }
+
+  @Test
+  void rejectsCountsLargerThanTheBody() throws IOException {
+    // A dictionary claiming Integer.MAX_VALUE strings, with nothing after it
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> SnapshotCodec.read(new ByteArrayInputStream(snapshotOf(0xFF, 0xFF, 0xFF, 0xFF, 0x07))))
+        .withMessageStartingWith("Corrupt snapshot");
+
+    // A dictionary claiming more strings than an int can count
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> SnapshotCodec.read(new ByteArrayInputStream(snapshotOf(0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01))))
+        .withMessageStartingWith("Corrupt snapshot");
+
+    // A negative number of strings (-1)
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> SnapshotCodec.read(new ByteArrayInputStream(snapshotOf(0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01))))
+        .withMessageStartingWith("Corrupt snapshot");
+
+    // A string longer than the rest of the body
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> SnapshotCodec.read(new ByteArrayInputStream(snapshotOf(0x01, 0x7F, 'a'))))
+        .withMessageStartingWith("Corrupt snapshot");
+  }
+
+  /**
+   * A snapshot with a valid header whose body is the given bytes
+   */
+  private static byte[] snapshotOf(int... body) throws IOException {
+    var out = new ByteArrayOutputStream();
+    var header = new DataOutputStream(out);
+    header.writeInt(SnapshotCodec.MAGIC);
+    header.writeByte(SnapshotCodec.VERSION);
+    header.flush();
+
+    var gzip = new GZIPOutputStream(out);
+
+    for (var b : body) {
+      gzip.write(b);
+    }
+
+    gzip.finish();
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,191 @@
+package com.redhat.cfpaggregator.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+
+import com.redhat.cfpaggregator.client.ClientManager;
+import com.redhat.cfpaggregator.domain.Event;
+import com.redhat.cfpaggregator.domain.Portal;
+import com.redhat.cfpaggregator.domain.PortalType;
+import com.redhat.cfpaggregator.domain.Speaker;
+import com.redhat.cfpaggregator.domain.Talk;
+import com.redhat.cfpaggregator.repository.EventRepository;
+import com.redhat.cfpaggregator.repository.PortalRepository;
+import com.redhat.cfpaggregator.repository.TalkRepository;
+import com.redhat.cfpaggregator.service.CfpService;
+
+@QuarkusTest
+@TestTransaction
+class SnapshotServiceTests {
+  @Inject
+  SnapshotService snapshotService;
+
+  @Inject
+  CfpService cfpService;
+
+  @Inject
+  ClientManager clientManager;
+
+  @Inject
+  PortalRepository portalRepository;
+
+  @Inject
+  EventRepository eventRepository;
+
+  @Inject
+  TalkRepository talkRepository;
+
+  @Inject
+  EntityManager entityManager;
+
+  @BeforeEach
+  void storePortals() {
+    this.portalRepository.deleteAllWithCascade();
+
+    var coPresentedTalk = Talk.builder()
+        .eventTalkId("t2")
+        .title("Virtual threads deep dive")
+        .summary("Threads")
+        .build();
+
+    this.portalRepository.persist(
+        Portal.builder()
+            .portalName("devoxxbe")
+            .baseUrl("https://devoxxbe.cfp.dev")
+            .description("Devoxx Belgium")
+            .portalType(PortalType.CFP_DEV)
+            .event(
+                Event.builder()
+                    .portalName("devoxxbe")
+                    .name("Devoxx")
+                    .timeZone("Europe/Brussels")
+                    .fromDate(Instant.parse("2025-10-06T07:00:00Z"))
+                    .speakers(
+                        Speaker.builder()
+                            .eventSpeakerId("s1")
+                            .firstName("Eric")
+                            .lastName("Deandrea")
+                            .company("Red Hat")
+                            .talks(
+                                Talk.builder()
+                                    .eventTalkId("t1")
+                                    .title("Kubernetes native Java")
+                                    .build(),
+                                coPresentedTalk
+                            )
+                            .build(),
+                        Speaker.builder()
+                            .eventSpeakerId("s2")
+                            .firstName("Jane")
+                            .lastName("Doe")
+                            .company("Acme")
+                            .talks(coPresentedTalk)
+                            .build()
+                    )
+                    .build()
+            )
+            .build()
+    );
+
+    this.portalRepository.persist(
+        Portal.builder()
+            .portalName("no-event")
+            .baseUrl("https://sessionize.com")
+            .portalType(PortalType.SESSIONIZE)
+            .build()
+    );
+
+    this.portalRepository.flush();
+  }
+
+  @Test
+  void restoresWhatWasWritten() {
+    var snapshot = write();
+
+    // Whatever is stored when restoring is replaced
+    this.portalRepository.deleteAllWithCascade();
+    this.portalRepository.persistAndFlush(
+        Portal.builder()
+            .portalName("stale")
+            .baseUrl("https://stale.cfp.dev")
+            .portalType(PortalType.CFP_DEV)
+            .build()
+    );
+
+    var contents = this.snapshotService.restore(new ByteArrayInputStream(snapshot));
+    assertThat(contents).isEqualTo(new SnapshotContents(2, 1, 2, 2));
+
+    // Everything is read back from the database, not the persistence context
+    this.entityManager.clear();
+
+    assertThat(this.portalRepository.listAll())
+        .extracting(Portal::getPortalName, Portal::getBaseUrl, Portal::getPortalType)
+        .containsExactlyInAnyOrder(
+            tuple("devoxxbe", "https://devoxxbe.cfp.dev", PortalType.CFP_DEV),
+            tuple("no-event", "https://sessionize.com", PortalType.SESSIONIZE)
+        );
+
+    assertThat(this.eventRepository.listAllFullyPopulated())
+        .singleElement()
+        .satisfies(event -> {
+          assertThat(event.getPortalName()).isEqualTo("devoxxbe");
+          assertThat(event.getName()).isEqualTo("Devoxx");
+          assertThat(event.getFromDate()).isEqualTo(Instant.parse("2025-10-06T07:00:00Z"));
+
+          assertThat(event.getSpeakers())
+              .extracting(Speaker::getEventSpeakerId, Speaker::getCompany, Speaker::getTalkCount)
+              .containsExactlyInAnyOrder(
+                  tuple("s1", "Red Hat", 2),
+                  tuple("s2", "Acme", 1)
+              );
+        });
+
+    // The co-presented talk is still a single talk
+    assertThat(this.talkRepository.count()).isEqualTo(2);
+  }
+
+  @Test
+  void corruptSnapshotLeavesStoredDataAlone() {
+    var snapshot = write();
+    snapshot[snapshot.length / 2] ^= 0x55;
+
+    assertThatExceptionOfType(SnapshotException.class)
+        .isThrownBy(() -> this.snapshotService.restore(new ByteArrayInputStream(snapshot)));
+
+    assertThat(this.portalRepository.count()).isEqualTo(2);
+    assertThat(this.eventRepository.count()).isOne();
+  }
+
+  @Test
+  void restoringClearsClientsOfReplacedPortals() {
+    var snapshot = write();
+    var previousClient = this.clientManager.getCfpClient(this.portalRepository.findById("devoxxbe"));
+
+    this.cfpService.restoreSnapshot(new ByteArrayInputStream(snapshot));
+
+    assertThat(this.clientManager.getCfpClient(this.portalRepository.findById("devoxxbe")))
+        .isNotNull()
+        .isNotSameAs(previousClient);
+  }
+
+  private byte[] write() {
+    var out = new ByteArrayOutputStream();
+    this.snapshotService.write(out);
+
+    return out.toByteArray();
+  }
+}